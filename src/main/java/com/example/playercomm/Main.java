@@ -3,6 +3,7 @@ package com.example.playercomm;
 import com.example.playercomm.core.factory.CommunicationHandlerFactory;
 import com.example.playercomm.handler.base.AbstractCommunicationHandler;
 import com.example.playercomm.handler.SameProcessCommunicationHandler;
+import com.example.playercomm.metrics.MetricsServer;
 import com.example.playercomm.util.InputUtils;
 
 import java.util.Scanner;
@@ -15,6 +16,7 @@ import java.util.Scanner;
  * - Validates all user inputs using InputUtils
  * - Instantiates appropriate communication handler using CommunicationHandlerFactory
  * - Starts the messaging workflow for same-process or separate-process mode
+ * - Optionally exposes a Prometheus metrics endpoint (-Dplayercomm.metrics.port=PORT)
  * - Manages proper shutdown of resources
  */
 public class Main {
@@ -30,6 +32,7 @@ public class Main {
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
+        MetricsServer metricsServer = MetricsServer.startFromSystemProperty();
 
         System.out.println("=== Player Communication System ===");
         System.out.println("Select mode:");
@@ -44,6 +47,9 @@ public class Main {
         }
 
         System.out.println("Program finished.");
+        if (metricsServer != null) {
+            metricsServer.close();
+        }
         scanner.close();
     }
 
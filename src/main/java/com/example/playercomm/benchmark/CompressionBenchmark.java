@@ -0,0 +1,85 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.transport.compression.CompressionSettings;
+import com.example.playercomm.transport.compression.PayloadCompressor;
+import com.example.playercomm.transport.compression.PayloadDecompressor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Measures the bandwidth/CPU trade-off of payload compression at several payload sizes.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.CompressionBenchmark"
+ *
+ * For each payload size it reports the encoded size and the encode+decode time per frame for:
+ * - raw (compression disabled)
+ * - deflate without dictionary
+ * - deflate with the default preset dictionary
+ */
+public class CompressionBenchmark {
+
+    private static final int[] SIZES = {16, 64, 256, 1024, 4096, 16 * 1024, 64 * 1024};
+    private static final long TARGET_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Written after every measurement so the JIT cannot eliminate the measured work.
+     */
+    private static volatile long sink;
+
+    public static void main(String[] args) throws IOException {
+        CompressionSettings raw = CompressionSettings.DISABLED;
+        CompressionSettings plain = new CompressionSettings(0, Deflater.BEST_SPEED, null);
+        CompressionSettings dictionary = new CompressionSettings(0, Deflater.BEST_SPEED, CompressionSettings.DEFAULT_DICTIONARY);
+
+        System.out.println("=== Compression Benchmark ===");
+        System.out.printf("%8s | %-22s | %-22s | %-22s%n", "payload", "raw", "deflate", "deflate+dictionary");
+        for (int size : SIZES) {
+            byte[] payload = payload(size);
+            System.out.printf("%8d | %-22s | %-22s | %-22s%n", size,
+                    measure(raw, payload), measure(plain, payload), measure(dictionary, payload));
+        }
+    }
+
+    /**
+     * Builds a payload made of the message shapes used by the players, e.g. "Message 12 [3] ".
+     */
+    private static byte[] payload(int size) {
+        StringBuilder sb = new StringBuilder(size + 32);
+        for (int i = 1; sb.length() < size; i++) {
+            sb.append("Message ").append(i).append(" [").append(i % 10 + 1).append("] ");
+        }
+        return Arrays.copyOf(sb.toString().getBytes(StandardCharsets.UTF_8), size);
+    }
+
+    private static String measure(CompressionSettings settings, byte[] payload) throws IOException {
+        PayloadCompressor compressor = settings.newCompressor();
+        PayloadDecompressor decompressor = settings.newDecompressor();
+        int iterations = (int) Math.max(1_000, TARGET_BYTES / payload.length);
+
+        // Warm-up with the same number of iterations
+        long checksum = run(compressor, decompressor, payload, iterations);
+        long start = System.nanoTime();
+        checksum += run(compressor, decompressor, payload, iterations);
+        double nanosPerFrame = (System.nanoTime() - start) / (double) iterations;
+
+        int encoded = compressor.encode(payload);
+        compressor.end();
+        decompressor.end();
+        sink = checksum;
+        return String.format("%6d B %8.0f ns/op", encoded, nanosPerFrame);
+    }
+
+    private static long run(PayloadCompressor compressor, PayloadDecompressor decompressor,
+                            byte[] payload, int iterations) throws IOException {
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            int length = compressor.encode(payload);
+            checksum += decompressor.decode(Arrays.copyOf(compressor.getBuffer(), length)).length;
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.MailboxPlayerMessageRouter;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.idle.IdleStrategies;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.idle.ParkingIdleStrategy;
+import com.example.playercomm.transport.line.LineConnection;
+import com.example.playercomm.transport.line.LineConnections;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Compares round-trip latency and CPU cost of blocking and busy-polling delivery.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.IdleStrategyBenchmark" -Dexec.args="[roundTrips]"
+ *
+ * Scenarios:
+ * - same-process direct calls (the default SameProcessCommunicationHandler path)
+ * - same-process mailbox threads: blocking park, spin-yield-park back-off, pure spin
+ * - TCP loopback: blocking readLine() versus busy-polled non-blocking channels
+ *
+ * CPU is reported as process CPU time per round trip and as average busy cores during the run.
+ */
+public class IdleStrategyBenchmark {
+
+    private static final com.sun.management.OperatingSystemMXBean OS =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int roundTrips = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("=== Idle Strategy Benchmark (" + roundTrips + " round trips) ===");
+        System.out.printf("%-28s %10s %10s %10s %12s %10s%n",
+                "scenario", "p50 us", "p99 us", "mean us", "cpu us/rtt", "cores");
+
+        run("same-process direct", () -> directRoundTrips(roundTrips));
+        run("mailbox blocking", () -> mailboxRoundTrips(new ParkingIdleStrategy(), roundTrips));
+        run("mailbox backoff", () -> mailboxRoundTrips(IdleStrategies.backoff(), roundTrips));
+        run("mailbox spin", () -> mailboxRoundTrips(IdleStrategies.busySpin(), roundTrips));
+        run("tcp blocking", () -> tcpRoundTrips(null, roundTrips));
+        run("tcp backoff", () -> tcpRoundTrips(IdleStrategies.backoff(), roundTrips));
+        run("tcp spin", () -> tcpRoundTrips(IdleStrategies.busySpin(), roundTrips));
+    }
+
+    private interface Scenario {
+        RoundTripRecorder execute() throws Exception;
+    }
+
+    private static void run(String name, Scenario scenario) throws Exception {
+        // Warm-up run, then measured run
+        scenario.execute();
+        long cpuStart = OS.getProcessCpuTime();
+        long wallStart = System.nanoTime();
+        RoundTripRecorder recorder = scenario.execute();
+        long cpu = OS.getProcessCpuTime() - cpuStart;
+        long wall = System.nanoTime() - wallStart;
+
+        RoundTripReport report = recorder.report();
+        System.out.printf("%-28s %10.2f %10.2f %10.2f %12.2f %10.2f%n", name,
+                report.getP50Nanos() / 1_000.0, report.getP99Nanos() / 1_000.0, report.getMeanNanos() / 1_000.0,
+                cpu / 1_000.0 / report.getCount(), cpu / (double) wall);
+    }
+
+    private static RoundTripRecorder directRoundTrips(int roundTrips) {
+        RoundTripRecorder recorder = new RoundTripRecorder(roundTrips);
+        PlayerMessageRouter router = new PlayerMessageRouter();
+        Player initiator = new Player("Initiator", router) {
+            @Override
+            public void receiveMessage(Message message) {
+            }
+        };
+        router.registerPlayer(initiator);
+        router.registerPlayer(echoResponder(router));
+
+        for (int i = 0; i < roundTrips; i++) {
+            long start = System.nanoTime();
+            initiator.sendMessage("Responder", "Message");
+            recorder.record(start, System.nanoTime());
+        }
+        return recorder;
+    }
+
+    private static RoundTripRecorder mailboxRoundTrips(IdleStrategy idleStrategy, int roundTrips)
+            throws InterruptedException {
+        RoundTripRecorder recorder = new RoundTripRecorder(roundTrips);
+        CountDownLatch done = new CountDownLatch(1);
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter(idleStrategy)) {
+            Player initiator = new Player("Initiator", router) {
+                private int remaining = roundTrips;
+                private long sentAt;
+
+                @Override
+                public void sendMessage(String receiverName, String content) {
+                    sentAt = System.nanoTime();
+                    super.sendMessage(receiverName, content);
+                }
+
+                @Override
+                public void receiveMessage(Message message) {
+                    recorder.record(sentAt, System.nanoTime());
+                    if (--remaining > 0) {
+                        sendMessage("Responder", "Message");
+                    } else {
+                        done.countDown();
+                    }
+                }
+            };
+            router.registerPlayer(initiator);
+            router.registerPlayer(echoResponder(router));
+
+            initiator.sendMessage("Responder", "Message");
+            done.await();
+        }
+        return recorder;
+    }
+
+    private static RoundTripRecorder tcpRoundTrips(IdleStrategy idleStrategy, int roundTrips) throws Exception {
+        RoundTripRecorder recorder = new RoundTripRecorder(roundTrips);
+        try (ServerSocketChannel server = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            Thread responder = new Thread(() -> {
+                try (LineConnection connection = LineConnections.open(server.accept().socket(),
+                        idleStrategy == null ? null : idleStrategy.copy())) {
+                    String line;
+                    while ((line = connection.readLine()) != null) {
+                        connection.writeLine(line);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Responder failed: " + e.getMessage());
+                }
+            }, "benchmark-responder");
+            responder.start();
+
+            try (LineConnection connection = LineConnections.open(
+                    SocketChannel.open(server.getLocalAddress()).socket(), idleStrategy)) {
+                for (int i = 0; i < roundTrips; i++) {
+                    long start = System.nanoTime();
+                    connection.writeLine("Message");
+                    connection.readLine();
+                    recorder.record(start, System.nanoTime());
+                }
+            }
+            responder.join();
+        }
+        return recorder;
+    }
+
+    private static Player echoResponder(PlayerMessageRouter router) {
+        return new Player("Responder", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                sendMessage(message.getSender(), message.getContent());
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.memory.DirectBufferPool;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.OffHeapMessage;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares heap allocation and time of relaying payloads as on-heap Strings versus OffHeapMessage.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.OffHeapPayloadBenchmark"
+ *
+ * Each iteration reads a payload from a channel and writes it to another channel:
+ * - heap:     bytes -> String -> Message -> bytes, as in the current text transports
+ * - off-heap: bytes -> pooled direct buffer -> channel, without decoding the text
+ */
+public class OffHeapPayloadBenchmark {
+
+    private static final int[] SIZES = {256, 4 * 1024, 16 * 1024, 64 * 1024};
+    private static final int ITERATIONS = 20_000;
+
+    private static volatile long sink;
+
+    public static void main(String[] args) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        DirectBufferPool pool = new DirectBufferPool();
+
+        System.out.println("=== Off-Heap Payload Benchmark ===");
+        System.out.printf("%8s | %-28s | %-28s%n", "payload", "heap String", "off-heap pooled");
+        for (int size : SIZES) {
+            ByteBuffer source = ByteBuffer.allocateDirect(size);
+            source.put("Message 1 [1] ".repeat(size / 14 + 1).substring(0, size).getBytes(StandardCharsets.UTF_8)).flip();
+
+            // Warm-up both paths
+            relayOnHeap(source, size);
+            relayOffHeap(source, size, pool);
+
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            relayOnHeap(source, size);
+            String heap = format(threads.getCurrentThreadAllocatedBytes() - allocated, System.nanoTime() - start);
+
+            allocated = threads.getCurrentThreadAllocatedBytes();
+            start = System.nanoTime();
+            relayOffHeap(source, size, pool);
+            String offHeap = format(threads.getCurrentThreadAllocatedBytes() - allocated, System.nanoTime() - start);
+
+            System.out.printf("%8d | %-28s | %-28s%n", size, heap, offHeap);
+        }
+    }
+
+    private static void relayOnHeap(ByteBuffer source, int size) throws IOException {
+        ByteBufferChannel in = new ByteBufferChannel(source);
+        NullChannel out = new NullChannel();
+        for (int i = 0; i < ITERATIONS; i++) {
+            in.rewind();
+            byte[] bytes = new byte[size];
+            in.read(ByteBuffer.wrap(bytes));
+            Message message = new Message("Initiator", "Responder", new String(bytes, StandardCharsets.UTF_8));
+            out.write(ByteBuffer.wrap(message.getContent().getBytes(StandardCharsets.UTF_8)));
+        }
+        sink = out.written;
+    }
+
+    private static void relayOffHeap(ByteBuffer source, int size, DirectBufferPool pool) throws IOException {
+        ByteBufferChannel in = new ByteBufferChannel(source);
+        NullChannel out = new NullChannel();
+        for (int i = 0; i < ITERATIONS; i++) {
+            in.rewind();
+            try (OffHeapMessage message = OffHeapMessage.readFrom("Initiator", "Responder", in, size, pool)) {
+                message.writeTo(out);
+            }
+        }
+        sink = out.written;
+    }
+
+    private static String format(long allocatedBytes, long nanos) {
+        return String.format("%8.0f B/msg %7.0f ns/msg",
+                allocatedBytes / (double) ITERATIONS, nanos / (double) ITERATIONS);
+    }
+
+    /**
+     * Channel that reads the same direct buffer repeatedly, standing in for a socket.
+     */
+    private static final class ByteBufferChannel implements ReadableByteChannel {
+
+        private final ByteBuffer source;
+
+        ByteBufferChannel(ByteBuffer source) {
+            this.source = source.duplicate();
+        }
+
+        void rewind() {
+            source.rewind();
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            int n = Math.min(dst.remaining(), source.remaining());
+            dst.put(dst.position(), source, source.position(), n);
+            dst.position(dst.position() + n);
+            source.position(source.position() + n);
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Channel that discards everything written to it.
+     */
+    private static final class NullChannel implements WritableByteChannel {
+
+        private long written;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            written += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
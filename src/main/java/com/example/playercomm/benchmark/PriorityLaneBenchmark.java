@@ -0,0 +1,92 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.MailboxPlayerMessageRouter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the delivery latency of small control messages while bulk messages saturate a player's mailbox.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.PriorityLaneBenchmark" -Dexec.args="[controls] [bulkBacklog] [bulkCostMicros]"
+ *
+ * Scenarios:
+ * - idle:      control messages only (baseline)
+ * - same lane: control messages sent as BULK, so they queue behind the bulk backlog (plain FIFO)
+ * - priority:  control messages sent as CONTROL, overtaking the bulk backlog
+ */
+public class PriorityLaneBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int controls = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int bulkBacklog = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        long bulkCostNanos = TimeUnit.MICROSECONDS.toNanos(args.length > 2 ? Long.parseLong(args[2]) : 20);
+
+        System.out.println("=== Priority Lane Benchmark ===");
+        System.out.println("controls=" + controls + " bulkBacklog=" + bulkBacklog
+                + " bulkCost=" + TimeUnit.NANOSECONDS.toMicros(bulkCostNanos) + " us");
+        System.out.printf("%-10s | %10s | %10s | %10s%n", "scenario", "p50 (us)", "p99 (us)", "max (us)");
+        print("idle", run(controls, 0, bulkCostNanos, MessagePriority.CONTROL));
+        print("same lane", run(controls, bulkBacklog, bulkCostNanos, MessagePriority.BULK));
+        print("priority", run(controls, bulkBacklog, bulkCostNanos, MessagePriority.CONTROL));
+    }
+
+    private static RoundTripReport run(int controls, int bulkBacklog, long bulkCostNanos,
+                                       MessagePriority controlPriority) throws InterruptedException {
+        RoundTripRecorder latencies = new RoundTripRecorder(controls);
+        CountDownLatch controlsReceived = new CountDownLatch(controls);
+        AtomicLong bulkDelivered = new AtomicLong();
+
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            router.registerPlayer(new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    if ("bulk".equals(message.getContent())) {
+                        // Simulates the cost of processing a large payload
+                        long end = System.nanoTime() + bulkCostNanos;
+                        while (System.nanoTime() < end) {
+                            Thread.onSpinWait();
+                        }
+                        bulkDelivered.incrementAndGet();
+                    } else {
+                        latencies.record(message.getTimestampNanos(), System.nanoTime());
+                        controlsReceived.countDown();
+                    }
+                }
+            });
+
+            Thread bulkSender = new Thread(() -> {
+                long published = 0;
+                while (controlsReceived.getCount() > 0) {
+                    if (published - bulkDelivered.get() < bulkBacklog) {
+                        router.publishMessage(new Message("Bulk", "Receiver", "bulk", MessagePriority.BULK));
+                        published++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }, "bulk-sender");
+            bulkSender.start();
+
+            for (int i = 0; i < controls; i++) {
+                router.publishMessage(new Message("Control", "Receiver", "ping", controlPriority));
+                Thread.sleep(1);
+            }
+            controlsReceived.await(60, TimeUnit.SECONDS);
+            bulkSender.join();
+        }
+        return latencies.report();
+    }
+
+    private static void print(String scenario, RoundTripReport report) {
+        System.out.printf("%-10s | %10.1f | %10.1f | %10.1f%n", scenario,
+                report.getP50Nanos() / 1_000.0, report.getP99Nanos() / 1_000.0, report.getMaxNanos() / 1_000.0);
+    }
+}
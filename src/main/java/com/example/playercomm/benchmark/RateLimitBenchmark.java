@@ -0,0 +1,157 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.ShardedPlayerMessageRouter;
+import com.example.playercomm.transport.ratelimit.RateLimit;
+import com.example.playercomm.transport.ratelimit.RateLimitPolicy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
+import com.example.playercomm.transport.ratelimit.TokenBucket;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of the rate limiter on the publish path and its effect on a noisy neighbour.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.RateLimitBenchmark" -Dexec.args="[messages] [pings] [noisyRate]"
+ *
+ * Overhead scenarios (direct router, ns per published message):
+ * - no limiter:   the router has no RateLimiter
+ * - unlimited:    a RateLimiter is installed but the sender has no limit
+ * - limited:      the sender has a limit high enough never to deny
+ *
+ * Noisy neighbour scenarios (one shard shared by both pairs, quiet pair latency):
+ * - quiet alone:  only the quiet pair is sending
+ * - noisy:        a second sender keeps a backlog of slow messages queued on the same shard
+ * - noisy capped: the second sender is limited to noisyRate messages per second and shed above it
+ */
+public class RateLimitBenchmark {
+
+    private static final int NOISY_BACKLOG = 200;
+    private static final long NOISY_COST_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int pings = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        double noisyRate = args.length > 2 ? Double.parseDouble(args[2]) : 5_000;
+
+        System.out.println("=== Rate Limit Benchmark ===");
+        System.out.println("messages=" + messages);
+        System.out.printf("%-12s | %10s%n", "scenario", "ns/msg");
+        for (int round = 0; round < 2; round++) {
+            // The first round warms up the JIT; only the second is meaningful
+            printOverhead("no limiter", measureOverhead(messages, null));
+            RateLimiter unlimited = new RateLimiter(RateLimitPolicy.REJECT);
+            unlimited.setSenderLimit("Other", new RateLimit(1, 1));
+            printOverhead("unlimited", measureOverhead(messages, unlimited));
+            RateLimiter limited = new RateLimiter(RateLimitPolicy.REJECT);
+            limited.setSenderLimit("Sender", new RateLimit(1e9, TokenBucket.MAX_BURST));
+            printOverhead("limited", measureOverhead(messages, limited));
+        }
+
+        System.out.println();
+        System.out.println("pings=" + pings + " noisyBacklog=" + NOISY_BACKLOG
+                + " noisyCost=" + TimeUnit.NANOSECONDS.toMicros(NOISY_COST_NANOS) + " us noisyRate=" + noisyRate + "/s");
+        System.out.printf("%-12s | %10s | %10s | %10s | %12s%n", "scenario", "p50 (us)", "p99 (us)", "max (us)", "noisy shed");
+        printLatency("quiet alone", measureNeighbour(pings, false, null));
+        printLatency("noisy", measureNeighbour(pings, true, null));
+        RateLimiter capped = new RateLimiter(RateLimitPolicy.SHED);
+        capped.setSenderLimit("Noisy", new RateLimit(noisyRate, 10));
+        printLatency("noisy capped", measureNeighbour(pings, true, capped));
+    }
+
+    private static double measureOverhead(int messages, RateLimiter limiter) {
+        PlayerMessageRouter router = new PlayerMessageRouter();
+        router.registerPlayer(new Player("Receiver", router) {
+            @Override
+            public void receiveMessage(Message message) {
+            }
+        });
+        router.setRateLimiter(limiter);
+        Message message = new Message("Sender", "Receiver", "ping");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            router.publishMessage(message);
+        }
+        return (System.nanoTime() - start) / (double) messages;
+    }
+
+    private static NeighbourResult measureNeighbour(int pings, boolean noisy, RateLimiter limiter)
+            throws InterruptedException {
+        RoundTripRecorder latencies = new RoundTripRecorder(pings);
+        CountDownLatch pingsReceived = new CountDownLatch(pings);
+        AtomicLong noisyDelivered = new AtomicLong();
+
+        try (ShardedPlayerMessageRouter router = new ShardedPlayerMessageRouter(1)) {
+            router.setRateLimiter(limiter);
+            router.registerPlayer(new Player("QuietReceiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    latencies.record(message.getTimestampNanos(), System.nanoTime());
+                    pingsReceived.countDown();
+                }
+            });
+            router.registerPlayer(new Player("NoisyReceiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    // Simulates a receiver that is slow to process each message
+                    long end = System.nanoTime() + NOISY_COST_NANOS;
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                    noisyDelivered.incrementAndGet();
+                }
+            });
+
+            Thread noisySender = new Thread(() -> {
+                long published = 0;
+                while (noisy && pingsReceived.getCount() > 0) {
+                    long shed = limiter != null ? limiter.getLimitedCount() : 0;
+                    if (published - shed - noisyDelivered.get() < NOISY_BACKLOG) {
+                        router.publishMessage(new Message("Noisy", "NoisyReceiver", "flood"));
+                        published++;
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }, "noisy-sender");
+            noisySender.start();
+
+            for (int i = 0; i < pings; i++) {
+                router.publishMessage(new Message("Quiet", "QuietReceiver", "ping"));
+                Thread.sleep(1);
+            }
+            pingsReceived.await(60, TimeUnit.SECONDS);
+            noisySender.join();
+        }
+        return new NeighbourResult(latencies.report(), limiter != null ? limiter.getLimitedCount() : 0);
+    }
+
+    private static void printOverhead(String scenario, double nanosPerMessage) {
+        System.out.printf("%-12s | %10.1f%n", scenario, nanosPerMessage);
+    }
+
+    private static void printLatency(String scenario, NeighbourResult result) {
+        RoundTripReport report = result.report;
+        System.out.printf("%-12s | %10.1f | %10.1f | %10.1f | %12d%n", scenario,
+                report.getP50Nanos() / 1_000.0, report.getP99Nanos() / 1_000.0, report.getMaxNanos() / 1_000.0,
+                result.shed);
+    }
+
+    private static final class NeighbourResult {
+        private final RoundTripReport report;
+        private final long shed;
+
+        private NeighbourResult(RoundTripReport report, long shed) {
+            this.report = report;
+            this.shed = shed;
+        }
+    }
+}
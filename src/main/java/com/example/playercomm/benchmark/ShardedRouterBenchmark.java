@@ -0,0 +1,93 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.ShardedPlayerMessageRouter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput benchmark comparing a single PlayerMessageRouter with the ShardedPlayerMessageRouter.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.ShardedRouterBenchmark" \
+ *     -Dexec.args="[shards] [players] [producers] [messagesPerProducer]"
+ *
+ * Reports overall throughput for both routers and the per-shard throughput of the sharded router.
+ */
+public class ShardedRouterBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int shards = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int producers = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int messagesPerProducer = args.length > 3 ? Integer.parseInt(args[3]) : 500_000;
+
+        System.out.println("=== Sharded Router Benchmark ===");
+        System.out.println("shards=" + shards + " players=" + playerCount
+                + " producers=" + producers + " messagesPerProducer=" + messagesPerProducer);
+
+        // Warm-up round so both variants run compiled code
+        run(new PlayerMessageRouter(), playerCount, producers, messagesPerProducer / 10, false);
+        try (ShardedPlayerMessageRouter warmup = new ShardedPlayerMessageRouter(shards)) {
+            run(warmup, playerCount, producers, messagesPerProducer / 10, false);
+        }
+
+        run(new PlayerMessageRouter(), playerCount, producers, messagesPerProducer, true);
+        try (ShardedPlayerMessageRouter sharded = new ShardedPlayerMessageRouter(shards)) {
+            double seconds = run(sharded, playerCount, producers, messagesPerProducer, true);
+            long[] counts = sharded.getDeliveredCounts();
+            for (int i = 0; i < counts.length; i++) {
+                System.out.printf("  shard %2d: %,12d msgs  %,14.0f msg/s%n", i, counts[i], counts[i] / seconds);
+            }
+        }
+    }
+
+    private static double run(PlayerMessageRouter router, int playerCount, int producers,
+                              int messagesPerProducer, boolean print) throws InterruptedException {
+        long total = (long) producers * messagesPerProducer;
+        LongAdder received = new LongAdder();
+
+        List<String> names = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            String name = "player-" + i;
+            names.add(name);
+            router.registerPlayer(new Player(name, router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    received.increment();
+                }
+            });
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int offset = p;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < messagesPerProducer; i++) {
+                    String receiver = names.get((i + offset) % playerCount);
+                    router.publishMessage(new Message("producer-" + offset, receiver, "Message " + i));
+                }
+            }, "producer-" + p));
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        while (received.sum() < total) {
+            Thread.sleep(1);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        if (print) {
+            System.out.printf("%-28s %,12d msgs in %6.3f s  %,14.0f msg/s%n",
+                    router.getClass().getSimpleName(), total, seconds, total / seconds);
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.playercomm.benchmark;
+
+import com.example.playercomm.handler.SeparateProcessCommunicationHandler;
+import com.example.playercomm.transport.MailboxPlayerMessageRouter;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.idle.IdleStrategies;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.trace.ReplayReport;
+import com.example.playercomm.trace.ReplayTarget;
+import com.example.playercomm.trace.RouterReplayTarget;
+import com.example.playercomm.trace.SocketReplayTarget;
+import com.example.playercomm.trace.TraceReader;
+import com.example.playercomm.trace.TraceReplayer;
+
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a captured trace to reproduce a recorded load pattern and compare builds.
+ * Traces are captured by starting the application with -Dplayercomm.trace.file=trace.bin.
+ *
+ * Usage:
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.TraceReplayBenchmark" -Dexec.args="<trace> [speed] [target]"
+ * mvn exec:java -Dexec.mainClass="com.example.playercomm.benchmark.TraceReplayBenchmark" -Dexec.args="respond <port> [maxMessages]"
+ *
+ * Arguments:
+ * - speed:  1 (default, captured timing), Nx (N times faster) or max (no pauses)
+ * - target: same (default; a router in this JVM, with mailbox threads if -Dplayercomm.idle is set)
+ *           or tcp:[host:]port (a responder in another process)
+ * - respond starts a responder that answers up to maxMessages lines (default 1,000,000),
+ *   for replaying against separate-process mode
+ */
+public class TraceReplayBenchmark {
+
+    private static final int MAX_LATENCY_SAMPLES = 1_000_000;
+    private static final long COMPLETION_TIMEOUT_SECONDS = 30;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: TraceReplayBenchmark <trace> [speed] [same|tcp:[host:]port]"
+                    + " | respond <port> [maxMessages]");
+            return;
+        }
+        if (args[0].equals("respond")) {
+            int port = Integer.parseInt(args[1]);
+            int maxMessages = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+            new SeparateProcessCommunicationHandler(new Scanner(System.in), "responder", port, 0, maxMessages)
+                    .startCommunication();
+            return;
+        }
+
+        Path trace = Path.of(args[0]);
+        double speed = TraceReplayer.parseSpeed(args.length > 1 ? args[1] : "1");
+        String targetSpec = args.length > 2 ? args[2] : "same";
+
+        System.out.println("=== Trace Replay Benchmark ===");
+        System.out.println("trace=" + trace + " speed=" + (speed == TraceReplayer.MAX_SPEED ? "max" : speed + "x")
+                + " target=" + targetSpec);
+
+        PlayerMessageRouter router = null;
+        ReplayTarget target;
+        if (targetSpec.startsWith("tcp:")) {
+            String address = targetSpec.substring(4);
+            int colon = address.lastIndexOf(':');
+            String host = colon < 0 ? "localhost" : address.substring(0, colon);
+            int port = Integer.parseInt(address.substring(colon + 1));
+            target = new SocketReplayTarget(host, port, MAX_LATENCY_SAMPLES);
+        } else {
+            IdleStrategy idleStrategy = IdleStrategies.fromSystemProperty();
+            router = idleStrategy == null ? new PlayerMessageRouter() : new MailboxPlayerMessageRouter(idleStrategy);
+            target = new RouterReplayTarget(router, MAX_LATENCY_SAMPLES);
+        }
+
+        ReplayReport report;
+        try (TraceReader reader = TraceReader.open(trace); ReplayTarget replayTarget = target) {
+            report = new TraceReplayer(speed).replay(reader, replayTarget, COMPLETION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            if (router != null) {
+                router.shutdown(PlayerMessageRouter.DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+        System.out.println(report);
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.playercomm.core;
 
 import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
 import com.example.playercomm.transport.PlayerMessageRouter;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents a Player in the communication system.
  *
@@ -10,7 +13,7 @@ import com.example.playercomm.transport.PlayerMessageRouter;
  * - Holds the identity of the player
  * - Sends messages via the PlayerMessageRouter
  * - Receives messages from other players through the Router
- * - Can unregister itself from the Router when shutting down
+ * - Can unregister itself from the Router when shutting down, after its queued messages are delivered
  */
 public class Player {
 
@@ -33,6 +36,18 @@ public class Player {
         router.publishMessage(message);
     }
 
+    /**
+     * Sends a Message object with the given priority to another player through the router.
+     *
+     * @param receiverName name of the receiver
+     * @param content      message content
+     * @param priority     delivery lane of the message
+     */
+    public void sendMessage(String receiverName, String content, MessagePriority priority) {
+        Message message = new Message(name, receiverName, content, priority);
+        router.publishMessage(message);
+    }
+
     /**
      * Callback invoked by the router when a message is received.
      *
@@ -49,9 +64,26 @@ public class Player {
     /**
      * Unregisters this player from the router.
      * Should be called when the player is no longer needed.
+     * Waits at most PlayerMessageRouter.DEFAULT_DRAIN_TIMEOUT_MILLIS for queued messages.
      */
     public void shutdown() {
-        router.unregisterPlayer(this);
+        shutdown(PlayerMessageRouter.DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Unregisters this player from the router once the messages already queued for it
+     * have been delivered, waiting at most until the timeout.
+     *
+     * @param timeout maximum time to wait for queued messages
+     * @param unit    unit of the timeout
+     * @return number of queued messages dropped because the timeout expired
+     */
+    public int shutdown(long timeout, TimeUnit unit) {
+        int dropped = router.unregisterPlayer(this, timeout, unit);
+        if (dropped > 0) {
+            System.out.println("[" + name + "] dropped " + dropped + " undelivered message(s) during shutdown.");
+        }
         System.out.println("[" + name + "] has been unregistered from the router.");
+        return dropped;
     }
 }
\ No newline at end of file
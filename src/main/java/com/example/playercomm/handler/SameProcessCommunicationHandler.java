@@ -4,11 +4,19 @@ import com.example.playercomm.core.Player;
 import com.example.playercomm.core.factory.PlayerFactory;
 import com.example.playercomm.handler.base.AbstractCommunicationHandler;
 import com.example.playercomm.model.Message;
+import com.example.playercomm.trace.TraceWriter;
+import com.example.playercomm.transport.MailboxPlayerMessageRouter;
 import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.ShutdownReport;
+import com.example.playercomm.transport.idle.IdleStrategies;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
 import com.example.playercomm.util.InputUtils;
 
 import java.io.IOException;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -20,6 +28,10 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Supports both automatic and manual message sending modes for the initiator
  * - Implements stop condition: terminates after initiator has sent and received the defined number of messages
  * - Provides thread-safe counters for received messages
+ * - Optionally runs each player on its own busy-polling mailbox thread (see IdleStrategies)
+ * - Shuts the router down at the end, draining queued messages and reporting any that were lost
+ * - Enforces the "playercomm.ratelimit.*" per-sender and per-receiver limits in the router, if set
+ * - Captures all routed messages into a trace when the "playercomm.trace.file" system property is set
  */
 public class SameProcessCommunicationHandler extends AbstractCommunicationHandler {
 
@@ -30,16 +42,30 @@ public class SameProcessCommunicationHandler extends AbstractCommunicationHandle
     private Player responder;
 
     private final AtomicInteger initiatorReceivedCount = new AtomicInteger(0);
+    private final CountDownLatch allRepliesReceived;
 
     /**
      * Constructs the SameProcessCommunicationHandler with a scanner and default max messages.
+     * The delivery mode is taken from the "playercomm.idle" system property (direct calls by default).
      *
      * @param scanner Scanner instance for reading user input
      */
     public SameProcessCommunicationHandler(Scanner scanner) {
+        this(scanner, IdleStrategies.fromSystemProperty());
+    }
+
+    /**
+     * Constructs the SameProcessCommunicationHandler with an explicit delivery mode.
+     *
+     * @param scanner      Scanner instance for reading user input
+     * @param idleStrategy busy-poll strategy for per-player mailbox threads,
+     *                     or null to deliver through direct method calls
+     */
+    public SameProcessCommunicationHandler(Scanner scanner, IdleStrategy idleStrategy) {
         super(scanner, 10); // maxMessages = 10
-        this.broker = new PlayerMessageRouter();
+        this.broker = idleStrategy == null ? new PlayerMessageRouter() : new MailboxPlayerMessageRouter(idleStrategy);
         this.factory = new PlayerFactory(broker);
+        this.allRepliesReceived = new CountDownLatch(maxMessages);
     }
 
     /**
@@ -66,6 +92,7 @@ public class SameProcessCommunicationHandler extends AbstractCommunicationHandle
             public void receiveMessage(Message message) {
                 System.out.println("[" + getName() + "] received: " + message.getContent());
                 int received = initiatorReceivedCount.incrementAndGet();
+                allRepliesReceived.countDown();
                 if (received >= maxMessages) {
                     System.out.println("Initiator received all replies. Communication complete.");
                 }
@@ -81,10 +108,33 @@ public class SameProcessCommunicationHandler extends AbstractCommunicationHandle
      * Delegates the sending mode (automatic or manual) to the common method defined in the abstract base.
      */
     public void startCommunication() {
+        TraceWriter trace = TraceWriter.fromSystemProperty(null);
+        broker.setTraceWriter(trace);
+        broker.setRateLimiter(RateLimiter.fromSystemProperties());
         try {
             sendMessagesWithUserChoice();
+            awaitReplies();
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            ShutdownReport report = broker.shutdown(PlayerMessageRouter.DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            System.out.println(report);
+            closeTrace(trace);
+        }
+    }
+
+    /**
+     * Waits until the initiator has received all replies. Replies arrive immediately with
+     * direct delivery, and asynchronously when players run on mailbox threads.
+     */
+    private void awaitReplies() {
+        try {
+            if (!allRepliesReceived.await(10, TimeUnit.SECONDS)) {
+                System.err.println("Timed out waiting for replies: received "
+                        + initiatorReceivedCount.get() + " of " + maxMessages);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
@@ -3,12 +3,31 @@ package com.example.playercomm.handler;
 import com.example.playercomm.core.Player;
 import com.example.playercomm.core.factory.PlayerFactory;
 import com.example.playercomm.handler.base.AbstractCommunicationHandler;
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.startup.ReadinessSignal;
+import com.example.playercomm.startup.StartupTimer;
+import com.example.playercomm.startup.Warmup;
+import com.example.playercomm.trace.TraceWriter;
 import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.compression.CompressionSettings;
+import com.example.playercomm.transport.idle.IdleStrategies;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.line.LineConnection;
+import com.example.playercomm.transport.line.LineConnections;
+import com.example.playercomm.transport.mux.MuxLineConnection;
+import com.example.playercomm.transport.ratelimit.RateLimitPolicy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
 
-import java.io.*;
-import java.net.ServerSocket;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -20,25 +39,58 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Responder waits for initiator and replies with appended counters
  * - Uses TCP sockets for inter-process communication
  * - Manages proper registration and cleanup of Player instances
+ * - Closes connections gracefully: the initiator closes first, so TIME_WAIT never holds the responder's port
+ * - Exchanges heartbeats and gives up on a peer that stays silent past the read timeout
+ * - Captures the lines received from the peer into a per-role trace when "playercomm.trace.file" is set
+ * - Applies the "playercomm.ratelimit.*" limits to the initiator's send loop: messages over the limit wait, are reported or are skipped
+ * - Reports connection count, bytes transferred and round-trip times to CommunicationMetrics
+ * - Prints round-trip statistics at the end of every initiator session
+ * - Creates its router, player and statistics only when communication starts
+ * - Optionally warms up the router and socket code paths before listening or connecting (see Warmup)
+ * - Connects with exponential back-off, so the initiator connects within milliseconds of the responder listening
+ * - Reports the time from JVM start until ready and until the first message
+ * - Optionally busy-polls the socket instead of blocking in readLine() (see IdleStrategies)
+ * - Optionally runs the conversation over one channel of a MultiplexedConnection when
+ *   "playercomm.mux" is set (see MuxLineConnection); both peers must set it, and
+ *   "playercomm.compression.threshold" then compresses larger lines (see CompressionSettings)
  * - Ensures flexible and extendable design for future communication modes
  */
 public class SeparateProcessCommunicationHandler extends AbstractCommunicationHandler {
 
+    /**
+     * Maximum time to wait for the peer to close its side of the connection.
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    /**
+     * How long the initiator keeps trying to reach the responder.
+     */
+    private static final long CONNECT_TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * First and longest pause between connection attempts; pauses double in between.
+     */
+    private static final long CONNECT_MIN_BACKOFF_MILLIS = 5;
+    private static final long CONNECT_MAX_BACKOFF_MILLIS = 50;
+
     private final String role;
     private final int myPort;
     private final int otherPort;
 
     private Player player;
     private final AtomicInteger messagesReceived = new AtomicInteger(0);
+    private RoundTripRecorder roundTrips;
+    private StartupTimer startup;
 
-    private final PlayerMessageRouter broker;
-    private final PlayerFactory factory;
-
-    private BufferedWriter writer;
-    private BufferedReader reader;
+    private final IdleStrategy idleStrategy;
+    private LineConnection connection;
+    private TraceWriter trace;
+    private RateLimiter sendLimiter;
+    private boolean multiplexed;
 
     /**
      * Constructs a SeparateProcessCommunicationHandler with the specified role and ports.
+     * The socket I/O mode is taken from the "playercomm.idle" system property (blocking by default).
      *
      * @param scanner     Scanner instance for user input
      * @param role        Player role ("initiator" or "responder")
@@ -47,13 +99,26 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
      * @param maxMessages Maximum number of messages to send/receive
      */
     public SeparateProcessCommunicationHandler(Scanner scanner, String role, int myPort, int otherPort, int maxMessages) {
+        this(scanner, role, myPort, otherPort, maxMessages, IdleStrategies.fromSystemProperty());
+    }
+
+    /**
+     * Constructs a SeparateProcessCommunicationHandler with an explicit socket I/O mode.
+     *
+     * @param scanner      Scanner instance for user input
+     * @param role         Player role ("initiator" or "responder")
+     * @param myPort       Local TCP port for this player
+     * @param otherPort    TCP port of the other player (used by initiator)
+     * @param maxMessages  Maximum number of messages to send/receive
+     * @param idleStrategy busy-poll strategy for the socket thread, or null to block in readLine()
+     */
+    public SeparateProcessCommunicationHandler(Scanner scanner, String role, int myPort, int otherPort,
+                                               int maxMessages, IdleStrategy idleStrategy) {
         super(scanner, maxMessages);
+        this.idleStrategy = idleStrategy;
         this.role = role.toLowerCase();
         this.myPort = myPort;
         this.otherPort = otherPort;
-
-        this.broker = new PlayerMessageRouter();
-        this.factory = new PlayerFactory(broker);
     }
 
     /**
@@ -61,7 +126,12 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
      * Delegates to role-specific methods for initiator or responder behavior.
      */
     public void startCommunication() {
-        player = factory.createPlayer(role);
+        startup = new StartupTimer();
+        warmUp();
+        player = new PlayerFactory(new PlayerMessageRouter()).createPlayer(role);
+        trace = TraceWriter.fromSystemProperty(role);
+        sendLimiter = RateLimiter.fromSystemProperties();
+        multiplexed = MuxLineConnection.isEnabledBySystemProperty();
 
         switch (role) {
             case "initiator" -> runInitiator();
@@ -70,52 +140,135 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
         }
     }
 
+    /**
+     * Runs synthetic traffic through the router and socket code paths if "playercomm.warmup" is set.
+     * Runs before the responder listens, so that the open port means warm code is serving it.
+     */
+    private void warmUp() {
+        int messages = Warmup.messagesFromSystemProperty();
+        if (messages == 0) {
+            return;
+        }
+        try {
+            long elapsed = Warmup.run(messages, idleStrategy);
+            startup.markWarmedUp();
+            System.out.println("[" + role + "] Warmed up with " + messages + " message(s) in "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms.");
+        } catch (IOException e) {
+            System.err.println("[" + role + "] Warm-up failed, continuing cold: " + e.getMessage());
+        }
+    }
+
     /**
      * Handles initiator role: connects to responder and sends messages (automatic/manual).
      */
     private void runInitiator() {
         Socket socket = connectToResponder();
-        if (socket == null) return;
+        if (socket == null) {
+            cleanup();
+            return;
+        }
+        startup.markReady();
+        roundTrips = new RoundTripRecorder(Math.max(1, maxMessages));
 
+        countConnection(true);
         try {
-            writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            connection = openConnection(socket, true);
             sendMessagesWithUserChoice();
             System.out.println("[Initiator] Communication complete.");
+            printRoundTripReport();
+            if (sendLimiter != null && sendLimiter.getLimitedCount() > 0) {
+                System.out.println("[Initiator] Rate limit: " + sendLimiter.getLimitedCount() + " message(s) not sent.");
+            }
+            System.out.println("[Initiator] Startup: " + startup.format());
         } catch (IOException e) {
             System.err.println("[Initiator] I/O error: " + e.getMessage());
         } finally {
+            closeConnection("Initiator", socket);
+            countConnection(false);
             cleanup();
         }
     }
 
     /**
-     * Attempts to establish a TCP connection to the responder with retries.
+     * Attempts to establish a TCP connection to the responder, retrying with exponential back-off
+     * (5 ms doubling up to 50 ms) for up to CONNECT_TIMEOUT_MILLIS.
      *
      * @return Connected Socket instance or null if connection failed
      */
     private Socket connectToResponder() {
-        int maxRetries = 8;
-        int attempt = 0;
-        Socket socket = null;
+        System.out.println("[Initiator] Connecting to responder at port " + otherPort + "...");
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CONNECT_TIMEOUT_MILLIS);
+        long backoff = CONNECT_MIN_BACKOFF_MILLIS;
+        int attempts = 0;
 
-        while (attempt < maxRetries) {
+        while (true) {
+            attempts++;
             try {
-                System.out.println("[Initiator] Connecting to responder at port " + otherPort +
-                        " (Attempt " + (attempt + 1) + "/" + maxRetries + ")...");
-                socket = new Socket("localhost", otherPort);
-                break;
+                // Channel-backed sockets support both blocking streams and busy-polling
+                Socket socket = SocketChannel.open(new InetSocketAddress("localhost", otherPort)).socket();
+                if (attempts > 1) {
+                    System.out.println("[Initiator] Connected after " + attempts + " attempts.");
+                }
+                return socket;
             } catch (IOException e) {
-                attempt++;
-                System.out.println("[Initiator] Responder not ready yet. Retrying in 1 second...");
-                try { Thread.sleep(1000); } catch (InterruptedException ex) { Thread.currentThread().interrupt(); return null; }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    System.err.println("[Initiator] Could not connect. Please start the responder first.");
+                    return null;
+                }
+                if (attempts == 1) {
+                    System.out.println("[Initiator] Responder not ready yet. Retrying for up to "
+                            + TimeUnit.MILLISECONDS.toSeconds(CONNECT_TIMEOUT_MILLIS) + " seconds...");
+                }
+                try {
+                    Thread.sleep(Math.min(backoff, remaining));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                backoff = Math.min(backoff * 2, CONNECT_MAX_BACKOFF_MILLIS);
             }
         }
+    }
+
+    /**
+     * Wraps a connected socket in the configured LineConnection: one channel of a multiplexed
+     * connection when "playercomm.mux" is set, otherwise a plain line connection, adding
+     * heartbeats when they are enabled.
+     *
+     * @param socket    connected socket
+     * @param initiator true on the side that connected
+     * @return line connection for the conversation
+     * @throws IOException if the connection cannot be set up
+     */
+    private LineConnection openConnection(Socket socket, boolean initiator) throws IOException {
+        LineConnection line;
+        if (!multiplexed) {
+            line = LineConnections.open(socket, idleStrategy);
+        } else if (initiator) {
+            line = MuxLineConnection.connect(socket, CompressionSettings.fromSystemProperty());
+        } else {
+            line = MuxLineConnection.accept(socket, CompressionSettings.fromSystemProperty(),
+                    CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return LineConnections.withHeartbeatsFromSystemProperties(line);
+    }
 
-        if (socket == null) {
-            System.err.println("[Initiator] Could not connect. Please start the responder first.");
+    /**
+     * Adjusts the active connection gauge. A MultiplexedConnection counts its own socket.
+     *
+     * @param opened true when the connection opens, false when it closes
+     */
+    private void countConnection(boolean opened) {
+        if (multiplexed) {
+            return;
+        }
+        if (opened) {
+            CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.increment();
+        } else {
+            CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.decrement();
         }
-        return socket;
     }
 
     /**
@@ -123,31 +276,41 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
      * Always waits passively and appends counters to each reply.
      */
     private void runResponder() {
-        try (ServerSocket serverSocket = new ServerSocket(myPort)) {
+        // SO_REUSEADDR lets a restarted responder take its port back immediately
+        try (ServerSocketChannel serverChannel = LineConnections.listen(myPort)) {
+
+            startup.markReady();
+            ReadinessSignal.signalReady(myPort);
 
             // Inform the user that responder is waiting
             System.out.println("[Responder] Waiting for initiator to connect on port " + myPort + "...");
             System.out.flush(); // Ensures the message is printed immediately
 
             // Blocking call to wait for initiator
-            Socket socket = serverSocket.accept();
+            Socket socket = serverChannel.accept().socket();
             System.out.println("[Responder] Initiator connected. Ready to receive messages.");
+            countConnection(true);
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                 BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()))) {
+            try {
+                connection = openConnection(socket, false);
 
+                // Reads until the initiator closes its side, so the initiator is the one to enter TIME_WAIT
                 int replyCounter = 0;
                 String received;
-                while ((received = reader.readLine()) != null && messagesReceived.get() < maxMessages) {
+                while ((received = connection.readLine()) != null && messagesReceived.get() < maxMessages) {
+                    startup.markFirstMessage();
+                    captureReceived(received);
                     replyCounter++;
                     String reply = received + " [" + replyCounter + "]";
                     System.out.println("[Responder] received: " + received);
-                    writer.write(reply);
-                    writer.newLine();
-                    writer.flush();
+                    connection.writeLine(reply);
                     messagesReceived.incrementAndGet();
                 }
                 System.out.println("[Responder] Communication complete.");
+                System.out.println("[Responder] Startup: " + startup.format());
+            } finally {
+                closeConnection("Responder", socket);
+                countConnection(false);
             }
 
         } catch (IOException e) {
@@ -167,12 +330,11 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
     protected void sendMessagesAutomatically() throws IOException {
         for (int i = 1; i <= maxMessages; i++) {
             String msg = "Message " + i;
+            if (!acquireSendPermit(msg)) {
+                continue;
+            }
             System.out.println("[Initiator] Sending: " + msg);
-            writer.write(msg);
-            writer.newLine();
-            writer.flush();
-
-            String response = reader.readLine();
+            String response = exchange(msg);
             System.out.println("[Initiator] Received: " + response);
         }
     }
@@ -187,22 +349,108 @@ public class SeparateProcessCommunicationHandler extends AbstractCommunicationHa
     protected void sendMessagesManually() throws IOException {
         for (int i = 1; i <= maxMessages; i++) {
             String msg = com.example.playercomm.util.InputUtils.readLine(scanner, "Enter message " + i + ": ");
-            writer.write(msg);
-            writer.newLine();
-            writer.flush();
-
-            String response = reader.readLine();
+            if (!acquireSendPermit(msg)) {
+                continue;
+            }
+            String response = exchange(msg);
             System.out.println("[Initiator] Received: " + response);
         }
     }
 
+    /**
+     * Sends a single line to the responder and waits for its reply, recording the round-trip time.
+     *
+     * @param msg message to send
+     * @return the responder's reply, or null if the connection was closed
+     * @throws IOException if an I/O error occurs during message exchange
+     */
+    private String exchange(String msg) throws IOException {
+        long start = System.nanoTime();
+        connection.writeLine(msg);
+        String response = connection.readLine();
+        long end = System.nanoTime();
+        startup.markFirstMessage();
+        CommunicationMetrics.TCP_ROUND_TRIP.record(end - start);
+        roundTrips.record(start, end);
+        if (response != null) {
+            captureReceived(response);
+        }
+        return response;
+    }
+
+    /**
+     * Applies the configured rate limit to one outgoing message. Under the DELAY policy this waits
+     * for a permit; under REJECT a skipped message is reported, under SHED it is skipped silently.
+     *
+     * @param msg message about to be sent
+     * @return true if the message may be sent
+     */
+    private boolean acquireSendPermit(String msg) {
+        if (sendLimiter == null || sendLimiter.acquire(player.getName(), peerRole())) {
+            return true;
+        }
+        if (sendLimiter.getPolicy() != RateLimitPolicy.SHED) {
+            System.out.println("[Initiator] Rate limit exceeded, not sent: " + msg);
+        }
+        return false;
+    }
+
+    private String peerRole() {
+        return "initiator".equals(role) ? "responder" : "initiator";
+    }
+
+    /**
+     * Appends a line received from the peer to the trace, if capture is enabled.
+     *
+     * @param line received line
+     */
+    private void captureReceived(String line) {
+        if (trace != null) {
+            trace.record(peerRole(), player.getName(), line, MessagePriority.INTERACTIVE);
+        }
+    }
+
+    /**
+     * Prints the round-trip statistics of this session in the configured report format.
+     */
+    private void printRoundTripReport() {
+        RoundTripReport report = roundTrips.report();
+        if (report != null) {
+            System.out.println("[Initiator] " + report.format());
+        }
+    }
+
+    /**
+     * Closes the connection gracefully and reports lines the peer sent that were never read.
+     * Falls back to closing the raw socket if the connection could not be set up.
+     *
+     * @param label  log prefix ("Initiator" or "Responder")
+     * @param socket connected socket
+     */
+    private void closeConnection(String label, Socket socket) {
+        try {
+            if (connection == null) {
+                socket.close();
+                return;
+            }
+            int discarded = connection.shutdown(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (discarded > 0) {
+                System.out.println("[" + label + "] Discarded " + discarded + " unread line(s) while closing.");
+            }
+        } catch (IOException e) {
+            System.err.println("[" + label + "] Error while closing connection: " + e.getMessage());
+        } finally {
+            connection = null;
+        }
+    }
+
     /**
      * Cleans up resources and unregisters the player from the broker.
      * Called after communication is complete or if an error occurs.
      */
     private void cleanup() {
         System.out.println("[" + role + "] Cleaning up resources...");
-        broker.unregisterPlayer(player);
-        System.out.println("[" + role + "] has been unregistered from the router.");
+        player.shutdown();
+        closeTrace(trace);
     }
 }
\ No newline at end of file
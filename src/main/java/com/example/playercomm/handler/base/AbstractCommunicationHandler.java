@@ -1,5 +1,7 @@
 package com.example.playercomm.handler.base;
 
+import com.example.playercomm.trace.TraceWriter;
+
 import java.io.IOException;
 import java.util.Scanner;
 
@@ -8,6 +10,7 @@ import java.util.Scanner;
  *
  * Responsibilities:
  * - Provides common logic for sending messages automatically or manually
+ * - Closes the optional traffic trace and reports how many messages it captured
  * - Ensures DRY design for future extensions
  */
 public abstract class AbstractCommunicationHandler {
@@ -52,4 +55,22 @@ public abstract class AbstractCommunicationHandler {
      * @throws IOException if sending fails
      */
     protected abstract void sendMessagesManually() throws IOException;
-}
\ No newline at end of file
+
+    /**
+     * Closes a trace opened from the "playercomm.trace.file" system property and reports what it captured.
+     *
+     * @param trace trace to close, or null if capture is disabled
+     */
+    protected void closeTrace(TraceWriter trace) {
+        if (trace == null) {
+            return;
+        }
+        try {
+            trace.close();
+            System.out.println("[Trace] Captured " + trace.getRecordCount() + " message(s)"
+                    + (trace.getDroppedCount() > 0 ? ", lost " + trace.getDroppedCount() : ""));
+        } catch (IOException e) {
+            System.err.println("[Trace] Error while closing trace: " + e.getMessage());
+        }
+    }
+}
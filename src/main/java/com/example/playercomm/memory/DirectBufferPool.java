@@ -0,0 +1,123 @@
+package com.example.playercomm.memory;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Slab allocator for off-heap (direct) buffers.
+ *
+ * Responsibilities:
+ * - Carves large direct ByteBuffer slabs into fixed-size chunks of power-of-two size classes
+ * - Hands out chunks as reference-counted PooledBuffer instances
+ * - Returns chunks to a lock-free free list when their reference count drops to zero
+ *
+ * Notes:
+ * - Requests larger than the largest size class get an unpooled direct buffer
+ * - Slabs are never freed; the pool grows to the peak number of buffers in use
+ */
+public class DirectBufferPool {
+
+    public static final int MIN_CHUNK_SIZE = 256;
+    public static final int MAX_CHUNK_SIZE = 64 * 1024;
+    private static final int SLAB_SIZE = 1024 * 1024;
+
+    private static final DirectBufferPool SHARED = new DirectBufferPool();
+
+    private final SizeClass[] sizeClasses;
+    private final LongAdder slabBytes = new LongAdder();
+
+    public DirectBufferPool() {
+        int count = Integer.numberOfTrailingZeros(MAX_CHUNK_SIZE) - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE) + 1;
+        sizeClasses = new SizeClass[count];
+        for (int i = 0; i < count; i++) {
+            sizeClasses[i] = new SizeClass(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    /**
+     * Returns the process-wide pool.
+     *
+     * @return shared pool
+     */
+    public static DirectBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Acquires a buffer with at least the requested capacity and a reference count of one.
+     *
+     * @param capacity required capacity in bytes
+     * @return pooled buffer, positioned at 0 with limit equal to its capacity
+     */
+    public PooledBuffer acquire(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        if (capacity > MAX_CHUNK_SIZE) {
+            return new PooledBuffer(ByteBuffer.allocateDirect(capacity), null);
+        }
+        SizeClass sizeClass = sizeClasses[indexFor(capacity)];
+        return new PooledBuffer(sizeClass.take(), sizeClass);
+    }
+
+    /**
+     * Returns the number of off-heap bytes reserved by slabs.
+     *
+     * @return reserved slab bytes
+     */
+    public long getSlabBytes() {
+        return slabBytes.sum();
+    }
+
+    private static int indexFor(int capacity) {
+        if (capacity <= MIN_CHUNK_SIZE) {
+            return 0;
+        }
+        int rounded = Integer.highestOneBit(capacity - 1) << 1;
+        return Integer.numberOfTrailingZeros(rounded) - Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Free list of chunks of a single size.
+     */
+    final class SizeClass {
+
+        private final int chunkSize;
+        private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        ByteBuffer take() {
+            ByteBuffer chunk = free.poll();
+            if (chunk == null) {
+                chunk = allocateSlab();
+            }
+            return chunk.clear();
+        }
+
+        void recycle(ByteBuffer chunk) {
+            free.offer(chunk);
+        }
+
+        /**
+         * Allocates a new slab, keeps one chunk for the caller and adds the rest to the free list.
+         */
+        private synchronized ByteBuffer allocateSlab() {
+            ByteBuffer chunk = free.poll();
+            if (chunk != null) {
+                return chunk;
+            }
+            int chunks = Math.max(1, SLAB_SIZE / chunkSize);
+            ByteBuffer slab = ByteBuffer.allocateDirect(chunkSize * chunks);
+            slabBytes.add(slab.capacity());
+            for (int i = 1; i < chunks; i++) {
+                free.offer(slab.slice(i * chunkSize, chunkSize));
+            }
+            return slab.slice(0, chunkSize);
+        }
+    }
+}
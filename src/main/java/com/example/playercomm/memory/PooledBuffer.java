@@ -0,0 +1,93 @@
+package com.example.playercomm.memory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference-counted direct buffer handed out by a DirectBufferPool.
+ *
+ * Responsibilities:
+ * - Exposes the underlying off-heap ByteBuffer for writing and reading
+ * - Tracks owners through retain()/release() and recycles the chunk when the last owner releases it
+ *
+ * Notes:
+ * - The buffer must not be used after the final release()
+ */
+public class PooledBuffer {
+
+    private final ByteBuffer buffer;
+    private final DirectBufferPool.SizeClass owner;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    PooledBuffer(ByteBuffer buffer, DirectBufferPool.SizeClass owner) {
+        this.buffer = buffer;
+        this.owner = owner;
+    }
+
+    /**
+     * Returns the underlying buffer. Writers fill it and flip it; readers should use duplicate()
+     * or readOnly() so that concurrent readers do not share a position.
+     *
+     * @return underlying direct buffer
+     */
+    public ByteBuffer buffer() {
+        ensureLive();
+        return buffer;
+    }
+
+    /**
+     * Returns a read-only view of the readable bytes with its own position and limit.
+     *
+     * @return read-only view
+     */
+    public ByteBuffer readOnly() {
+        ensureLive();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public int refCount() {
+        return refCount.get();
+    }
+
+    /**
+     * Adds an owner.
+     *
+     * @return this buffer
+     */
+    public PooledBuffer retain() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Buffer has already been released");
+            }
+        } while (!refCount.compareAndSet(count, count + 1));
+        return this;
+    }
+
+    /**
+     * Removes an owner and recycles the chunk when no owners remain.
+     *
+     * @return true if this call released the last reference
+     */
+    public boolean release() {
+        int count;
+        do {
+            count = refCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("Buffer has already been released");
+            }
+        } while (!refCount.compareAndSet(count, count - 1));
+        count--;
+        if (count == 0 && owner != null) {
+            owner.recycle(buffer);
+        }
+        return count == 0;
+    }
+
+    private void ensureLive() {
+        if (refCount.get() <= 0) {
+            throw new IllegalStateException("Buffer has already been released");
+        }
+    }
+}
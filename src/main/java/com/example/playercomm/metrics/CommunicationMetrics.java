@@ -0,0 +1,56 @@
+package com.example.playercomm.metrics;
+
+/**
+ * Well-known metrics of the player communication system, registered in the global MetricsRegistry.
+ *
+ * Responsibilities:
+ * - Router metrics: registered players, routed messages, drops, delivery failures and shutdown losses
+ * - TCP metrics: active connections, bytes in/out and round-trip latency
+ * - Rate limiting: rejected and shed messages, and time spent waiting for a permit
+ */
+public final class CommunicationMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.global();
+
+    public static final Gauge REGISTERED_PLAYERS = REGISTRY.gauge(
+            "playercomm_registered_players", "Players currently registered in all routers");
+
+    public static final Counter MESSAGES_ROUTED = REGISTRY.counter(
+            "playercomm_messages_routed_total", "Messages delivered to a registered receiver");
+
+    public static final Counter UNKNOWN_RECEIVER_DROPS = REGISTRY.counter(
+            "playercomm_unknown_receiver_drops_total", "Messages dropped because the receiver is not registered");
+
+    public static final Counter DELIVERY_EXCEPTIONS = REGISTRY.counter(
+            "playercomm_delivery_exceptions_total", "Messages whose receiver threw an exception during delivery");
+
+    public static final Counter SHUTDOWN_DROPS = REGISTRY.counter(
+            "playercomm_shutdown_drops_total", "Messages rejected or discarded because their router was shutting down");
+
+    public static final Histogram DELIVERY_LATENCY = REGISTRY.histogram(
+            "playercomm_delivery_latency_seconds", "Time from message creation until the receiver returned");
+
+    public static final Gauge TCP_ACTIVE_CONNECTIONS = REGISTRY.gauge(
+            "playercomm_tcp_active_connections", "Currently open TCP connections");
+
+    public static final Counter TCP_BYTES_IN = REGISTRY.counter(
+            "playercomm_tcp_bytes_in_total", "Bytes read from TCP connections");
+
+    public static final Counter TCP_BYTES_OUT = REGISTRY.counter(
+            "playercomm_tcp_bytes_out_total", "Bytes written to TCP connections");
+
+    public static final Histogram TCP_ROUND_TRIP = REGISTRY.histogram(
+            "playercomm_tcp_round_trip_seconds", "Initiator round-trip time from send until reply received");
+
+    public static final Counter RATE_LIMIT_REJECTED = REGISTRY.counter(
+            "playercomm_rate_limit_rejected_total", "Messages rejected because their sender or receiver exceeded its rate limit");
+
+    public static final Counter RATE_LIMIT_SHED = REGISTRY.counter(
+            "playercomm_rate_limit_shed_total", "Messages dropped silently because their sender or receiver exceeded its rate limit");
+
+    public static final Histogram RATE_LIMIT_DELAY = REGISTRY.histogram(
+            "playercomm_rate_limit_delay_seconds", "Time a sender waited for a rate limit permit");
+
+    private CommunicationMetrics() {
+    }
+}
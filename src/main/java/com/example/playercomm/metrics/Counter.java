@@ -0,0 +1,46 @@
+package com.example.playercomm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing counter backed by a striped LongAdder.
+ *
+ * Notes:
+ * - Increments from many threads do not contend on a single memory location
+ * - Reading the value sums the stripes and is only done by the exporter
+ */
+public class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public Counter(String name, String help) {
+        super(name, help);
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    /**
+     * Adds the given amount to the counter.
+     *
+     * @param amount non-negative amount to add
+     */
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "counter";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        out.append(getName()).append(' ').append(get()).append('\n');
+    }
+}
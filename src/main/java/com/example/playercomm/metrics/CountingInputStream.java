@@ -0,0 +1,36 @@
+package com.example.playercomm.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream decorator that adds every byte read to a Counter.
+ */
+public class CountingInputStream extends FilterInputStream {
+
+    private final Counter counter;
+
+    public CountingInputStream(InputStream in, Counter counter) {
+        super(in);
+        this.counter = counter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            counter.increment();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) {
+            counter.add(n);
+        }
+        return n;
+    }
+}
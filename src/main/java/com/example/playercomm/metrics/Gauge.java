@@ -0,0 +1,38 @@
+package com.example.playercomm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gauge that can go up and down, backed by a striped LongAdder.
+ * Used for values such as registered players or open connections.
+ */
+public class Gauge extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public Gauge(String name, String help) {
+        super(name, help);
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void decrement() {
+        value.decrement();
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "gauge";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        out.append(getName()).append(' ').append(get()).append('\n');
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.playercomm.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with fixed bucket boundaries, backed by striped LongAdders.
+ *
+ * Responsibilities:
+ * - Records durations given in nanoseconds without allocating
+ * - Exports cumulative buckets, sum and count in seconds, as Prometheus expects
+ */
+public class Histogram extends Metric {
+
+    /**
+     * Default latency buckets from 10 microseconds to 10 seconds, in nanoseconds.
+     */
+    public static final long[] DEFAULT_LATENCY_BOUNDS_NANOS = {
+            10_000L, 50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L,
+            50_000_000L, 100_000_000L, 250_000_000L, 500_000_000L,
+            1_000_000_000L, 10_000_000_000L
+    };
+
+    private final long[] boundsNanos;
+    private final LongAdder[] buckets;
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAdder count = new LongAdder();
+
+    public Histogram(String name, String help) {
+        this(name, help, DEFAULT_LATENCY_BOUNDS_NANOS);
+    }
+
+    /**
+     * Creates a histogram with the given upper bucket bounds.
+     *
+     * @param name        metric name
+     * @param help        metric description
+     * @param boundsNanos strictly increasing upper bounds in nanoseconds
+     */
+    public Histogram(String name, String help, long[] boundsNanos) {
+        super(name, help);
+        this.boundsNanos = boundsNanos.clone();
+        // One extra bucket for values above the highest bound (+Inf)
+        this.buckets = new LongAdder[boundsNanos.length + 1];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a single observation.
+     *
+     * @param nanos observed duration in nanoseconds
+     */
+    public void record(long nanos) {
+        int index = 0;
+        while (index < boundsNanos.length && nanos > boundsNanos[index]) {
+            index++;
+        }
+        buckets[index].increment();
+        sumNanos.add(nanos);
+        count.increment();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    protected String getType() {
+        return "histogram";
+    }
+
+    @Override
+    protected void writeSamples(StringBuilder out) {
+        long cumulative = 0;
+        for (int i = 0; i < boundsNanos.length; i++) {
+            cumulative += buckets[i].sum();
+            out.append(getName()).append("_bucket{le=\"").append(toSeconds(boundsNanos[i])).append("\"} ")
+                    .append(cumulative).append('\n');
+        }
+        cumulative += buckets[boundsNanos.length].sum();
+        out.append(getName()).append("_bucket{le=\"+Inf\"} ").append(cumulative).append('\n');
+        out.append(getName()).append("_sum ").append(toSeconds(sumNanos.sum())).append('\n');
+        out.append(getName()).append("_count ").append(count.sum()).append('\n');
+    }
+
+    private static String toSeconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+}
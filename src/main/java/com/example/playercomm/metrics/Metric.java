@@ -0,0 +1,52 @@
+package com.example.playercomm.metrics;
+
+/**
+ * Base type for all metrics that can be exported by the MetricsRegistry.
+ *
+ * Responsibilities:
+ * - Holds the metric name and help text
+ * - Renders its current value in Prometheus text exposition format
+ */
+public abstract class Metric {
+
+    private final String name;
+    private final String help;
+
+    protected Metric(String name, String help) {
+        this.name = name;
+        this.help = help;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Returns the Prometheus metric type ("counter", "gauge" or "histogram").
+     *
+     * @return Prometheus type name
+     */
+    protected abstract String getType();
+
+    /**
+     * Appends the sample lines of this metric (without HELP/TYPE headers).
+     *
+     * @param out target builder
+     */
+    protected abstract void writeSamples(StringBuilder out);
+
+    /**
+     * Appends this metric in Prometheus text exposition format, including HELP and TYPE lines.
+     *
+     * @param out target builder
+     */
+    public void writeTo(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(getType()).append('\n');
+        writeSamples(out);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.playercomm.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of all exported metrics.
+ *
+ * Responsibilities:
+ * - Creates and registers counters, gauges and histograms by name
+ * - Renders all registered metrics in Prometheus text exposition format
+ *
+ * Notes:
+ * - Registration is expected at class-initialization time, not on the hot path
+ * - Registering the same name twice returns the existing metric
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+    private final List<Metric> ordered = new ArrayList<>();
+
+    /**
+     * Returns the process-wide registry used by the communication components.
+     *
+     * @return global registry
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name, String help) {
+        return register(name, new Counter(name, help), Counter.class);
+    }
+
+    public Gauge gauge(String name, String help) {
+        return register(name, new Gauge(name, help), Gauge.class);
+    }
+
+    public Histogram histogram(String name, String help) {
+        return register(name, new Histogram(name, help), Histogram.class);
+    }
+
+    /**
+     * Renders all registered metrics in Prometheus text exposition format.
+     *
+     * @return exposition text
+     */
+    public String scrape() {
+        List<Metric> snapshot;
+        synchronized (ordered) {
+            snapshot = new ArrayList<>(ordered);
+        }
+        StringBuilder out = new StringBuilder(snapshot.size() * 128);
+        for (Metric metric : snapshot) {
+            metric.writeTo(out);
+        }
+        return out.toString();
+    }
+
+    private <T extends Metric> T register(String name, T metric, Class<T> type) {
+        synchronized (ordered) {
+            Metric existing = metrics.putIfAbsent(name, metric);
+            if (existing == null) {
+                ordered.add(metric);
+                return metric;
+            }
+            if (!type.isInstance(existing)) {
+                throw new IllegalArgumentException("Metric " + name + " is already registered as " + existing.getType());
+            }
+            return type.cast(existing);
+        }
+    }
+}
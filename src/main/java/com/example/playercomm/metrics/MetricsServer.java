@@ -0,0 +1,90 @@
+package com.example.playercomm.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Embedded HTTP endpoint exposing the MetricsRegistry in Prometheus text format.
+ *
+ * Responsibilities:
+ * - Serves GET /metrics on the configured port
+ * - Can be enabled with the system property "playercomm.metrics.port"
+ *
+ * Notes:
+ * - Scraping only sums LongAdder stripes, so it does not contend with the message hot path
+ */
+public class MetricsServer implements AutoCloseable {
+
+    public static final String PORT_PROPERTY = "playercomm.metrics.port";
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final MetricsRegistry registry;
+
+    /**
+     * Creates and starts a metrics server.
+     *
+     * @param port     TCP port to listen on (0 picks a free port)
+     * @param registry registry to expose
+     * @throws IOException if the port cannot be bound
+     */
+    public MetricsServer(int port, MetricsRegistry registry) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.server.createContext("/metrics", this::handleScrape);
+        this.server.start();
+    }
+
+    /**
+     * Starts a server on the port given by the "playercomm.metrics.port" system property.
+     *
+     * @return running server, or null if the property is not set or the port cannot be bound
+     */
+    public static MetricsServer startFromSystemProperty() {
+        int port = Integer.getInteger(PORT_PROPERTY, 0);
+        if (port <= 0) {
+            return null;
+        }
+        try {
+            MetricsServer server = new MetricsServer(port, MetricsRegistry.global());
+            System.out.println("[Metrics] Serving metrics at http://localhost:" + server.getPort() + "/metrics");
+            return server;
+        } catch (IOException e) {
+            System.err.println("[Metrics] Could not start metrics server on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handleScrape(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = registry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Stops the HTTP server immediately.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.playercomm.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Records round-trip times into a preallocated primitive array.
+ *
+ * Responsibilities:
+ * - Stores each sample without boxing or per-sample allocation
+ * - Tracks the time span of the run for throughput calculation
+ * - Produces a RoundTripReport with min/mean/percentiles/jitter at the end of a run
+ *
+ * Notes:
+ * - Not thread-safe; intended for the single thread driving an initiator loop
+ * - Samples beyond the capacity are counted as overflow and not stored
+ */
+public class RoundTripRecorder {
+
+    private final long[] samples;
+    private int count;
+    private long overflow;
+    private long firstStartNanos;
+    private long lastEndNanos;
+
+    /**
+     * Creates a recorder.
+     *
+     * @param capacity maximum number of samples to store
+     */
+    public RoundTripRecorder(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Records one round trip given its start and end time from System.nanoTime().
+     *
+     * @param startNanos time the request was sent
+     * @param endNanos   time the reply was received
+     */
+    public void record(long startNanos, long endNanos) {
+        if (count == 0 && overflow == 0) {
+            firstStartNanos = startNanos;
+        }
+        lastEndNanos = endNanos;
+        if (count < samples.length) {
+            samples[count++] = endNanos - startNanos;
+        } else {
+            overflow++;
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getOverflow() {
+        return overflow;
+    }
+
+    /**
+     * Computes statistics over all recorded samples.
+     *
+     * @return report of the run, or null if nothing was recorded
+     */
+    public RoundTripReport report() {
+        if (count == 0) {
+            return null;
+        }
+
+        // Jitter: mean absolute difference between consecutive samples, in recording order
+        long sum = samples[0];
+        long jitterSum = 0;
+        for (int i = 1; i < count; i++) {
+            sum += samples[i];
+            jitterSum += Math.abs(samples[i] - samples[i - 1]);
+        }
+        double jitter = count > 1 ? jitterSum / (double) (count - 1) : 0.0;
+
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        long elapsed = lastEndNanos - firstStartNanos;
+        double throughput = elapsed > 0 ? count * 1_000_000_000.0 / elapsed : 0.0;
+
+        return new RoundTripReport(count, sorted[0], sum / (double) count,
+                percentile(sorted, 50.0), percentile(sorted, 90.0), percentile(sorted, 99.0),
+                percentile(sorted, 99.9), sorted[count - 1], jitter, throughput);
+    }
+
+    /**
+     * Nearest-rank percentile of a sorted array.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+}
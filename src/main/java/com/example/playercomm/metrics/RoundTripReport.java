@@ -0,0 +1,142 @@
+package com.example.playercomm.metrics;
+
+import java.util.Locale;
+
+/**
+ * End-of-run round-trip statistics produced by a RoundTripRecorder.
+ *
+ * Responsibilities:
+ * - Holds count, min, mean, percentiles, max, jitter and throughput
+ * - Formats itself as a compact text report, CSV or JSON
+ *
+ * Notes:
+ * - All latency values are in nanoseconds; the text format prints microseconds
+ * - The format is chosen with the system property "playercomm.report.format" (text, csv, json)
+ */
+public class RoundTripReport {
+
+    public static final String FORMAT_PROPERTY = "playercomm.report.format";
+
+    private static final String CSV_HEADER =
+            "count,min_ns,mean_ns,p50_ns,p90_ns,p99_ns,p999_ns,max_ns,jitter_ns,throughput_per_s";
+
+    private final int count;
+    private final long min;
+    private final double mean;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+    private final long max;
+    private final double jitter;
+    private final double throughput;
+
+    RoundTripReport(int count, long min, double mean, long p50, long p90, long p99, long p999,
+                    long max, double jitter, double throughput) {
+        this.count = count;
+        this.min = min;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+        this.max = max;
+        this.jitter = jitter;
+        this.throughput = throughput;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMinNanos() {
+        return min;
+    }
+
+    public double getMeanNanos() {
+        return mean;
+    }
+
+    public long getP50Nanos() {
+        return p50;
+    }
+
+    public long getP90Nanos() {
+        return p90;
+    }
+
+    public long getP99Nanos() {
+        return p99;
+    }
+
+    public long getP999Nanos() {
+        return p999;
+    }
+
+    public long getMaxNanos() {
+        return max;
+    }
+
+    public double getJitterNanos() {
+        return jitter;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughput;
+    }
+
+    /**
+     * Formats the report in the format selected by the "playercomm.report.format" system property.
+     *
+     * @return formatted report
+     */
+    public String format() {
+        return switch (System.getProperty(FORMAT_PROPERTY, "text").toLowerCase(Locale.ROOT)) {
+            case "csv" -> toCsv();
+            case "json" -> toJson();
+            default -> toText();
+        };
+    }
+
+    /**
+     * Formats the report as a compact, human-readable block with latencies in microseconds.
+     *
+     * @return text report
+     */
+    public String toText() {
+        return String.format(Locale.ROOT,
+                "Round-trip statistics (%d samples)%n"
+                        + "  min %.1f us | mean %.1f us | p50 %.1f us | p90 %.1f us%n"
+                        + "  p99 %.1f us | p99.9 %.1f us | max %.1f us | jitter %.1f us%n"
+                        + "  throughput %.1f msg/s",
+                count, micros(min), mean / 1_000.0, micros(p50), micros(p90),
+                micros(p99), micros(p999), micros(max), jitter / 1_000.0, throughput);
+    }
+
+    /**
+     * Formats the report as a CSV header line followed by one data line.
+     *
+     * @return CSV report
+     */
+    public String toCsv() {
+        return CSV_HEADER + System.lineSeparator() + String.format(Locale.ROOT,
+                "%d,%d,%.1f,%d,%d,%d,%d,%d,%.1f,%.3f",
+                count, min, mean, p50, p90, p99, p999, max, jitter, throughput);
+    }
+
+    /**
+     * Formats the report as a single JSON object.
+     *
+     * @return JSON report
+     */
+    public String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"count\":%d,\"min_ns\":%d,\"mean_ns\":%.1f,\"p50_ns\":%d,\"p90_ns\":%d,\"p99_ns\":%d,"
+                        + "\"p999_ns\":%d,\"max_ns\":%d,\"jitter_ns\":%.1f,\"throughput_per_s\":%.3f}",
+                count, min, mean, p50, p90, p99, p999, max, jitter, throughput);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
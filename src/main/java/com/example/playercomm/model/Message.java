@@ -1,6 +1,8 @@
 package com.example.playercomm.model;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -9,23 +11,55 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - Hold sender and receiver information
  * - Hold message content
  * - Optionally maintain messageId and timestamp
+ * - Carry a MessagePriority that selects the delivery lane (INTERACTIVE by default)
+ *
+ * Notes:
+ * - The timestamp is captured as a primitive monotonic value (System.nanoTime) so that
+ *   creating a message never allocates or resolves a time zone
+ * - Wall-clock time is derived lazily from a clock offset captured once per JVM,
+ *   and only when getTimestamp() or toString() is called
  */
 public class Message {
 
     private static final AtomicInteger COUNTER = new AtomicInteger(0);
 
+    /**
+     * Offset between System.nanoTime() and the epoch, in nanoseconds, captured at class load.
+     */
+    private static final long EPOCH_OFFSET_NANOS =
+            System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
     private final int messageId;
     private final String sender;
     private final String receiver;
     private final String content;
-    private final LocalDateTime timestamp;
+    private final long timestampNanos;
+    private final MessagePriority priority;
 
     public Message(String sender, String receiver, String content) {
+        this(sender, receiver, content, MessagePriority.INTERACTIVE);
+    }
+
+    public Message(String sender, String receiver, String content, MessagePriority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
         this.messageId = COUNTER.incrementAndGet();
         this.sender = sender;
         this.receiver = receiver;
         this.content = content;
-        this.timestamp = LocalDateTime.now();
+        this.timestampNanos = System.nanoTime();
+        this.priority = priority;
+    }
+
+    /**
+     * Constructor for subclasses that store their content elsewhere and override getContent().
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     */
+    protected Message(String sender, String receiver) {
+        this(sender, receiver, null);
     }
 
     public int getMessageId() {
@@ -44,12 +78,54 @@ public class Message {
         return content;
     }
 
+    public MessagePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the monotonic creation time of this message, as reported by System.nanoTime().
+     * Only meaningful for latency calculations within the same JVM.
+     *
+     * @return creation time in nanoseconds
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * Returns the creation time of this message in microseconds since the epoch.
+     * Suitable for comparing timestamps across JVMs on the same host.
+     *
+     * @return creation time in epoch microseconds
+     */
+    public long getEpochMicros() {
+        return (timestampNanos + EPOCH_OFFSET_NANOS) / 1_000L;
+    }
+
+    /**
+     * Returns the nanoseconds elapsed since this message was created.
+     *
+     * @return age of the message in nanoseconds
+     */
+    public long getAgeNanos() {
+        return System.nanoTime() - timestampNanos;
+    }
+
+    /**
+     * Converts the creation time to a LocalDateTime in the system time zone.
+     * The conversion is performed on every call and is intended for display only.
+     *
+     * @return creation time as LocalDateTime
+     */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        long epochNanos = timestampNanos + EPOCH_OFFSET_NANOS;
+        Instant instant = Instant.ofEpochSecond(
+                Math.floorDiv(epochNanos, 1_000_000_000L), Math.floorMod(epochNanos, 1_000_000_000L));
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
     }
 
     @Override
     public String toString() {
-        return "[" + timestamp + "] " + sender + " -> " + receiver + ": " + content;
+        return "[" + getTimestamp() + "] " + sender + " -> " + receiver + ": " + getContent();
     }
-}
\ No newline at end of file
+}
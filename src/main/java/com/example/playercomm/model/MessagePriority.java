@@ -0,0 +1,42 @@
+package com.example.playercomm.model;
+
+/**
+ * Priority lane of a message.
+ *
+ * Notes:
+ * - Lanes are served by weighted round-robin: per round, a lane may be served up to weight
+ *   times before lower lanes get their turn, so bulk traffic is slowed down but never starved
+ * - Ordering is only guaranteed between messages of the same priority
+ */
+public enum MessagePriority {
+
+    /**
+     * Heartbeats and other protocol control traffic.
+     */
+    CONTROL(8),
+
+    /**
+     * Regular player messages and replies (default).
+     */
+    INTERACTIVE(4),
+
+    /**
+     * Large transfers that may wait behind everything else.
+     */
+    BULK(1);
+
+    private final int weight;
+
+    MessagePriority(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns how many times this lane may be served per scheduling round.
+     *
+     * @return lane weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
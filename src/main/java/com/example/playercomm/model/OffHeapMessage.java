@@ -0,0 +1,187 @@
+package com.example.playercomm.model;
+
+import com.example.playercomm.memory.DirectBufferPool;
+import com.example.playercomm.memory.PooledBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message whose UTF-8 payload lives in a pooled, reference-counted direct buffer.
+ *
+ * Responsibilities:
+ * - Stores large payloads off-heap so they can be written to a channel without copying
+ * - Decodes the payload into a String only when getContent() is first called
+ * - Returns its buffer to the DirectBufferPool when released
+ *
+ * Notes:
+ * - Whoever creates the message owns one reference; call retain() before handing it to
+ *   another owner and release() when done
+ * - getContent() caches the decoded text, so repeated calls do not decode again
+ */
+public class OffHeapMessage extends Message implements AutoCloseable {
+
+    private final PooledBuffer payload;
+    private final int length;
+    private volatile String decoded;
+
+    private OffHeapMessage(String sender, String receiver, PooledBuffer payload, int length) {
+        super(sender, receiver);
+        this.payload = payload;
+        this.length = length;
+    }
+
+    /**
+     * Encodes text content directly into a pooled direct buffer.
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     * @param content  text content
+     * @param pool     pool to allocate the payload buffer from
+     * @return new message holding one reference to its buffer
+     */
+    public static OffHeapMessage of(String sender, String receiver, String content, DirectBufferPool pool) {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        PooledBuffer buffer = pool.acquire(utf8Length(content));
+        ByteBuffer target = buffer.buffer();
+        encoder.encode(CharBuffer.wrap(content), target, true);
+        encoder.flush(target);
+        target.flip();
+        return new OffHeapMessage(sender, receiver, buffer, target.remaining());
+    }
+
+    /**
+     * Reads a payload of known length from a channel straight into a pooled direct buffer.
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     * @param channel  channel to read from, e.g. a SocketChannel
+     * @param length   payload length in bytes
+     * @param pool     pool to allocate the payload buffer from
+     * @return new message holding one reference to its buffer
+     * @throws IOException if the channel fails or ends before the payload is complete
+     */
+    public static OffHeapMessage readFrom(String sender, String receiver, ReadableByteChannel channel,
+                                          int length, DirectBufferPool pool) throws IOException {
+        PooledBuffer buffer = pool.acquire(length);
+        ByteBuffer target = buffer.buffer();
+        target.limit(length);
+        try {
+            while (target.hasRemaining()) {
+                if (channel.read(target) < 0) {
+                    throw new EOFException("Channel closed after " + target.position() + " of " + length + " bytes");
+                }
+            }
+        } catch (IOException e) {
+            buffer.release();
+            throw e;
+        }
+        target.flip();
+        return new OffHeapMessage(sender, receiver, buffer, length);
+    }
+
+    /**
+     * Returns the payload decoded as UTF-8 text. The first call decodes and caches the result.
+     *
+     * @return message content
+     */
+    @Override
+    public String getContent() {
+        String text = decoded;
+        if (text == null) {
+            text = StandardCharsets.UTF_8.decode(payload.readOnly()).toString();
+            decoded = text;
+        }
+        return text;
+    }
+
+    /**
+     * Returns the payload size in bytes.
+     *
+     * @return payload length
+     */
+    public int getPayloadLength() {
+        return length;
+    }
+
+    /**
+     * Returns a read-only view of the payload bytes with its own position.
+     *
+     * @return read-only payload view
+     */
+    public ByteBuffer payload() {
+        return payload.readOnly();
+    }
+
+    /**
+     * Writes the payload to a channel without copying it onto the heap.
+     *
+     * @param channel target channel, e.g. a SocketChannel or FileChannel
+     * @return number of bytes written
+     * @throws IOException if the channel fails
+     */
+    public int writeTo(WritableByteChannel channel) throws IOException {
+        ByteBuffer view = payload.readOnly();
+        int written = 0;
+        while (view.hasRemaining()) {
+            written += channel.write(view);
+        }
+        return written;
+    }
+
+    /**
+     * Adds an owner of the payload buffer.
+     *
+     * @return this message
+     */
+    public OffHeapMessage retain() {
+        payload.retain();
+        return this;
+    }
+
+    /**
+     * Releases one reference; the buffer returns to the pool when the last owner releases it.
+     *
+     * @return true if the buffer was returned to the pool
+     */
+    public boolean release() {
+        return payload.release();
+    }
+
+    /**
+     * Computes the UTF-8 encoded size of a string without encoding it.
+     * Unpaired surrogates are counted as three bytes, which is an upper bound of their replacement.
+     */
+    private static int utf8Length(String text) {
+        int bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.playercomm.startup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Tells scripts and supervisors that a responder is ready to accept connections.
+ *
+ * Notes:
+ * - The listening port itself is the primary signal: the responder binds only after warm-up,
+ *   so a connection that succeeds is served by warm code
+ * - With -Dplayercomm.ready.file=PATH the responder also writes its port to PATH once it listens;
+ *   the file is written to a temporary name and renamed, so readers never see partial content
+ * - The file is deleted when the JVM exits
+ */
+public final class ReadinessSignal {
+
+    /**
+     * System property naming the readiness file.
+     */
+    public static final String FILE_PROPERTY = "playercomm.ready.file";
+
+    private ReadinessSignal() {
+    }
+
+    /**
+     * Writes the readiness file, if one is configured.
+     *
+     * @param port port the responder listens on
+     * @return the readiness file, or null if none is configured or it could not be written
+     */
+    public static Path signalReady(int port) {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        Path target = Path.of(file.trim()).toAbsolutePath();
+        try {
+            Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            Files.writeString(temp, port + System.lineSeparator(), StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            target.toFile().deleteOnExit();
+            return target;
+        } catch (IOException e) {
+            System.err.println("[Startup] Cannot write readiness file " + target + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.playercomm.startup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the startup phases of a communication handler, relative to the start of the JVM.
+ *
+ * Responsibilities:
+ * - Records when warm-up finished, when the handler became ready (listening or connected)
+ *   and when the first message was exchanged
+ * - Reports each phase in milliseconds since JVM start
+ *
+ * Notes:
+ * - Phases are recorded as System.nanoTime() values; the JVM start time is only looked up
+ *   when the report is formatted, so that loading the management classes stays off the startup path
+ * - Each phase is recorded only the first time it is marked
+ */
+public class StartupTimer {
+
+    private final long createdNanos;
+    private final long createdMillis;
+    private long warmedUpNanos;
+    private long readyNanos;
+    private long firstMessageNanos;
+    private boolean warmedUp;
+    private boolean ready;
+    private boolean firstMessage;
+
+    public StartupTimer() {
+        this.createdNanos = System.nanoTime();
+        this.createdMillis = System.currentTimeMillis();
+    }
+
+    public void markWarmedUp() {
+        if (!warmedUp) {
+            warmedUpNanos = System.nanoTime();
+            warmedUp = true;
+        }
+    }
+
+    public void markReady() {
+        if (!ready) {
+            readyNanos = System.nanoTime();
+            ready = true;
+        }
+    }
+
+    public void markFirstMessage() {
+        if (!firstMessage) {
+            firstMessageNanos = System.nanoTime();
+            firstMessage = true;
+        }
+    }
+
+    /**
+     * Returns the time from JVM start until the handler was ready.
+     *
+     * @return time to ready in nanoseconds, or -1 if the handler never became ready
+     */
+    public long getTimeToReadyNanos() {
+        return ready ? readyNanos - jvmStartNanos() : -1;
+    }
+
+    /**
+     * Returns the time from JVM start until the first message was exchanged.
+     *
+     * @return time to first message in nanoseconds, or -1 if no message was exchanged
+     */
+    public long getTimeToFirstMessageNanos() {
+        return firstMessage ? firstMessageNanos - jvmStartNanos() : -1;
+    }
+
+    /**
+     * Formats the recorded phases, e.g. "ready 412 ms, first message 418 ms after JVM start".
+     *
+     * @return startup summary
+     */
+    public String format() {
+        long origin = jvmStartNanos();
+        StringBuilder summary = new StringBuilder();
+        append(summary, "warmed up", warmedUp, warmedUpNanos - origin);
+        append(summary, "ready", ready, readyNanos - origin);
+        append(summary, "first message", firstMessage, firstMessageNanos - origin);
+        if (summary.isEmpty()) {
+            summary.append("no startup phase completed");
+        }
+        return summary.append(" after JVM start").toString();
+    }
+
+    /**
+     * Converts the JVM start time to the System.nanoTime() scale.
+     */
+    private long jvmStartNanos() {
+        long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+        return createdNanos - TimeUnit.MILLISECONDS.toNanos(createdMillis - jvmStartMillis);
+    }
+
+    private static void append(StringBuilder summary, String phase, boolean reached, long nanos) {
+        if (reached) {
+            if (!summary.isEmpty()) {
+                summary.append(", ");
+            }
+            summary.append(phase).append(' ').append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms");
+        }
+    }
+}
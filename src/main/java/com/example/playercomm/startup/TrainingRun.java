@@ -0,0 +1,54 @@
+package com.example.playercomm.startup;
+
+import com.example.playercomm.handler.SameProcessCommunicationHandler;
+import com.example.playercomm.handler.SeparateProcessCommunicationHandler;
+import com.example.playercomm.transport.idle.IdleStrategies;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Training run for the AppCDS archive: exercises every mode once, so that a JVM started with
+ * -XX:ArchiveClassesAtExit records the classes that real sessions load.
+ *
+ * Usage (normally run by the "appcds" Maven profile):
+ * java -XX:ArchiveClassesAtExit=target/playercomm.jsa -cp target/player-comm-1.0-SNAPSHOT.jar com.example.playercomm.startup.TrainingRun
+ *
+ * Steps:
+ * - Warmup traffic over blocking and busy-polled loopback connections
+ * - One automatic same-process session
+ * - One automatic separate-process session, with both roles running in this JVM
+ */
+public final class TrainingRun {
+
+    private TrainingRun() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : Warmup.DEFAULT_MESSAGES;
+        long elapsed = Warmup.run(messages, null);
+        elapsed += Warmup.run(Math.max(1, messages / 10), IdleStrategies.backoff());
+        System.out.println("[Training] Warm-up traffic: " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms");
+
+        SameProcessCommunicationHandler sameProcess = new SameProcessCommunicationHandler(new Scanner("y\n"), null);
+        sameProcess.setupPlayers("initiator", "responder");
+        sameProcess.startCommunication();
+
+        int port = freePort();
+        Thread responder = new Thread(() ->
+                new SeparateProcessCommunicationHandler(new Scanner(""), "responder", port, 0, 10).startCommunication(),
+                "training-responder");
+        responder.start();
+        new SeparateProcessCommunicationHandler(new Scanner("y\n"), "initiator", freePort(), port, 10).startCommunication();
+        responder.join();
+        System.out.println("[Training] Done.");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.playercomm.startup;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.line.LineConnection;
+import com.example.playercomm.transport.line.LineConnections;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs synthetic traffic through the router and the TCP line codec before real traffic arrives,
+ * so that the first real messages run through loaded classes and compiled code instead of the interpreter.
+ *
+ * Responsibilities:
+ * - Exchanges request/reply pairs between two players on a private PlayerMessageRouter
+ * - Exchanges request/reply lines over a loopback connection built exactly like the handler's
+ *   (same idle strategy, heartbeats and counters)
+ * - Provides the warm-up traffic of TrainingRun, which records the AppCDS archive
+ *
+ * Notes:
+ * - Enabled in the handlers by -Dplayercomm.warmup=MESSAGES (0, the default, disables it);
+ *   about 10,000 messages are needed before the hot paths reach the optimizing compiler
+ * - Warm-up traffic is real traffic for the metrics: it shows up in the routed message and TCP byte counters
+ */
+public final class Warmup {
+
+    /**
+     * System property holding the number of warm-up messages.
+     */
+    public static final String PROPERTY = "playercomm.warmup";
+
+    /**
+     * Number of messages used by TrainingRun.
+     */
+    public static final int DEFAULT_MESSAGES = 10_000;
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private Warmup() {
+    }
+
+    /**
+     * Returns the number of warm-up messages configured by the "playercomm.warmup" system property.
+     *
+     * @return number of messages, or 0 if warm-up is disabled
+     */
+    public static int messagesFromSystemProperty() {
+        return Math.max(0, Integer.getInteger(PROPERTY, 0));
+    }
+
+    /**
+     * Warms up the router and the line codec.
+     *
+     * @param messages     number of request/reply pairs to exchange on each path
+     * @param idleStrategy socket I/O mode used by the handler, or null for blocking reads
+     * @return time spent warming up, in nanoseconds
+     * @throws IOException if the loopback connection fails
+     */
+    public static long run(int messages, IdleStrategy idleStrategy) throws IOException {
+        long start = System.nanoTime();
+        warmRouter(messages);
+        warmLineConnection(messages, idleStrategy);
+        return System.nanoTime() - start;
+    }
+
+    private static void warmRouter(int messages) {
+        PlayerMessageRouter router = new PlayerMessageRouter();
+        Player initiator = new Player("warmup-initiator", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                // Replies are only consumed
+            }
+        };
+        Player responder = new Player("warmup-responder", router) {
+            private int replyCounter = 0;
+
+            @Override
+            public void receiveMessage(Message message) {
+                replyCounter++;
+                sendMessage(message.getSender(), message.getContent() + " [" + replyCounter + "]");
+            }
+        };
+        router.registerPlayer(initiator);
+        router.registerPlayer(responder);
+        for (int i = 1; i <= messages; i++) {
+            initiator.sendMessage(responder.getName(), "Message " + i);
+        }
+        router.unregisterPlayer(initiator);
+        router.unregisterPlayer(responder);
+    }
+
+    private static void warmLineConnection(int messages, IdleStrategy idleStrategy) throws IOException {
+        try (ServerSocketChannel server = ServerSocketChannel.open()) {
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            Socket socket = SocketChannel.open(server.getLocalAddress()).socket();
+            Socket accepted = server.accept().socket();
+
+            CompletableFuture<Void> responder = CompletableFuture.runAsync(() -> {
+                try (LineConnection connection = LineConnections.withHeartbeatsFromSystemProperties(
+                        LineConnections.open(accepted, idleStrategy))) {
+                    int replyCounter = 0;
+                    String received;
+                    while ((received = connection.readLine()) != null) {
+                        replyCounter++;
+                        connection.writeLine(received + " [" + replyCounter + "]");
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            LineConnection connection = LineConnections.withHeartbeatsFromSystemProperties(
+                    LineConnections.open(socket, idleStrategy));
+            try {
+                for (int i = 1; i <= messages; i++) {
+                    connection.writeLine("Message " + i);
+                    if (connection.readLine() == null) {
+                        throw new IOException("Warm-up responder closed the connection");
+                    }
+                }
+            } finally {
+                connection.shutdown(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            responder.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("Warm-up responder failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IOException("Warm-up responder did not finish", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during warm-up", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.metrics.RoundTripReport;
+
+import java.util.Locale;
+
+/**
+ * Outcome of a trace replay.
+ *
+ * Responsibilities:
+ * - Counts the replayed records and compares the replay's duration with the captured one
+ * - Records how far sending fell behind the trace's schedule (zero lag means the schedule was kept)
+ * - Carries the latency statistics reported by the target
+ */
+public final class ReplayReport {
+
+    private final long records;
+    private final long tracedMicros;
+    private final long elapsedNanos;
+    private final long maxLagNanos;
+    private final double meanLagNanos;
+    private final boolean complete;
+    private final RoundTripReport latency;
+
+    public ReplayReport(long records, long tracedMicros, long elapsedNanos, long maxLagNanos,
+                        double meanLagNanos, boolean complete, RoundTripReport latency) {
+        this.records = records;
+        this.tracedMicros = tracedMicros;
+        this.elapsedNanos = elapsedNanos;
+        this.maxLagNanos = maxLagNanos;
+        this.meanLagNanos = meanLagNanos;
+        this.complete = complete;
+        this.latency = latency;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the time between the first and the last record of the trace.
+     *
+     * @return captured duration in microseconds
+     */
+    public long getTracedMicros() {
+        return tracedMicros;
+    }
+
+    /**
+     * Returns the time spent sending, from the first to the last record.
+     *
+     * @return replay duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    public double getMeanLagNanos() {
+        return meanLagNanos;
+    }
+
+    /**
+     * Returns whether the target handled every replayed message before the completion timeout.
+     *
+     * @return true if nothing was left outstanding
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the latency statistics reported by the target.
+     *
+     * @return latency report, or null if nothing was handled
+     */
+    public RoundTripReport getLatency() {
+        return latency;
+    }
+
+    public double getRatePerSecond() {
+        return elapsedNanos > 0 ? records * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format(Locale.ROOT,
+                "Replayed %d message(s) in %.1f ms (captured over %.1f ms), %.1f msg/s%n"
+                        + "  schedule lag: mean %.1f us | max %.1f us%s",
+                records, elapsedNanos / 1_000_000.0, tracedMicros / 1_000.0, getRatePerSecond(),
+                meanLagNanos / 1_000.0, maxLagNanos / 1_000.0,
+                complete ? "" : String.format("%n  incomplete: not every message was handled before the timeout"));
+        return latency == null ? summary : summary + System.lineSeparator() + latency.format();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.metrics.RoundTripReport;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Destination that TraceReplayer feeds captured messages into.
+ *
+ * Notes:
+ * - send() is called from the single replay thread, in trace order
+ * - Latency is measured from the moment a record is sent until the target has handled it
+ *   (delivered to a player, or answered by a remote responder)
+ */
+public interface ReplayTarget extends AutoCloseable {
+
+    /**
+     * Sends one captured message.
+     *
+     * @param record captured message
+     * @throws IOException if the message cannot be sent
+     */
+    void send(TraceRecord record) throws IOException;
+
+    /**
+     * Waits until every message sent so far has been handled.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true if all messages were handled before the deadline
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Returns the latency statistics of the handled messages.
+     *
+     * @return latency report, or null if nothing was handled
+     */
+    RoundTripReport latencyReport();
+
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,98 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.PlayerMessageRouter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a trace into a router in this JVM (same-process mode).
+ *
+ * Responsibilities:
+ * - Registers a sink player for every receiver named in the trace, on first use
+ * - Publishes each record as a new message from the captured sender
+ * - Records the delivery latency of every message
+ *
+ * Notes:
+ * - Sinks never reply: the replies of the original run are part of the trace and replayed as well
+ * - Works with every router; asynchronous routers deliver on their own threads, so the recorder is guarded by a lock
+ */
+public class RouterReplayTarget implements ReplayTarget {
+
+    private final PlayerMessageRouter router;
+    private final RoundTripRecorder latencies;
+    private final LongAdder delivered = new LongAdder();
+    private final List<Player> sinks = new ArrayList<>();
+    private long sent;
+
+    /**
+     * Creates a target that publishes to the given router.
+     *
+     * @param router         router under test
+     * @param maxLatencies   number of latency samples to keep; later samples are counted as overflow
+     */
+    public RouterReplayTarget(PlayerMessageRouter router, int maxLatencies) {
+        this.router = router;
+        this.latencies = new RoundTripRecorder(maxLatencies);
+    }
+
+    @Override
+    public void send(TraceRecord record) {
+        if (!router.hasPlayer(record.getReceiver())) {
+            Player sink = new Player(record.getReceiver(), router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    long now = System.nanoTime();
+                    synchronized (latencies) {
+                        latencies.record(message.getTimestampNanos(), now);
+                    }
+                    delivered.increment();
+                }
+            };
+            router.registerPlayer(sink);
+            sinks.add(sink);
+        }
+        router.publishMessage(record.toMessage());
+        sent++;
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (delivered.sum() < sent) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    public long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    @Override
+    public RoundTripReport latencyReport() {
+        synchronized (latencies) {
+            return latencies.report();
+        }
+    }
+
+    /**
+     * Unregisters the sink players. The router itself is left running.
+     */
+    @Override
+    public void close() {
+        for (Player sink : sinks) {
+            router.unregisterPlayer(sink);
+        }
+        sinks.clear();
+    }
+}
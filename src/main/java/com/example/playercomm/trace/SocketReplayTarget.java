@@ -0,0 +1,137 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.metrics.RoundTripRecorder;
+import com.example.playercomm.metrics.RoundTripReport;
+import com.example.playercomm.transport.line.LineConnection;
+import com.example.playercomm.transport.line.LineConnections;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a trace against a responder in another process (separate-process mode).
+ *
+ * Responsibilities:
+ * - Connects to the responder like an initiator and writes the content of each record as a line
+ * - Reads the replies on a separate thread, so sending keeps to the trace's schedule
+ *   instead of waiting for each reply
+ * - Records the round-trip time of every message
+ *
+ * Notes:
+ * - The responder answers lines in order, so the n-th reply belongs to the n-th line sent
+ * - At most MAX_IN_FLIGHT lines are outstanding; beyond that, send() waits for replies
+ * - Heartbeats follow the "playercomm.heartbeat.ms" and "playercomm.read.timeout.ms" system properties
+ */
+public class SocketReplayTarget implements ReplayTarget {
+
+    static final int MAX_IN_FLIGHT = 1 << 16;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    private final Socket socket;
+    private final LineConnection connection;
+    private final AtomicLongArray sendTimes = new AtomicLongArray(MAX_IN_FLIGHT);
+    private final RoundTripRecorder roundTrips;
+    private final Thread replyReader;
+
+    private long sent;
+    private volatile long received;
+    private volatile boolean disconnected;
+
+    /**
+     * Connects to a responder.
+     *
+     * @param host           responder host
+     * @param port           responder port
+     * @param maxLatencies   number of round-trip samples to keep; later samples are counted as overflow
+     * @throws IOException if the connection cannot be established
+     */
+    public SocketReplayTarget(String host, int port, int maxLatencies) throws IOException {
+        this.roundTrips = new RoundTripRecorder(maxLatencies);
+        this.socket = SocketChannel.open(new InetSocketAddress(host, port)).socket();
+        this.connection = LineConnections.withHeartbeatsFromSystemProperties(LineConnections.open(socket, null));
+        this.replyReader = new Thread(this::readReplies, "replay-reply-reader");
+        this.replyReader.setDaemon(true);
+        this.replyReader.start();
+    }
+
+    @Override
+    public void send(TraceRecord record) throws IOException {
+        while (sent - received >= MAX_IN_FLIGHT) {
+            if (disconnected) {
+                throw new IOException("Responder closed the connection");
+            }
+            LockSupport.parkNanos(10_000);
+        }
+        String content = record.getContent();
+        sendTimes.set((int) (sent & (MAX_IN_FLIGHT - 1)), System.nanoTime());
+        connection.writeLine(content == null ? "" : content);
+        sent++;
+    }
+
+    private void readReplies() {
+        try {
+            while (connection.readLine() != null) {
+                long now = System.nanoTime();
+                long index = received;
+                roundTrips.record(sendTimes.get((int) (index & (MAX_IN_FLIGHT - 1))), now);
+                received = index + 1;
+            }
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                System.err.println("[Replay] Lost connection to responder: " + e.getMessage());
+            }
+        } finally {
+            disconnected = true;
+        }
+    }
+
+    @Override
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (received < sent && !disconnected) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return received >= sent;
+    }
+
+    public long getReceivedCount() {
+        return received;
+    }
+
+    /**
+     * Returns the round-trip statistics. Only consistent once awaitCompletion() or close() has returned.
+     *
+     * @return round-trip report, or null if no reply was received
+     */
+    @Override
+    public RoundTripReport latencyReport() {
+        return roundTrips.report();
+    }
+
+    /**
+     * Closes the sending side first, so that the responder finishes and closes its side,
+     * which ends the reply reader. Falls back to closing the socket after CLOSE_TIMEOUT_MILLIS.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!socket.isOutputShutdown()) {
+                socket.shutdownOutput();
+            }
+            replyReader.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.model.MessagePriority;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a trace written by TraceWriter, one record at a time.
+ *
+ * Notes:
+ * - Not thread-safe; intended for the single thread driving a replay
+ * - Records are decoded lazily, so traces larger than the heap can be replayed
+ */
+public class TraceReader implements AutoCloseable {
+
+    private static final MessagePriority[] PRIORITIES = MessagePriority.values();
+
+    private final DataInputStream in;
+    private final List<String> names = new ArrayList<>();
+    private final long startEpochMicros;
+    private long offsetMicros;
+
+    /**
+     * Creates a reader and validates the trace header.
+     *
+     * @param in source stream; closed together with this reader
+     * @throws IOException if the stream is not a trace of a supported version
+     */
+    public TraceReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        byte[] magic = new byte[TraceWriter.MAGIC.length];
+        try {
+            this.in.readFully(magic);
+            if (!Arrays.equals(magic, TraceWriter.MAGIC)) {
+                throw new IOException("Not a message trace");
+            }
+            int version = this.in.readUnsignedByte();
+            if (version != TraceWriter.VERSION) {
+                throw new IOException("Unsupported trace version: " + version);
+            }
+            this.startEpochMicros = this.in.readLong();
+        } catch (EOFException e) {
+            throw new IOException("Not a message trace", e);
+        }
+    }
+
+    /**
+     * Opens a trace file.
+     *
+     * @param file trace file
+     * @return reader positioned at the first record
+     * @throws IOException if the file cannot be opened or is not a trace
+     */
+    public static TraceReader open(Path file) throws IOException {
+        return new TraceReader(Files.newInputStream(file));
+    }
+
+    /**
+     * Returns the wall-clock time at which the capture started.
+     *
+     * @return capture start in epoch microseconds
+     */
+    public long getStartEpochMicros() {
+        return startEpochMicros;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return next record, or null at the end of the trace
+     * @throws EOFException if the trace ends in the middle of a record
+     * @throws IOException  if the trace cannot be read or is corrupt
+     */
+    public TraceRecord read() throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        offsetMicros += readVarLong(first);
+        String sender = readName();
+        String receiver = readName();
+        int priority = in.readUnsignedByte();
+        if (priority >= PRIORITIES.length) {
+            throw new IOException("Corrupt trace: unknown priority " + priority);
+        }
+        long length = readVarLong(in.readUnsignedByte());
+        String content = length == 0 ? null : readString(length - 1);
+        return new TraceRecord(offsetMicros, sender, receiver, content, PRIORITIES[priority]);
+    }
+
+    private String readName() throws IOException {
+        long index = readVarLong(in.readUnsignedByte());
+        if (index < names.size()) {
+            return names.get((int) index);
+        }
+        if (index != names.size()) {
+            throw new IOException("Corrupt trace: unknown name reference " + index);
+        }
+        String name = readString(readVarLong(in.readUnsignedByte()));
+        if (names.size() < TraceWriter.MAX_NAMES) {
+            names.add(name);
+        }
+        return name;
+    }
+
+    private String readString(long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt trace: string of " + length + " bytes");
+        }
+        byte[] bytes = new byte[(int) length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes an unsigned LEB128 varint whose first byte has already been read.
+     */
+    private long readVarLong(int first) throws IOException {
+        long value = first & 0x7F;
+        int shift = 7;
+        int b = first;
+        while ((b & 0x80) != 0) {
+            if (shift > 63) {
+                throw new IOException("Corrupt trace: varint too long");
+            }
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
+
+/**
+ * One captured message together with the time it arrived, relative to the start of the capture.
+ */
+public final class TraceRecord {
+
+    private final long offsetMicros;
+    private final String sender;
+    private final String receiver;
+    private final String content;
+    private final MessagePriority priority;
+
+    public TraceRecord(long offsetMicros, String sender, String receiver, String content, MessagePriority priority) {
+        this.offsetMicros = offsetMicros;
+        this.sender = sender;
+        this.receiver = receiver;
+        this.content = content;
+        this.priority = priority;
+    }
+
+    /**
+     * Returns when the message arrived, measured from the start of the capture.
+     *
+     * @return arrival time in microseconds
+     */
+    public long getOffsetMicros() {
+        return offsetMicros;
+    }
+
+    public String getSender() {
+        return sender;
+    }
+
+    public String getReceiver() {
+        return receiver;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public MessagePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Creates a new message with the captured sender, receiver, content and priority.
+     *
+     * @return message stamped with the current time
+     */
+    public Message toMessage() {
+        return new Message(sender, receiver, content, priority);
+    }
+
+    @Override
+    public String toString() {
+        return "+" + offsetMicros + "us " + sender + " -> " + receiver + " (" + priority + "): " + content;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.playercomm.trace;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds a captured trace into a ReplayTarget, keeping the captured inter-arrival times.
+ *
+ * Responsibilities:
+ * - Replays at the original speed (1.0), N times faster (N), or as fast as possible (MAX_SPEED)
+ * - Schedules every record against the start of the replay rather than the previous record,
+ *   so that a late record does not push back all the records after it
+ * - Measures how far sending falls behind the schedule
+ *
+ * Notes:
+ * - Idle time before the first record is skipped
+ * - Long gaps are parked; the last SPIN_THRESHOLD_NANOS before a record are spun,
+ *   because parking overshoots by tens of microseconds
+ */
+public class TraceReplayer {
+
+    /**
+     * Speed that replays records back to back, ignoring the captured timing.
+     */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+
+    private final double speed;
+
+    /**
+     * Creates a replayer.
+     *
+     * @param speed speed-up factor: 1.0 replays in real time, 2.0 twice as fast, MAX_SPEED without pauses
+     */
+    public TraceReplayer(double speed) {
+        if (!(speed > 0)) {
+            throw new IllegalArgumentException("Speed must be positive: " + speed);
+        }
+        this.speed = speed;
+    }
+
+    /**
+     * Parses a speed given as "max", "10x" or "2.5".
+     *
+     * @param text speed text
+     * @return speed-up factor
+     */
+    public static double parseSpeed(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        if (value.equals("max")) {
+            return MAX_SPEED;
+        }
+        if (value.endsWith("x")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Double.parseDouble(value);
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Replays every record of the trace, then waits for the target to handle them.
+     *
+     * @param reader            trace to replay
+     * @param target            destination of the messages
+     * @param completionTimeout maximum time to wait for the target after the last record was sent
+     * @param unit              unit of the timeout
+     * @return replay statistics
+     * @throws IOException          if the trace cannot be read or a message cannot be sent
+     * @throws InterruptedException if interrupted while pacing or waiting for completion
+     */
+    public ReplayReport replay(TraceReader reader, ReplayTarget target, long completionTimeout, TimeUnit unit)
+            throws IOException, InterruptedException {
+        boolean paced = speed != MAX_SPEED;
+        long records = 0;
+        long firstOffsetMicros = 0;
+        long lastOffsetMicros = 0;
+        long maxLagNanos = 0;
+        long totalLagNanos = 0;
+        long start = System.nanoTime();
+
+        TraceRecord record;
+        while ((record = reader.read()) != null) {
+            if (records == 0) {
+                firstOffsetMicros = record.getOffsetMicros();
+            }
+            lastOffsetMicros = record.getOffsetMicros();
+            if (paced) {
+                long due = start + (long) ((lastOffsetMicros - firstOffsetMicros) * 1_000.0 / speed);
+                long lag = awaitDue(due);
+                maxLagNanos = Math.max(maxLagNanos, lag);
+                totalLagNanos += lag;
+            }
+            target.send(record);
+            records++;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean complete = target.awaitCompletion(completionTimeout, unit);
+        return new ReplayReport(records, lastOffsetMicros - firstOffsetMicros, elapsed, maxLagNanos,
+                records > 0 ? totalLagNanos / (double) records : 0.0, complete, target.latencyReport());
+    }
+
+    /**
+     * Waits until the given time.
+     *
+     * @param due time from System.nanoTime() at which the next record is due
+     * @return how late the wait ended, in nanoseconds
+     */
+    private static long awaitDue(long due) throws InterruptedException {
+        long remaining = due - System.nanoTime();
+        while (remaining > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            remaining = due - System.nanoTime();
+        }
+        while (remaining > 0) {
+            Thread.onSpinWait();
+            remaining = due - System.nanoTime();
+        }
+        return -remaining;
+    }
+}
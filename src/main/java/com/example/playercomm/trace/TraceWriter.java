@@ -0,0 +1,220 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Captures messages into a compact binary trace that TraceReplayer can feed back in later.
+ *
+ * Format:
+ * - Header: magic "PCTR", one version byte, capture start as epoch microseconds (8 bytes)
+ * - Per record: varint time since the previous record in microseconds, sender reference,
+ *   receiver reference, priority byte, varint content length + 1 (0 for null content), UTF-8 content
+ * - A name reference is a varint index into the dictionary of names seen so far; the index
+ *   equal to the dictionary size means a new name follows as varint length + UTF-8 bytes
+ *
+ * Notes:
+ * - Thread-safe; records are appended under a lock in arrival order, so offsets never go backwards
+ * - Capture must never break message delivery: the first I/O error is reported on System.err,
+ *   after which records are counted as dropped
+ * - The dictionary holds at most MAX_NAMES entries; further names are written inline every time
+ * - Enabled in the communication handlers by the "playercomm.trace.file" system property
+ */
+public class TraceWriter implements AutoCloseable {
+
+    /**
+     * System property naming the file that the communication handlers capture traffic into.
+     */
+    public static final String FILE_PROPERTY = "playercomm.trace.file";
+
+    static final byte[] MAGIC = {'P', 'C', 'T', 'R'};
+    static final int VERSION = 1;
+    static final int MAX_NAMES = 1 << 16;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> names = new HashMap<>();
+    private final long startNanos;
+    private long lastMicros;
+    private long written;
+    private long dropped;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * Creates a writer and writes the trace header.
+     *
+     * @param out destination stream; closed together with this writer
+     * @throws IOException if the header cannot be written
+     */
+    public TraceWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.startNanos = System.nanoTime();
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeLong(System.currentTimeMillis() * 1_000L);
+    }
+
+    /**
+     * Creates (or truncates) a trace file.
+     *
+     * @param file trace file
+     * @return writer appending to the file
+     * @throws IOException if the file cannot be created
+     */
+    public static TraceWriter open(Path file) throws IOException {
+        return new TraceWriter(Files.newOutputStream(file));
+    }
+
+    /**
+     * Opens the trace file named by the "playercomm.trace.file" system property.
+     * A qualifier such as a player role is inserted before the file extension,
+     * so that two processes started with the same property write separate files.
+     *
+     * @param qualifier suffix for the file name, or null to use the name as given
+     * @return writer, or null if tracing is disabled or the file cannot be created
+     */
+    public static TraceWriter fromSystemProperty(String qualifier) {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        Path path = Path.of(qualify(file.trim(), qualifier));
+        try {
+            TraceWriter writer = open(path);
+            System.out.println("[Trace] Capturing messages to " + path);
+            return writer;
+        } catch (IOException e) {
+            System.err.println("[Trace] Cannot create " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    static String qualify(String file, String qualifier) {
+        if (qualifier == null) {
+            return file;
+        }
+        int dot = file.lastIndexOf('.');
+        int separator = Math.max(file.lastIndexOf('/'), file.lastIndexOf('\\'));
+        if (dot <= separator + 1) {
+            return file + "-" + qualifier;
+        }
+        return file.substring(0, dot) + "-" + qualifier + file.substring(dot);
+    }
+
+    /**
+     * Appends a message to the trace, timestamped with the current time.
+     *
+     * @param message message to capture
+     */
+    public void record(Message message) {
+        record(message.getSender(), message.getReceiver(), message.getContent(), message.getPriority());
+    }
+
+    /**
+     * Appends a message to the trace, timestamped with the current time.
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     * @param content  message content
+     * @param priority message priority
+     */
+    public synchronized void record(String sender, String receiver, String content, MessagePriority priority) {
+        if (failed || closed) {
+            dropped++;
+            return;
+        }
+        long micros = (System.nanoTime() - startNanos) / 1_000L;
+        try {
+            writeVarLong(micros - lastMicros);
+            writeName(sender);
+            writeName(receiver);
+            out.writeByte(priority.ordinal());
+            if (content == null) {
+                writeVarLong(0);
+            } else {
+                byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(bytes.length + 1L);
+                out.write(bytes);
+            }
+            lastMicros = micros;
+            written++;
+        } catch (IOException e) {
+            failed = true;
+            dropped++;
+            System.err.println("[Trace] Capture stopped: " + e.getMessage());
+        }
+    }
+
+    private void writeName(String name) throws IOException {
+        Integer index = names.get(name);
+        if (index != null) {
+            writeVarLong(index);
+            return;
+        }
+        writeVarLong(names.size());
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        out.write(bytes);
+        if (names.size() < MAX_NAMES) {
+            names.put(name, names.size());
+        }
+    }
+
+    /**
+     * Writes an unsigned LEB128 varint: seven bits per byte, high bit set on all but the last byte.
+     */
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Returns the number of records written so far.
+     *
+     * @return written record count
+     */
+    public synchronized long getRecordCount() {
+        return written;
+    }
+
+    /**
+     * Returns the number of records lost after an I/O error or after close().
+     *
+     * @return dropped record count
+     */
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Writes buffered records to the underlying stream.
+     */
+    public synchronized void flush() throws IOException {
+        if (!closed) {
+            out.flush();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.playercomm.transport;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping keys (player names) to nodes (router shards).
+ *
+ * Responsibilities:
+ * - Places every node on the ring at several virtual positions for an even spread
+ * - Resolves a key to the first node clockwise from the key's hash
+ *
+ * Notes:
+ * - Adding a node only moves the keys that now hash to the new node
+ * - Instances are immutable; withNode() returns a new ring so readers never need locks
+ */
+public final class ConsistentHashRing<T> {
+
+    private final NavigableMap<Integer, T> ring;
+    private final int virtualNodes;
+
+    /**
+     * Creates an empty ring.
+     *
+     * @param virtualNodes number of ring positions per node
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        this(new TreeMap<>(), virtualNodes);
+    }
+
+    private ConsistentHashRing(NavigableMap<Integer, T> ring, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.ring = ring;
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * Returns a new ring that additionally contains the given node.
+     *
+     * @param nodeId unique, stable identifier of the node
+     * @param node   node to add
+     * @return new ring instance
+     */
+    public ConsistentHashRing<T> withNode(String nodeId, T node) {
+        TreeMap<Integer, T> copy = new TreeMap<>(ring);
+        for (int i = 0; i < virtualNodes; i++) {
+            copy.put(hash(nodeId + "#" + i), node);
+        }
+        return new ConsistentHashRing<>(copy, virtualNodes);
+    }
+
+    /**
+     * Resolves the node responsible for the given key.
+     *
+     * @param key key to look up
+     * @return owning node, or null if the ring is empty
+     */
+    public T nodeFor(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Integer, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a hash followed by a murmur-style finalizer, so similar names spread across the ring.
+     */
+    static int hash(String key) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
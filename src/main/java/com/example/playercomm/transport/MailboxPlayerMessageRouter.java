@@ -0,0 +1,161 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.deadletter.DeadLetterReason;
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.idle.ParkingIdleStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlayerMessageRouter that gives every registered player its own mailbox and delivery thread.
+ *
+ * Responsibilities:
+ * - Queues published messages in the receiver's mailbox instead of calling it directly
+ * - Delivers each player's messages on that player's thread, higher priorities first
+ *   and in order within a priority
+ * - Lets the mailbox threads block (park) or busy-poll, depending on the IdleStrategy
+ * - Drains mailboxes within a deadline when a player is unregistered or the router shuts down
+ *
+ * Notes:
+ * - Delivery is asynchronous: publishMessage returns once the message is queued
+ * - Messages for unknown receivers take the regular PlayerMessageRouter path
+ */
+public class MailboxPlayerMessageRouter extends PlayerMessageRouter implements AutoCloseable {
+
+    private final Map<String, PlayerMailbox> mailboxes = new ConcurrentHashMap<>();
+    private final IdleStrategy idleStrategy;
+
+    /**
+     * Creates a router whose mailbox threads block until a message arrives.
+     */
+    public MailboxPlayerMessageRouter() {
+        this(new ParkingIdleStrategy());
+    }
+
+    /**
+     * Creates a router whose mailbox threads wait using the given strategy.
+     *
+     * @param idleStrategy template strategy; each mailbox thread gets its own copy
+     */
+    public MailboxPlayerMessageRouter(IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
+    @Override
+    public void registerPlayer(Player player) {
+        super.registerPlayer(player);
+        PlayerMailbox mailbox = new PlayerMailbox(player.getName(), message -> deliverTo(player, message),
+                idleStrategy.copy());
+        PlayerMailbox previous = mailboxes.put(player.getName(), mailbox);
+        mailbox.start();
+        if (previous != null) {
+            previous.stop(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DEFAULT_DRAIN_TIMEOUT_MILLIS), this::expired);
+        }
+    }
+
+    /**
+     * Unregisters the player after delivering the messages already queued for it,
+     * waiting at most DEFAULT_DRAIN_TIMEOUT_MILLIS.
+     *
+     * @param player Player instance to unregister
+     */
+    @Override
+    public void unregisterPlayer(Player player) {
+        unregisterPlayer(player, DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Unregisters the player right away, so that new messages for it are no longer accepted,
+     * then delivers the messages already queued for it until the deadline passes.
+     *
+     * @param player  Player instance to unregister
+     * @param timeout maximum time to wait for queued messages
+     * @param unit    unit of the timeout
+     * @return number of queued messages discarded at the deadline
+     */
+    @Override
+    public int unregisterPlayer(Player player, long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        super.unregisterPlayer(player);
+        if (player == null || player.getName() == null) {
+            return 0;
+        }
+        PlayerMailbox mailbox = mailboxes.remove(player.getName());
+        int dropped = mailbox != null ? mailbox.stop(deadline, this::expired) : 0;
+        CommunicationMetrics.SHUTDOWN_DROPS.add(dropped);
+        return dropped;
+    }
+
+    /**
+     * Queues the message in the receiver's mailbox.
+     *
+     * @param message Message object containing sender, receiver, and content
+     */
+    @Override
+    protected void route(Message message) {
+        if (isShuttingDown()) {
+            reject(message);
+            return;
+        }
+        PlayerMailbox mailbox = mailboxes.get(message.getReceiver());
+        if (mailbox == null) {
+            super.route(message);
+        } else if (!mailbox.offer(message)) {
+            // The receiver is being unregistered
+            reject(message);
+        }
+    }
+
+    /**
+     * Stops accepting messages, lets every mailbox thread drain its queue until the deadline,
+     * then discards the messages that are still queued.
+     *
+     * @param timeout maximum time to spend draining queued messages
+     * @param unit    unit of the timeout
+     * @return delivered, dropped and rejected message counts
+     */
+    @Override
+    public ShutdownReport shutdown(long timeout, TimeUnit unit) {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        beginShutdown();
+
+        List<PlayerMailbox> stopping = new ArrayList<>(mailboxes.values());
+        long deliveredBefore = 0;
+        for (PlayerMailbox mailbox : stopping) {
+            deliveredBefore += mailbox.getDeliveredCount();
+            mailbox.requestStop();
+        }
+        long dropped = 0;
+        long deliveredAfter = 0;
+        for (PlayerMailbox mailbox : stopping) {
+            mailbox.awaitStop(deadline);
+            dropped += mailbox.close(this::expired);
+            deliveredAfter += mailbox.getDeliveredCount();
+        }
+        mailboxes.clear();
+        CommunicationMetrics.SHUTDOWN_DROPS.add(dropped);
+        getDeadLetterHandler().flush();
+        return new ShutdownReport(deliveredAfter - deliveredBefore, dropped, getRejectedCount(),
+                System.nanoTime() - start);
+    }
+
+    private void expired(Message message) {
+        deadLetter(message, DeadLetterReason.EXPIRED, null);
+    }
+
+    /**
+     * Shuts the router down, draining mailboxes for at most DEFAULT_DRAIN_TIMEOUT_MILLIS.
+     */
+    @Override
+    public void close() {
+        shutdown(DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.idle.IdleStrategy;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Single-consumer mailbox with a dedicated delivery thread.
+ *
+ * Responsibilities:
+ * - Accepts messages from any thread through lock-free queues, one per MessagePriority
+ * - Delivers them on its own thread, higher priorities first (see PriorityLanes);
+ *   messages of the same priority are delivered in order
+ * - Waits for new messages using a configurable IdleStrategy (blocking park or busy-poll)
+ * - Drains queued messages on stop, discarding whatever is left once a deadline passes
+ *
+ * Notes:
+ * - Producers only unpark the consumer when it announced that it is idling,
+ *   so busy-polling consumers cost producers a single volatile read
+ * - A producer that races with close() checks the flag again after queuing and takes its
+ *   message back if close() may have missed it, so every message is either delivered,
+ *   discarded by close() or turned down by offer()
+ */
+class PlayerMailbox implements Runnable {
+
+    private final PriorityLanes<Message> lanes = new PriorityLanes<>();
+    private final Consumer<Message> delivery;
+    private final IdleStrategy idleStrategy;
+    private final Thread thread;
+    private final LongAdder delivered = new LongAdder();
+
+    private volatile boolean running = true;
+    private volatile boolean closed;
+    private volatile boolean idling;
+
+    PlayerMailbox(String playerName, Consumer<Message> delivery, IdleStrategy idleStrategy) {
+        this.delivery = delivery;
+        this.idleStrategy = idleStrategy;
+        this.thread = new RouterThread(this, "mailbox-" + playerName);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a message for delivery.
+     *
+     * @param message message to deliver
+     * @return false if the mailbox has been closed and the message was not queued
+     */
+    boolean offer(Message message) {
+        if (closed) {
+            return false;
+        }
+        lanes.offer(message.getPriority(), message);
+        if (idling) {
+            LockSupport.unpark(thread);
+        }
+        if (closed && lanes.remove(message.getPriority(), message)) {
+            // close() drained the lanes before the message was queued
+            return false;
+        }
+        return true;
+    }
+
+    long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    @Override
+    public void run() {
+        while (running || !lanes.isEmpty()) {
+            Message message = lanes.poll();
+            if (message != null) {
+                idleStrategy.reset();
+                delivery.accept(message);
+                delivered.increment();
+                continue;
+            }
+            idling = true;
+            if (lanes.isEmpty() && running) {
+                idleStrategy.idle();
+            }
+            idling = false;
+        }
+    }
+
+    /**
+     * Stops the delivery thread once the queued messages have been delivered,
+     * waiting at most until the deadline. When called from the delivery thread itself,
+     * the thread keeps draining after the caller returns and nothing is discarded.
+     *
+     * @param deadlineNanos System.nanoTime() value after which pending messages are discarded
+     * @param discarded     receives each discarded message
+     * @return number of discarded messages
+     */
+    int stop(long deadlineNanos, Consumer<Message> discarded) {
+        requestStop();
+        if (Thread.currentThread() == thread) {
+            return 0;
+        }
+        awaitStop(deadlineNanos);
+        return close(discarded);
+    }
+
+    /**
+     * Signals the delivery thread to stop once the queue is empty.
+     */
+    void requestStop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the delivery thread to finish, at most until the deadline.
+     * Returns immediately when called from the delivery thread itself.
+     *
+     * @param deadlineNanos System.nanoTime() value to give up at
+     * @return true if the delivery thread has finished
+     */
+    boolean awaitStop(long deadlineNanos) {
+        if (Thread.currentThread() == thread) {
+            return false;
+        }
+        try {
+            long remaining = deadlineNanos - System.nanoTime();
+            return !thread.isAlive() || (remaining > 0 && thread.join(Duration.ofNanos(remaining)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Rejects further messages and discards those still queued.
+     *
+     * @param discarded receives each discarded message
+     * @return number of discarded messages
+     */
+    int close(Consumer<Message> discarded) {
+        closed = true;
+        running = false;
+        return lanes.drainTo(discarded);
+    }
+}
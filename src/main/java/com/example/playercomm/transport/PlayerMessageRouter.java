@@ -1,10 +1,22 @@
 package com.example.playercomm.transport;
 
 import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.CommunicationMetrics;
 import com.example.playercomm.model.Message;
+import com.example.playercomm.trace.TraceWriter;
+import com.example.playercomm.transport.deadletter.DeadLetterHandler;
+import com.example.playercomm.transport.deadletter.DeadLetterReason;
+import com.example.playercomm.transport.deadletter.ReportingDeadLetterHandler;
+import com.example.playercomm.transport.ratelimit.RateLimitPolicy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Minimal pub-sub message router for Players.
@@ -15,12 +27,33 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * Notes:
  * - Thread-safe using ConcurrentHashMap
+ * - Reports registrations, routed messages, drops and failures to CommunicationMetrics
+ * - Hands undeliverable messages to a pluggable DeadLetterHandler and counts failures per receiver
+ * - Keeps delivery to a registry lookup plus a call; all error handling lives in cold-path methods
+ * - shutdown() stops accepting new messages; asynchronous subclasses also drain their queues
+ * - Optionally enforces per-sender and per-receiver rate limits (see RateLimiter) before routing;
+ *   without a limiter the check is a single null test
+ * - Never parks a RouterThread for a rate limit: on mailbox, shard and bridge threads the DELAY
+ *   policy rejects instead, so one slow sender cannot stall the deliveries queued behind it
+ * - Optionally captures every message that passes the rate limits into a TraceWriter before routing it;
+ *   subclasses override route() rather than publishMessage(), so capture happens exactly once
  * - Supports single-process communication
  * - Easily extendable for future features such as broadcasting or filtering
  */
 public class PlayerMessageRouter {
 
+    /**
+     * Drain deadline used by unregisterPlayer(Player), Player.shutdown() and the close() methods of subclasses.
+     */
+    public static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = 5_000;
+
     private final Map<String, Player> playerRegistry = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final Map<String, LongAdder> failuresByReceiver = new ConcurrentHashMap<>();
+    private volatile DeadLetterHandler deadLetterHandler = new ReportingDeadLetterHandler();
+    private volatile boolean shuttingDown;
+    private volatile TraceWriter traceWriter;
+    private volatile RateLimiter rateLimiter;
 
     /**
      * Registers a player to allow it to send and receive messages.
@@ -31,7 +64,9 @@ public class PlayerMessageRouter {
         if (player == null || player.getName() == null) {
             throw new IllegalArgumentException("Player and player name cannot be null");
         }
-        playerRegistry.put(player.getName(), player);
+        if (playerRegistry.put(player.getName(), player) == null) {
+            CommunicationMetrics.REGISTERED_PLAYERS.increment();
+        }
     }
 
     /**
@@ -41,26 +76,284 @@ public class PlayerMessageRouter {
      */
     public void unregisterPlayer(Player player) {
         if (player != null && player.getName() != null) {
-            playerRegistry.remove(player.getName());
+            if (playerRegistry.remove(player.getName()) != null) {
+                CommunicationMetrics.REGISTERED_PLAYERS.decrement();
+            }
         }
     }
 
+    /**
+     * Unregisters a player once the messages already queued for it have been delivered.
+     * Messages are delivered synchronously by this router, so nothing is ever queued.
+     *
+     * @param player  Player instance to unregister
+     * @param timeout maximum time to wait for queued messages
+     * @param unit    unit of the timeout
+     * @return number of queued messages that could not be delivered before the deadline
+     */
+    public int unregisterPlayer(Player player, long timeout, TimeUnit unit) {
+        unregisterPlayer(player);
+        return 0;
+    }
+
+    /**
+     * Checks whether a player with the given name is currently registered.
+     *
+     * @param playerName name of the player
+     * @return true if the player is registered
+     */
+    public boolean hasPlayer(String playerName) {
+        return playerRegistry.containsKey(playerName);
+    }
+
+    /**
+     * Returns a live, read-only view of the names of all registered players.
+     *
+     * @return registered player names
+     */
+    public Set<String> getPlayerNames() {
+        return Collections.unmodifiableSet(playerRegistry.keySet());
+    }
+
+    /**
+     * Returns the registered player with the given name.
+     *
+     * @param playerName name of the player
+     * @return the player, or null if no player with that name is registered
+     */
+    protected final Player getPlayer(String playerName) {
+        return playerRegistry.get(playerName);
+    }
+
     /**
      * Publishes a message from a sender to the intended receiver.
      *
      * @param message Message object containing sender, receiver, and content
      */
     public void publishMessage(Message message) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null && !permitted(limiter, message)) {
+            rateLimited(message, limiter);
+            return;
+        }
+        capture(message);
+        route(message);
+    }
+
+    private static boolean permitted(RateLimiter limiter, Message message) {
+        return RouterThread.isCurrent()
+                ? limiter.tryAcquire(message.getSender(), message.getReceiver())
+                : limiter.acquire(message.getSender(), message.getReceiver());
+    }
+
+    /**
+     * Cold path: the sender or the receiver exceeded its rate limit. The limiter has already
+     * counted the message; only rejected messages are reported as dead letters.
+     *
+     * @param message message that was not routed
+     * @param limiter limiter that turned the message down
+     */
+    private void rateLimited(Message message, RateLimiter limiter) {
+        if (limiter.getPolicy() != RateLimitPolicy.SHED) {
+            deadLetter(message, DeadLetterReason.RATE_LIMITED, null);
+        }
+    }
+
+    /**
+     * Appends a message to the trace, if capture is enabled.
+     *
+     * @param message message arriving at this router
+     */
+    protected final void capture(Message message) {
+        TraceWriter trace = traceWriter;
+        if (trace != null) {
+            trace.record(message);
+        }
+    }
+
+    /**
+     * Routes a published message to its receiver. Subclasses override this method to change how messages are routed.
+     *
+     * @param message Message object containing sender, receiver, and content
+     */
+    protected void route(Message message) {
+        if (shuttingDown) {
+            reject(message);
+            return;
+        }
+        Player receiver = playerRegistry.get(message.getReceiver());
+        if (receiver == null) {
+            unknownReceiver(message);
+            return;
+        }
+        deliverTo(receiver, message);
+    }
+
+    /**
+     * Hands a message to its receiver and records the outcome.
+     * The try block costs nothing unless the receiver throws; the handling itself is kept
+     * out of line in deliveryFailed() so that this method stays small enough to inline.
+     *
+     * @param receiver player the message is delivered to
+     * @param message  message to deliver
+     */
+    protected void deliverTo(Player receiver, Message message) {
         try {
-            Player receiver = playerRegistry.get(message.getReceiver());
-            if (receiver != null) {
-                receiver.receiveMessage(message);
-            } else {
-                System.out.println("[" + message.getSender() + "] attempted to send message to unknown player: " + message.getReceiver());
-            }
+            receiver.receiveMessage(message);
         } catch (Exception e) {
-            System.err.println("Error delivering message from " + message.getSender() + " to " + message.getReceiver());
-            e.printStackTrace();
+            deliveryFailed(message, e);
+            return;
+        }
+        CommunicationMetrics.MESSAGES_ROUTED.increment();
+        CommunicationMetrics.DELIVERY_LATENCY.record(message.getAgeNanos());
+    }
+
+    /**
+     * Cold path: the receiver is not registered.
+     *
+     * @param message undeliverable message
+     */
+    protected final void unknownReceiver(Message message) {
+        CommunicationMetrics.UNKNOWN_RECEIVER_DROPS.increment();
+        deadLetter(message, DeadLetterReason.UNKNOWN_RECEIVER, null);
+    }
+
+    /**
+     * Cold path: the receiver threw while handling the message.
+     *
+     * @param message undeliverable message
+     * @param cause   exception thrown by the receiver
+     */
+    private void deliveryFailed(Message message, Exception cause) {
+        CommunicationMetrics.DELIVERY_EXCEPTIONS.increment();
+        failuresByReceiver.computeIfAbsent(message.getReceiver(), name -> new LongAdder()).increment();
+        deadLetter(message, DeadLetterReason.DELIVERY_FAILED, cause);
+    }
+
+    /**
+     * Passes an undeliverable message to the dead-letter handler. A handler that throws
+     * must not break the delivering thread, so its exceptions are swallowed here.
+     *
+     * @param message undeliverable message
+     * @param reason  why the message was not delivered
+     * @param cause   exception thrown by the receiver, or null
+     */
+    protected final void deadLetter(Message message, DeadLetterReason reason, Throwable cause) {
+        try {
+            deadLetterHandler.onDeadLetter(message, reason, cause);
+        } catch (RuntimeException ignored) {
+            // Dead letters are best effort
+        }
+    }
+
+    /**
+     * Replaces the handler that receives undeliverable messages.
+     *
+     * @param deadLetterHandler new handler
+     */
+    public void setDeadLetterHandler(DeadLetterHandler deadLetterHandler) {
+        if (deadLetterHandler == null) {
+            throw new IllegalArgumentException("Dead letter handler cannot be null");
         }
+        this.deadLetterHandler = deadLetterHandler;
+    }
+
+    public DeadLetterHandler getDeadLetterHandler() {
+        return deadLetterHandler;
+    }
+
+    /**
+     * Starts or stops capturing published messages. The writer is not closed by the router.
+     *
+     * @param traceWriter trace to append to, or null to stop capturing
+     */
+    public void setTraceWriter(TraceWriter traceWriter) {
+        this.traceWriter = traceWriter;
+    }
+
+    public TraceWriter getTraceWriter() {
+        return traceWriter;
+    }
+
+    /**
+     * Starts or stops enforcing rate limits on published messages.
+     *
+     * @param rateLimiter limits to enforce, or null to route every message
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Returns how many deliveries to the given receiver have thrown an exception.
+     *
+     * @param receiverName receiver name
+     * @return number of failed deliveries
+     */
+    public long getFailureCount(String receiverName) {
+        LongAdder failures = failuresByReceiver.get(receiverName);
+        return failures == null ? 0 : failures.sum();
+    }
+
+    /**
+     * Returns a snapshot of the failed delivery counts of every receiver that has failed at least once.
+     *
+     * @return failed deliveries by receiver name
+     */
+    public Map<String, Long> getFailureCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        failuresByReceiver.forEach((name, failures) -> counts.put(name, failures.sum()));
+        return counts;
+    }
+
+    /**
+     * Stops accepting new messages. Messages published afterwards are rejected and counted.
+     * Subclasses that queue messages also drain their queues until the deadline passes and
+     * discard what is left.
+     *
+     * @param timeout maximum time to spend draining queued messages
+     * @param unit    unit of the timeout
+     * @return delivered, dropped and rejected message counts
+     */
+    public ShutdownReport shutdown(long timeout, TimeUnit unit) {
+        long start = System.nanoTime();
+        beginShutdown();
+        deadLetterHandler.flush();
+        return new ShutdownReport(0, 0, getRejectedCount(), System.nanoTime() - start);
+    }
+
+    /**
+     * Marks this router as shutting down, so that publishMessage rejects new messages.
+     */
+    protected final void beginShutdown() {
+        shuttingDown = true;
+    }
+
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    /**
+     * Counts a message that was published after shutdown began and hands it to the dead-letter handler.
+     *
+     * @param message rejected message
+     */
+    protected final void reject(Message message) {
+        rejected.increment();
+        CommunicationMetrics.SHUTDOWN_DROPS.increment();
+        deadLetter(message, DeadLetterReason.REJECTED, null);
+    }
+
+    /**
+     * Returns the number of messages rejected since shutdown began.
+     *
+     * @return rejected message count
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
     }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.model.MessagePriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * One lock-free FIFO queue per MessagePriority, drained by a weighted round-robin scheduler.
+ *
+ * Responsibilities:
+ * - Accepts items from any thread into the lane of their priority
+ * - Serves lanes in priority order; each lane may be served up to its weight per round
+ * - Starts a new round once every non-empty lane has used up its credit
+ *
+ * Notes:
+ * - poll() must only be called by a single consumer thread; offer() is safe from any thread
+ * - Lower lanes still get weight / (sum of weights) of the turns when all lanes are busy. The price is
+ *   a bounded wait for higher lanes: once a lane has used its credit for the round, its next item waits
+ *   until the busy lower lanes have used theirs, i.e. behind at most the sum of the lower weights
+ *   (4 INTERACTIVE and 1 BULK item for CONTROL), plus the item already being processed
+ */
+public final class PriorityLanes<T> {
+
+    private static final MessagePriority[] PRIORITIES = MessagePriority.values();
+
+    private final List<Queue<T>> lanes = new ArrayList<>(PRIORITIES.length);
+    private final int[] credits = new int[PRIORITIES.length];
+
+    public PriorityLanes() {
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes.add(new ConcurrentLinkedQueue<>());
+        }
+        refill();
+    }
+
+    /**
+     * Adds an item to the lane of the given priority.
+     *
+     * @param priority lane to add to
+     * @param item     item to add
+     */
+    public void offer(MessagePriority priority, T item) {
+        lanes.get(priority.ordinal()).offer(item);
+    }
+
+    /**
+     * Removes a specific item from the lane of the given priority. Safe to call concurrently with the consumer.
+     *
+     * @param priority lane the item was added to
+     * @param item     item to remove
+     * @return true if the item was still queued and has been removed
+     */
+    public boolean remove(MessagePriority priority, T item) {
+        return lanes.get(priority.ordinal()).remove(item);
+    }
+
+    /**
+     * Removes the next item according to lane priority and weights.
+     *
+     * @return next item, or null if all lanes are empty
+     */
+    public T poll() {
+        T item = pollWithCredit();
+        if (item == null) {
+            // Every non-empty lane has used its credit for this round
+            refill();
+            item = pollWithCredit();
+        }
+        return item;
+    }
+
+    public boolean isEmpty() {
+        for (Queue<T> lane : lanes) {
+            if (!lane.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all items, highest priority first. Unlike poll(), safe to call concurrently with the consumer.
+     *
+     * @param sink receives each removed item
+     * @return number of removed items
+     */
+    public int drainTo(Consumer<T> sink) {
+        int count = 0;
+        for (Queue<T> lane : lanes) {
+            T item;
+            while ((item = lane.poll()) != null) {
+                sink.accept(item);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private T pollWithCredit() {
+        for (int i = 0; i < credits.length; i++) {
+            if (credits[i] > 0) {
+                T item = lanes.get(i).poll();
+                if (item != null) {
+                    credits[i]--;
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void refill() {
+        for (int i = 0; i < credits.length; i++) {
+            credits[i] = PRIORITIES[i].getWeight();
+        }
+    }
+}
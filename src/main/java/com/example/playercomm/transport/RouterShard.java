@@ -0,0 +1,246 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single shard of the ShardedPlayerMessageRouter.
+ *
+ * Responsibilities:
+ * - Holds the players hashed to this shard and delivers to them through the owning router,
+ *   which keeps the failure counts and dead letters for all shards
+ * - Receives messages from other threads through a lock-free inbox queue
+ * - Delivers queued messages on its own dispatcher thread
+ * - Counts delivered messages for per-shard throughput reporting
+ * - Lets callers wait until everything queued so far has been delivered (see awaitDelivered)
+ *
+ * Notes:
+ * - Once asked to discard (see discardPending), the dispatcher hands the rest of its inbox to the
+ *   owner as expired instead of delivering it, so only one thread ever takes messages out of the inbox
+ * - A message queued after the dispatcher has exited is either picked up by its final sweep or taken
+ *   back by enqueue(), which then returns false; nothing is stranded in the inbox
+ */
+class RouterShard implements Runnable {
+
+    private final int index;
+    private final ShardedPlayerMessageRouter owner;
+    private final Map<String, Player> players = new ConcurrentHashMap<>();
+    private final Queue<Message> inbox = new ConcurrentLinkedQueue<>();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile boolean discarding;
+    private volatile boolean stopped;
+    private volatile boolean sleeping;
+
+    RouterShard(int index, ShardedPlayerMessageRouter owner) {
+        this.index = index;
+        this.owner = owner;
+        this.thread = new RouterThread(this, "router-shard-" + index);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    long getDeliveredCount() {
+        return delivered.sum();
+    }
+
+    long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    boolean isDispatcherThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Queues a message for delivery on this shard's dispatcher thread.
+     *
+     * @param message message whose receiver is owned by this shard
+     * @return false if the dispatcher has already exited and the message was not queued
+     */
+    boolean enqueue(Message message) {
+        inbox.offer(message);
+        if (sleeping) {
+            LockSupport.unpark(thread);
+        }
+        // The dispatcher sets stopped before its final sweep, so one of the two sees the message
+        return !(stopped && inbox.remove(message));
+    }
+
+    /**
+     * Takes the next queued message from a shard whose dispatcher was never started.
+     *
+     * @return next queued message, or null if the inbox is empty
+     */
+    Message pollUnstarted() {
+        return inbox.poll();
+    }
+
+    /**
+     * Delivers a message to a player of this shard. Must only be called on the dispatcher thread.
+     * Messages for a player that this shard no longer owns are forwarded to the shard that does.
+     *
+     * @param message message to deliver
+     */
+    void deliver(Message message) {
+        Player receiver = players.get(message.getReceiver());
+        if (receiver == null) {
+            if (owner.shardFor(message.getReceiver()) != this) {
+                owner.forward(message);
+                return;
+            }
+            owner.unknownReceiver(message);
+        } else {
+            owner.deliverTo(receiver, message);
+        }
+        delivered.increment();
+    }
+
+    @Override
+    public void run() {
+        while (running || !inbox.isEmpty()) {
+            Message message = inbox.poll();
+            if (message != null) {
+                process(message);
+                continue;
+            }
+            sleeping = true;
+            if (inbox.isEmpty() && running) {
+                LockSupport.park(this);
+            }
+            sleeping = false;
+        }
+        stopped = true;
+        // Messages queued between the last poll and the stopped flag becoming visible
+        Message message;
+        while ((message = inbox.poll()) != null) {
+            process(message);
+        }
+    }
+
+    private void process(Message message) {
+        if (message instanceof Barrier barrier) {
+            barrier.reached.countDown();
+        } else if (discarding) {
+            discarded.increment();
+            owner.expired(message);
+        } else {
+            deliver(message);
+        }
+    }
+
+    /**
+     * Signals the dispatcher to stop once its inbox has been drained.
+     */
+    void requestStop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Waits for the dispatcher thread to finish, at most until the deadline.
+     * Returns immediately when called from the dispatcher thread, which cannot wait for itself.
+     *
+     * @param deadlineNanos System.nanoTime() value to give up at
+     * @return true if the dispatcher thread has finished
+     */
+    boolean awaitStop(long deadlineNanos) {
+        if (isDispatcherThread()) {
+            return false;
+        }
+        try {
+            long remaining = deadlineNanos - System.nanoTime();
+            return !thread.isAlive() || (remaining > 0 && thread.join(Duration.ofNanos(remaining)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Waits until every message queued before this call has been delivered, at most until the deadline.
+     * Returns immediately when called from the dispatcher thread, which cannot wait for itself.
+     *
+     * @param deadlineNanos System.nanoTime() value to give up at
+     * @return true if the earlier messages have been delivered
+     */
+    boolean awaitDelivered(long deadlineNanos) {
+        if (isDispatcherThread() || !thread.isAlive()) {
+            return inbox.isEmpty();
+        }
+        Barrier barrier = new Barrier();
+        if (!enqueue(barrier)) {
+            return inbox.isEmpty();
+        }
+        try {
+            return barrier.reached.await(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Counts the queued messages addressed to a player.
+     *
+     * @param playerName receiver name
+     * @return number of queued messages for the player
+     */
+    int countPending(String playerName) {
+        int pending = 0;
+        for (Message message : inbox) {
+            if (playerName.equals(message.getReceiver())) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Makes the dispatcher discard its remaining messages instead of delivering them. The dispatcher
+     * still finishes the message it is delivering first; use awaitStop() to wait for it to exit.
+     */
+    void discardPending() {
+        discarding = true;
+        requestStop();
+    }
+
+    void register(Player player) {
+        players.put(player.getName(), player);
+    }
+
+    void unregister(Player player) {
+        players.remove(player.getName());
+    }
+
+    /**
+     * Marker queued behind pending messages; released once the dispatcher reaches it.
+     */
+    private static final class Barrier extends Message {
+
+        private final CountDownLatch reached = new CountDownLatch(1);
+
+        Barrier() {
+            super("router-shard", "router-shard");
+        }
+    }
+}
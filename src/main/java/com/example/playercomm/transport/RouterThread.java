@@ -0,0 +1,32 @@
+package com.example.playercomm.transport;
+
+/**
+ * Thread owned by a router, such as a mailbox delivery thread, a shard dispatcher or a bridge peer reader.
+ *
+ * Notes:
+ * - Players reply from inside receiveMessage(), so these threads publish messages too; a router
+ *   never parks them for rate limiting, because every message queued behind them would wait as well
+ * - The check is a type test on the current thread, so it costs nothing measurable
+ */
+public final class RouterThread extends Thread {
+
+    /**
+     * Creates a daemon router thread.
+     *
+     * @param task work the thread runs
+     * @param name thread name
+     */
+    public RouterThread(Runnable task, String name) {
+        super(task, name);
+        setDaemon(true);
+    }
+
+    /**
+     * Returns whether the calling thread is owned by a router.
+     *
+     * @return true on a router thread
+     */
+    public static boolean isCurrent() {
+        return Thread.currentThread() instanceof RouterThread;
+    }
+}
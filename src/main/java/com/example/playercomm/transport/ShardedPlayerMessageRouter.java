@@ -0,0 +1,340 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.deadletter.DeadLetterReason;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Router facade that partitions players across several RouterShard instances.
+ *
+ * Responsibilities:
+ * - Assigns each player to a shard by consistent hashing of the player name
+ * - Delivers messages on the receiver's shard thread, forwarding through lock-free queues
+ * - Rebalances players when shards are added at runtime, without reordering their messages
+ * - Exposes per-shard delivered message counts
+ * - Drains shard queues within a deadline when a player is unregistered or the router shuts down
+ *
+ * Notes:
+ * - Delivery is asynchronous: publishMessage returns once the message is queued
+ * - Every message is queued, also when sent from the receiver's own shard thread, so that
+ *   request/reply chains between players never recurse on the dispatcher stack
+ * - Messages from one sender thread to one receiver are delivered in publish order, also while
+ *   addShard() moves the receiver: the new shard starts delivering only once the old shard has
+ *   delivered everything queued before the move
+ * - addShard() waits a bounded time for that; if an old shard does not drain in time, for example because
+ *   a player's receiveMessage() blocks, the old ring is restored and the shard is not added
+ * - Queuing takes the read side of a StampedLock; only the switch to a new ring takes the write side
+ * - shutdown() rejects new publishes before it stops the shards and waits for each dispatcher to exit
+ *   before reporting; messages that still reach a stopped shard are dead-lettered as expired and counted
+ * - A dispatcher that has not exited DISCARD_GRACE_MILLIS after the drain deadline, because a player's
+ *   receiveMessage() does not return, is reported as stuck instead of blocking shutdown()
+ * - Each shard has a dedicated dispatcher thread; the JVM does not expose core pinning,
+ *   so one thread per core is the closest equivalent
+ */
+public final class ShardedPlayerMessageRouter extends PlayerMessageRouter implements AutoCloseable {
+
+    private static final int VIRTUAL_NODES_PER_SHARD = 64;
+
+    /**
+     * Time a dispatcher gets after the drain deadline to finish its current message and discard the rest.
+     */
+    static final long DISCARD_GRACE_MILLIS = 100;
+
+    private final List<RouterShard> shards = new ArrayList<>();
+    private final StampedLock ringLock = new StampedLock();
+    private final LongAdder dropped = new LongAdder();
+    private volatile ConsistentHashRing<RouterShard> ring = new ConsistentHashRing<>(VIRTUAL_NODES_PER_SHARD);
+
+    /**
+     * Creates a sharded router with one shard per available processor.
+     */
+    public ShardedPlayerMessageRouter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a sharded router with the given number of shards.
+     *
+     * @param shardCount initial number of shards (at least 1)
+     */
+    public ShardedPlayerMessageRouter(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        ConsistentHashRing<RouterShard> initial = ring;
+        for (int i = 0; i < shardCount; i++) {
+            RouterShard shard = new RouterShard(i, this);
+            initial = initial.withNode("shard-" + i, shard);
+            shards.add(shard);
+        }
+        ring = initial;
+        shards.forEach(RouterShard::start);
+    }
+
+    /**
+     * Adds a new shard and moves the players that now hash to it, waiting at most
+     * DEFAULT_DRAIN_TIMEOUT_MILLIS for the shards losing players to drain.
+     *
+     * @return index of the new shard
+     * @throws IllegalStateException if called from a dispatcher thread, or the old shards did not drain in time
+     * @see #addShard(long, TimeUnit)
+     */
+    public int addShard() {
+        return addShard(DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Adds a new shard and moves the players that now hash to it.
+     * Blocks until the shards losing players have delivered the messages already queued for them,
+     * at most until the timeout. If they have not, the old ring is restored: messages already queued
+     * for the moved players go back to their old shards, behind the ones they were waiting for.
+     * Must not be called from a player's receiveMessage(), whose shard could never drain.
+     *
+     * @param timeout maximum time to wait for the old shards to drain
+     * @param unit    unit of the timeout
+     * @return index of the new shard
+     * @throws IllegalStateException if called from a dispatcher thread, or the old shards did not drain in time
+     */
+    public synchronized int addShard(long timeout, TimeUnit unit) {
+        for (RouterShard shard : shards) {
+            if (shard.isDispatcherThread()) {
+                throw new IllegalStateException("addShard() cannot be called from a shard dispatcher thread");
+            }
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        RouterShard shard = new RouterShard(shards.size(), this);
+        ConsistentHashRing<RouterShard> oldRing = ring;
+        ConsistentHashRing<RouterShard> newRing = ring.withNode("shard-" + shard.getIndex(), shard);
+
+        Map<RouterShard, List<Player>> movedByShard = new HashMap<>();
+        for (String name : getPlayerNames()) {
+            Player player = getPlayer(name);
+            if (player != null && newRing.nodeFor(name) == shard) {
+                movedByShard.computeIfAbsent(shardFor(name), old -> new ArrayList<>()).add(player);
+            }
+        }
+
+        // Once the write lock is released, new messages for moved players queue up on the new shard,
+        // whose dispatcher is not running yet, and nothing more is queued for them on the old shards
+        long stamp = ringLock.writeLock();
+        try {
+            ring = newRing;
+        } finally {
+            ringLock.unlockWrite(stamp);
+        }
+        for (RouterShard old : movedByShard.keySet()) {
+            if (!old.awaitDelivered(deadline)) {
+                rollBack(oldRing, shard);
+                throw new IllegalStateException("Shard " + old.getIndex() + " did not drain within "
+                        + timeout + " " + unit + "; shard not added");
+            }
+        }
+        for (Map.Entry<RouterShard, List<Player>> entry : movedByShard.entrySet()) {
+            for (Player player : entry.getValue()) {
+                entry.getKey().unregister(player);
+                shard.register(player);
+            }
+        }
+        shards.add(shard);
+        shard.start();
+        return shard.getIndex();
+    }
+
+    /**
+     * Restores the ring from before addShard() and hands the messages queued on the shard that was
+     * not added back to their old shards. Holding the write lock keeps publishers out until every
+     * such message is queued again, so none is overtaken by a newer one.
+     */
+    private void rollBack(ConsistentHashRing<RouterShard> oldRing, RouterShard notAdded) {
+        long stamp = ringLock.writeLock();
+        try {
+            ring = oldRing;
+            Message message;
+            while ((message = notAdded.pollUnstarted()) != null) {
+                if (!oldRing.nodeFor(message.getReceiver()).enqueue(message)) {
+                    expired(message);
+                }
+            }
+        } finally {
+            ringLock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void registerPlayer(Player player) {
+        if (player == null || player.getName() == null) {
+            throw new IllegalArgumentException("Player and player name cannot be null");
+        }
+        synchronized (this) {
+            super.registerPlayer(player);
+            shardFor(player.getName()).register(player);
+        }
+    }
+
+    @Override
+    public void unregisterPlayer(Player player) {
+        if (player != null && player.getName() != null) {
+            synchronized (this) {
+                super.unregisterPlayer(player);
+                shardFor(player.getName()).unregister(player);
+            }
+        }
+    }
+
+    /**
+     * Waits until the messages already queued on the player's shard have been delivered,
+     * at most until the deadline, then unregisters the player.
+     *
+     * @param player  Player instance to unregister
+     * @param timeout maximum time to wait for queued messages
+     * @param unit    unit of the timeout
+     * @return number of queued messages for the player that were still pending at the deadline
+     */
+    @Override
+    public int unregisterPlayer(Player player, long timeout, TimeUnit unit) {
+        if (player == null || player.getName() == null) {
+            return 0;
+        }
+        RouterShard shard = shardFor(player.getName());
+        int pending = shard.awaitDelivered(System.nanoTime() + unit.toNanos(timeout))
+                ? 0 : shard.countPending(player.getName());
+        unregisterPlayer(player);
+        return pending;
+    }
+
+    /**
+     * Queues the message on the receiver's shard.
+     *
+     * @param message Message object containing sender, receiver, and content
+     */
+    @Override
+    protected void route(Message message) {
+        if (isShuttingDown()) {
+            reject(message);
+            return;
+        }
+        forward(message);
+    }
+
+    /**
+     * Routes a message that has already been accepted, also while shutting down.
+     *
+     * @param message accepted message
+     */
+    void forward(Message message) {
+        boolean queued;
+        long stamp = ringLock.readLock();
+        try {
+            queued = shardFor(message.getReceiver()).enqueue(message);
+        } finally {
+            ringLock.unlockRead(stamp);
+        }
+        if (!queued) {
+            // The receiver's shard has already stopped
+            expired(message);
+        }
+    }
+
+    /**
+     * Counts a message discarded because its shard stopped before delivering it.
+     *
+     * @param message discarded message
+     */
+    void expired(Message message) {
+        dropped.increment();
+        CommunicationMetrics.SHUTDOWN_DROPS.increment();
+        deadLetter(message, DeadLetterReason.EXPIRED, null);
+    }
+
+    /**
+     * Returns the number of messages each shard has delivered so far.
+     *
+     * @return delivered counts indexed by shard
+     */
+    public synchronized long[] getDeliveredCounts() {
+        long[] counts = new long[shards.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = shards.get(i).getDeliveredCount();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the index of the shard currently owning the given player name.
+     *
+     * @param playerName player name
+     * @return shard index
+     */
+    public int shardIndexOf(String playerName) {
+        return shardFor(playerName).getIndex();
+    }
+
+    public synchronized int getShardCount() {
+        return shards.size();
+    }
+
+    RouterShard shardFor(String playerName) {
+        return ring.nodeFor(playerName);
+    }
+
+    /**
+     * Stops accepting messages, lets every shard drain its queue until the deadline,
+     * then has the dispatchers that are still busy discard what is left and waits for them to exit,
+     * at most DISCARD_GRACE_MILLIS longer.
+     *
+     * @param timeout maximum time to spend draining queued messages
+     * @param unit    unit of the timeout
+     * @return delivered, dropped and rejected message counts, and the dispatchers that did not exit
+     */
+    @Override
+    public synchronized ShutdownReport shutdown(long timeout, TimeUnit unit) {
+        long start = System.nanoTime();
+        long deadline = start + unit.toNanos(timeout);
+        beginShutdown();
+
+        long deliveredBefore = 0;
+        for (RouterShard shard : shards) {
+            deliveredBefore += shard.getDeliveredCount();
+            shard.requestStop();
+        }
+        long droppedBefore = dropped.sum();
+        List<RouterShard> busy = new ArrayList<>();
+        for (RouterShard shard : shards) {
+            if (!shard.awaitStop(deadline)) {
+                shard.discardPending();
+                busy.add(shard);
+            }
+        }
+        long graceDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DISCARD_GRACE_MILLIS);
+        int stuck = 0;
+        for (RouterShard shard : busy) {
+            if (!shard.awaitStop(graceDeadline)) {
+                stuck++;
+            }
+        }
+        long deliveredAfter = 0;
+        for (RouterShard shard : shards) {
+            deliveredAfter += shard.getDeliveredCount();
+        }
+        getDeadLetterHandler().flush();
+        return new ShutdownReport(deliveredAfter - deliveredBefore, dropped.sum() - droppedBefore,
+                getRejectedCount(), System.nanoTime() - start, stuck);
+    }
+
+    /**
+     * Shuts the router down, draining shard queues for at most DEFAULT_DRAIN_TIMEOUT_MILLIS.
+     */
+    @Override
+    public void close() {
+        shutdown(DEFAULT_DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
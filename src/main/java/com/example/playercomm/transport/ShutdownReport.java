@@ -0,0 +1,70 @@
+package com.example.playercomm.transport;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a coordinated router shutdown.
+ *
+ * Responsibilities:
+ * - Counts the queued messages delivered while draining
+ * - Counts the queued messages discarded because the drain deadline passed
+ * - Counts the messages rejected because they were published after shutdown began
+ * - Counts the delivery threads that were still running when shutdown returned, for example
+ *   because a player's receiveMessage() never returned; their remaining messages are dropped later
+ * - Records how long the shutdown took
+ */
+public final class ShutdownReport {
+
+    private final long drained;
+    private final long dropped;
+    private final long rejected;
+    private final long elapsedNanos;
+    private final int stuckThreads;
+
+    public ShutdownReport(long drained, long dropped, long rejected, long elapsedNanos) {
+        this(drained, dropped, rejected, elapsedNanos, 0);
+    }
+
+    public ShutdownReport(long drained, long dropped, long rejected, long elapsedNanos, int stuckThreads) {
+        this.drained = drained;
+        this.dropped = dropped;
+        this.rejected = rejected;
+        this.elapsedNanos = elapsedNanos;
+        this.stuckThreads = stuckThreads;
+    }
+
+    public long getDrained() {
+        return drained;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getStuckThreads() {
+        return stuckThreads;
+    }
+
+    /**
+     * Returns whether every message accepted by the router was delivered.
+     *
+     * @return true if nothing was dropped or rejected and no delivery thread was left running
+     */
+    public boolean isClean() {
+        return dropped == 0 && rejected == 0 && stuckThreads == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Router shutdown in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms: drained=" + drained
+                + " dropped=" + dropped + " rejected=" + rejected + " stuck=" + stuckThreads;
+    }
+}
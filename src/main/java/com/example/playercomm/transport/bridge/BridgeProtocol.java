@@ -0,0 +1,125 @@
+package com.example.playercomm.transport.bridge;
+
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.compression.PayloadCompressor;
+import com.example.playercomm.transport.compression.PayloadDecompressor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Wire format spoken between BridgedPlayerMessageRouter instances.
+ *
+ * Frame layout: [1 byte type][type-specific body]
+ * - HELLO:      [string nodeId]
+ * - REGISTER:   [int count][string name]...
+ * - UNREGISTER: [string name]
+ * - MESSAGE:    [string sender][string receiver][payload content]
+ *
+ * Strings are encoded as [int length][UTF-8 bytes], so contents are not limited to 64 KB.
+ * Payloads are encoded as [int length][PayloadCompressor output], i.e. optionally deflated.
+ *
+ * Notes:
+ * - Lengths and counts come from the peer, so they are checked against MAX_FIELD_BYTES and
+ *   MAX_NAMES before anything is allocated; a violation fails the connection with an IOException
+ */
+final class BridgeProtocol {
+
+    static final byte HELLO = 1;
+    static final byte REGISTER = 2;
+    static final byte UNREGISTER = 3;
+    static final byte MESSAGE = 4;
+
+    /**
+     * Largest string or payload field accepted in a frame.
+     */
+    static final int MAX_FIELD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Largest number of player names accepted in one REGISTER frame.
+     */
+    static final int MAX_NAMES = 65_536;
+
+    private BridgeProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out, String nodeId) throws IOException {
+        out.writeByte(HELLO);
+        writeString(out, nodeId);
+    }
+
+    static void writeRegister(DataOutputStream out, Collection<String> names) throws IOException {
+        if (names.size() > MAX_NAMES) {
+            throw new IOException("Too many player names for one frame: " + names.size());
+        }
+        out.writeByte(REGISTER);
+        out.writeInt(names.size());
+        for (String name : names) {
+            writeString(out, name);
+        }
+    }
+
+    static void writeUnregister(DataOutputStream out, String name) throws IOException {
+        out.writeByte(UNREGISTER);
+        writeString(out, name);
+    }
+
+    static void writeMessage(DataOutputStream out, Message message, PayloadCompressor compressor) throws IOException {
+        out.writeByte(MESSAGE);
+        writeString(out, message.getSender());
+        writeString(out, message.getReceiver());
+        int length = compressor.encode(message.getContent().getBytes(StandardCharsets.UTF_8));
+        checkLength(length);
+        out.writeInt(length);
+        out.write(compressor.getBuffer(), 0, length);
+    }
+
+    static List<String> readNames(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_NAMES) {
+            throw new IOException("Invalid player name count: " + count);
+        }
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(readString(in));
+        }
+        return names;
+    }
+
+    static Message readMessage(DataInputStream in, PayloadDecompressor decompressor) throws IOException {
+        String sender = readString(in);
+        String receiver = readString(in);
+        String content = new String(decompressor.decode(readBytes(in)), StandardCharsets.UTF_8);
+        return new Message(sender, receiver, content);
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        checkLength(bytes.length);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        checkLength(length);
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static void checkLength(int length) throws IOException {
+        if (length < 0 || length > MAX_FIELD_BYTES) {
+            throw new IOException("Invalid field length: " + length + " (maximum " + MAX_FIELD_BYTES + ")");
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.playercomm.transport.bridge;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.compression.CompressionSettings;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PlayerMessageRouter that is bridged to peer routers in other processes over TCP.
+ *
+ * Responsibilities:
+ * - Accepts connections from peer routers and connects to peer routers
+ * - Exchanges player registries with every peer and keeps them up to date
+ * - Forwards publishMessage calls for remote receivers to the owning peer
+ * - Delivers messages received from peers to local players
+ * - Optionally compresses message contents on the wire (see CompressionSettings)
+ *
+ * Notes:
+ * - All traffic to one peer is multiplexed over a single persistent connection,
+ *   so only one side of each pair should call connectToPeer
+ * - Local receivers always take precedence over remote ones
+ * - Messages received from a peer are never forwarded again, which prevents routing loops
+ * - Once shutdown has begun, messages are rejected before they reach a peer, like local ones
+ */
+public class BridgedPlayerMessageRouter extends PlayerMessageRouter implements AutoCloseable {
+
+    private final String nodeId;
+    private final CompressionSettings compression;
+    private final Set<PeerConnection> peers = ConcurrentHashMap.newKeySet();
+    private final Map<String, PeerConnection> remoteRoutes = new ConcurrentHashMap<>();
+
+    private ServerSocket serverSocket;
+
+    /**
+     * Creates a bridged router.
+     *
+     * @param nodeId identifier of this router, used in logs of its peers
+     */
+    public BridgedPlayerMessageRouter(String nodeId) {
+        this(nodeId, CompressionSettings.DISABLED);
+    }
+
+    /**
+     * Creates a bridged router that compresses message contents sent to peers.
+     *
+     * @param nodeId      identifier of this router, used in logs of its peers
+     * @param compression compression settings; all peers must share the same dictionary
+     */
+    public BridgedPlayerMessageRouter(String nodeId, CompressionSettings compression) {
+        this.nodeId = nodeId;
+        this.compression = compression;
+    }
+
+    /**
+     * Starts accepting peer connections on the given port.
+     *
+     * @param port local TCP port (0 picks a free port)
+     * @return the bound port
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized int listen(int port) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Router " + nodeId + " is already listening");
+        }
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        Thread acceptThread = new Thread(this::acceptLoop, "bridge-accept-" + nodeId);
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Connects to a peer router and exchanges registries with it.
+     *
+     * @param host peer host
+     * @param port peer port
+     * @throws IOException if the connection cannot be established
+     */
+    public void connectToPeer(String host, int port) throws IOException {
+        addPeer(new Socket(host, port));
+    }
+
+    @Override
+    public void registerPlayer(Player player) {
+        super.registerPlayer(player);
+        for (PeerConnection peer : peers) {
+            try {
+                peer.sendRegister(List.of(player.getName()));
+            } catch (IOException e) {
+                peer.close();
+            }
+        }
+    }
+
+    @Override
+    public void unregisterPlayer(Player player) {
+        super.unregisterPlayer(player);
+        if (player != null && player.getName() != null) {
+            for (PeerConnection peer : peers) {
+                try {
+                    peer.sendUnregister(player.getName());
+                } catch (IOException e) {
+                    peer.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers the message locally if the receiver is registered here, otherwise
+     * forwards it to the peer that registered the receiver.
+     *
+     * @param message Message object containing sender, receiver, and content
+     */
+    @Override
+    protected void route(Message message) {
+        if (isShuttingDown()) {
+            reject(message);
+            return;
+        }
+        if (!hasPlayer(message.getReceiver())) {
+            PeerConnection peer = remoteRoutes.get(message.getReceiver());
+            if (peer != null) {
+                try {
+                    peer.sendMessage(message);
+                    return;
+                } catch (IOException e) {
+                    peer.close();
+                }
+            }
+        }
+        super.route(message);
+    }
+
+    /**
+     * Checks whether a player is known through one of the peers.
+     *
+     * @param playerName name of the player
+     * @return true if a peer has registered the player
+     */
+    public boolean hasRemotePlayer(String playerName) {
+        return remoteRoutes.containsKey(playerName);
+    }
+
+    public int getPeerCount() {
+        return peers.size();
+    }
+
+    void onRemoteRegister(PeerConnection peer, List<String> names) {
+        for (String name : names) {
+            remoteRoutes.put(name, peer);
+        }
+    }
+
+    void onRemoteUnregister(PeerConnection peer, String name) {
+        remoteRoutes.remove(name, peer);
+    }
+
+    void onRemoteMessage(Message message) {
+        capture(message);
+        super.route(message);
+    }
+
+    void onPeerClosed(PeerConnection peer) {
+        peers.remove(peer);
+        remoteRoutes.values().removeIf(route -> route == peer);
+    }
+
+    private void addPeer(Socket socket) throws IOException {
+        PeerConnection peer = new PeerConnection(this, socket, compression);
+        peers.add(peer);
+        try {
+            peer.start(nodeId, getPlayerNames());
+        } catch (IOException e) {
+            peer.close();
+            throw e;
+        }
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                addPeer(serverSocket.accept());
+            } catch (SocketException e) {
+                // Server socket closed
+            } catch (IOException e) {
+                System.err.println("[Bridge] " + nodeId + " failed to accept peer: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Begins shutdown, so that new messages are rejected, then stops accepting peers and closes all peer connections.
+     */
+    @Override
+    public synchronized void close() {
+        beginShutdown();
+        if (serverSocket != null) {
+            try {
+                serverSocket.close();
+            } catch (IOException ignored) {
+            }
+        }
+        for (PeerConnection peer : peers) {
+            peer.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.playercomm.transport.bridge;
+
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.metrics.CountingInputStream;
+import com.example.playercomm.metrics.CountingOutputStream;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.transport.RouterThread;
+import com.example.playercomm.transport.compression.CompressionSettings;
+import com.example.playercomm.transport.compression.PayloadCompressor;
+import com.example.playercomm.transport.compression.PayloadDecompressor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collection;
+
+/**
+ * A single persistent TCP connection between two bridged routers.
+ *
+ * Responsibilities:
+ * - Multiplexes registry updates and messages for all players over one socket
+ * - Runs a reader thread that hands incoming frames to the owning router
+ * - Serializes concurrent writers so frames are never interleaved
+ */
+class PeerConnection implements Runnable, AutoCloseable {
+
+    private final BridgedPlayerMessageRouter router;
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final Thread readerThread;
+    private final PayloadCompressor compressor;
+    private final PayloadDecompressor decompressor;
+
+    private volatile String peerId;
+    private volatile boolean closed;
+
+    PeerConnection(BridgedPlayerMessageRouter router, Socket socket, CompressionSettings compression) throws IOException {
+        this.router = router;
+        this.socket = socket;
+        this.compressor = compression.newCompressor();
+        this.decompressor = compression.newDecompressor();
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(
+                new CountingInputStream(socket.getInputStream(), CommunicationMetrics.TCP_BYTES_IN)));
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new CountingOutputStream(socket.getOutputStream(), CommunicationMetrics.TCP_BYTES_OUT)));
+        this.readerThread = new RouterThread(this, "bridge-peer-" + socket.getPort());
+        CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.increment();
+    }
+
+    /**
+     * Sends the handshake with this node's id and its current players, then starts reading.
+     *
+     * @param nodeId       id of the local router
+     * @param localPlayers names of the players registered locally
+     * @throws IOException if the handshake cannot be written
+     */
+    void start(String nodeId, Collection<String> localPlayers) throws IOException {
+        synchronized (out) {
+            BridgeProtocol.writeHello(out, nodeId);
+            BridgeProtocol.writeRegister(out, localPlayers);
+            out.flush();
+        }
+        readerThread.start();
+    }
+
+    String getPeerId() {
+        return peerId;
+    }
+
+    void sendMessage(Message message) throws IOException {
+        synchronized (out) {
+            if (closed) {
+                throw new IOException("Connection to peer " + peerId + " is closed");
+            }
+            BridgeProtocol.writeMessage(out, message, compressor);
+            out.flush();
+        }
+    }
+
+    void sendRegister(Collection<String> names) throws IOException {
+        synchronized (out) {
+            BridgeProtocol.writeRegister(out, names);
+            out.flush();
+        }
+    }
+
+    void sendUnregister(String name) throws IOException {
+        synchronized (out) {
+            BridgeProtocol.writeUnregister(out, name);
+            out.flush();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!closed) {
+                byte type = in.readByte();
+                switch (type) {
+                    case BridgeProtocol.HELLO -> peerId = BridgeProtocol.readString(in);
+                    case BridgeProtocol.REGISTER -> router.onRemoteRegister(this, BridgeProtocol.readNames(in));
+                    case BridgeProtocol.UNREGISTER -> router.onRemoteUnregister(this, BridgeProtocol.readString(in));
+                    case BridgeProtocol.MESSAGE -> router.onRemoteMessage(BridgeProtocol.readMessage(in, decompressor));
+                    default -> throw new IOException("Unknown frame type: " + type);
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // Peer closed the connection
+        } catch (IOException e) {
+            System.err.println("[Bridge] Connection to peer " + peerId + " failed: " + e.getMessage());
+        } finally {
+            close();
+            decompressor.end();
+        }
+    }
+
+    /**
+     * Closes the socket and removes all routes learned from this peer.
+     * The reader thread and senders may race to close; only the first call does anything.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+        CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.decrement();
+        router.onPeerClosed(this);
+        synchronized (out) {
+            compressor.end();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.playercomm.transport.compression;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+/**
+ * Immutable configuration for per-frame payload compression.
+ *
+ * Responsibilities:
+ * - Holds the size threshold below which payloads are sent raw
+ * - Holds the Deflater level and the preset dictionary shared by both peers
+ * - Creates the stateful PayloadCompressor/PayloadDecompressor pair for one connection
+ *
+ * Notes:
+ * - Both peers must use the same dictionary; the threshold and level only affect the sender
+ * - Configured from the "playercomm.compression.threshold" system property by fromSystemProperty()
+ */
+public final class CompressionSettings {
+
+    /**
+     * Dictionary primed with the message shapes produced by the players ("Message N [k]").
+     * Deflate prefers matches near the end of the dictionary, so the most common strings come last.
+     */
+    public static final byte[] DEFAULT_DICTIONARY = buildDefaultDictionary();
+
+    /**
+     * Settings that never compress, but can still decode compressed frames from a peer
+     * that uses the default dictionary.
+     */
+    public static final CompressionSettings DISABLED =
+            new CompressionSettings(Integer.MAX_VALUE, Deflater.BEST_SPEED, DEFAULT_DICTIONARY);
+
+    public static final String THRESHOLD_PROPERTY = "playercomm.compression.threshold";
+
+    private final int thresholdBytes;
+    private final int level;
+    private final byte[] dictionary;
+
+    /**
+     * Creates compression settings.
+     *
+     * @param thresholdBytes payloads smaller than this are sent raw
+     * @param level          Deflater compression level (0-9)
+     * @param dictionary     preset dictionary, or null for none
+     */
+    public CompressionSettings(int thresholdBytes, int level, byte[] dictionary) {
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes must not be negative");
+        }
+        if (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.thresholdBytes = thresholdBytes;
+        this.level = level;
+        this.dictionary = dictionary != null ? dictionary.clone() : null;
+    }
+
+    /**
+     * Returns settings that compress payloads of 512 bytes or more with the default dictionary.
+     *
+     * @return default enabled settings
+     */
+    public static CompressionSettings defaults() {
+        return new CompressionSettings(512, Deflater.BEST_SPEED, DEFAULT_DICTIONARY);
+    }
+
+    /**
+     * Creates settings from the "playercomm.compression.threshold" system property: payloads of at
+     * least that many bytes are compressed with the default dictionary. Without the property
+     * nothing is compressed.
+     *
+     * @return configured settings, or DISABLED
+     */
+    public static CompressionSettings fromSystemProperty() {
+        String threshold = System.getProperty(THRESHOLD_PROPERTY);
+        if (threshold == null || threshold.isBlank()) {
+            return DISABLED;
+        }
+        return new CompressionSettings(Integer.parseInt(threshold.trim()), Deflater.BEST_SPEED, DEFAULT_DICTIONARY);
+    }
+
+    public int getThresholdBytes() {
+        return thresholdBytes;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isEnabled() {
+        return thresholdBytes != Integer.MAX_VALUE;
+    }
+
+    byte[] getDictionary() {
+        return dictionary;
+    }
+
+    public PayloadCompressor newCompressor() {
+        return new PayloadCompressor(this);
+    }
+
+    public PayloadDecompressor newDecompressor() {
+        return new PayloadDecompressor(this);
+    }
+
+    private static byte[] buildDefaultDictionary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("initiator responder Initiator Responder received: Sending: ");
+        for (int i = 20; i >= 1; i--) {
+            sb.append("Message ").append(i).append(" [").append(i).append("] ");
+        }
+        sb.append("Message ");
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
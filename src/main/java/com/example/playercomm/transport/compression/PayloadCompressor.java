@@ -0,0 +1,106 @@
+package com.example.playercomm.transport.compression;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses frame payloads for one connection, reusing a single Deflater and output buffer.
+ *
+ * Encoded layout:
+ * - [0][raw bytes]                          payload below threshold or not worth compressing
+ * - [1][int raw length][deflated bytes]     payload compressed with the preset dictionary
+ *
+ * Notes:
+ * - Not thread-safe; use one instance per writer thread
+ * - The returned buffer is reused by the next call to encode()
+ */
+public class PayloadCompressor {
+
+    static final byte RAW = 0;
+    static final byte DEFLATED = 1;
+    static final int DEFLATED_HEADER = 5;
+
+    private final CompressionSettings settings;
+    private final Deflater deflater;
+    private byte[] buffer = new byte[1024];
+    private int length;
+
+    PayloadCompressor(CompressionSettings settings) {
+        this.settings = settings;
+        this.deflater = new Deflater(settings.getLevel());
+    }
+
+    /**
+     * Encodes a payload into the internal buffer.
+     *
+     * @param raw payload bytes
+     * @return number of encoded bytes available in getBuffer()
+     */
+    public int encode(byte[] raw) {
+        if (raw.length < settings.getThresholdBytes() || !deflate(raw)) {
+            ensureCapacity(raw.length + 1);
+            buffer[0] = RAW;
+            System.arraycopy(raw, 0, buffer, 1, raw.length);
+            length = raw.length + 1;
+        }
+        return length;
+    }
+
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Deflates into the buffer; returns false if the result would not be smaller than the raw form.
+     */
+    private boolean deflate(byte[] raw) {
+        if (raw.length + 1 <= DEFLATED_HEADER) {
+            return false;
+        }
+        deflater.reset();
+        byte[] dictionary = settings.getDictionary();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(raw);
+        deflater.finish();
+
+        // Compressing is only worthwhile if the result is smaller than the raw payload
+        int limit = raw.length + 1;
+        ensureCapacity(limit);
+        int written = DEFLATED_HEADER;
+        while (!deflater.finished()) {
+            if (written == limit) {
+                return false;
+            }
+            written += deflater.deflate(buffer, written, limit - written);
+        }
+        if (written >= limit) {
+            return false;
+        }
+        buffer[0] = DEFLATED;
+        buffer[1] = (byte) (raw.length >>> 24);
+        buffer[2] = (byte) (raw.length >>> 16);
+        buffer[3] = (byte) (raw.length >>> 8);
+        buffer[4] = (byte) raw.length;
+        length = written;
+        return true;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (buffer.length < capacity) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+
+    /**
+     * Releases the native resources of the underlying Deflater.
+     */
+    public void end() {
+        deflater.end();
+    }
+}
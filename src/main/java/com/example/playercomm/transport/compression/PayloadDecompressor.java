@@ -0,0 +1,87 @@
+package com.example.playercomm.transport.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decodes payloads produced by PayloadCompressor, reusing a single Inflater.
+ *
+ * Notes:
+ * - Not thread-safe; use one instance per reader thread
+ * - The raw length in the header comes from the peer, so it is checked against MAX_RAW_BYTES
+ *   before the output buffer is allocated
+ */
+public class PayloadDecompressor {
+
+    /**
+     * Largest raw payload accepted, the same as the largest MultiplexedConnection frame.
+     */
+    public static final int MAX_RAW_BYTES = 16 * 1024 * 1024;
+
+    private final CompressionSettings settings;
+    private final Inflater inflater = new Inflater();
+
+    PayloadDecompressor(CompressionSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Decodes an encoded payload.
+     *
+     * @param encoded encoded payload including the leading flag byte
+     * @return raw payload bytes
+     * @throws IOException if the payload is malformed or needs an unknown dictionary
+     */
+    public byte[] decode(byte[] encoded) throws IOException {
+        if (encoded.length == 0) {
+            throw new IOException("Empty payload");
+        }
+        if (encoded[0] == PayloadCompressor.RAW) {
+            return Arrays.copyOfRange(encoded, 1, encoded.length);
+        }
+        if (encoded[0] != PayloadCompressor.DEFLATED || encoded.length < PayloadCompressor.DEFLATED_HEADER) {
+            throw new IOException("Unknown payload encoding: " + encoded[0]);
+        }
+
+        int rawLength = ((encoded[1] & 0xff) << 24) | ((encoded[2] & 0xff) << 16)
+                | ((encoded[3] & 0xff) << 8) | (encoded[4] & 0xff);
+        if (rawLength < 0 || rawLength > MAX_RAW_BYTES) {
+            throw new IOException("Invalid payload length: " + rawLength + " (maximum " + MAX_RAW_BYTES + ")");
+        }
+        byte[] raw = new byte[rawLength];
+        inflater.reset();
+        inflater.setInput(encoded, PayloadCompressor.DEFLATED_HEADER, encoded.length - PayloadCompressor.DEFLATED_HEADER);
+        try {
+            int read = 0;
+            while (!inflater.finished()) {
+                int n = inflater.inflate(raw, read, rawLength - read);
+                if (n == 0) {
+                    if (inflater.needsDictionary()) {
+                        if (settings.getDictionary() == null) {
+                            throw new IOException("Payload requires a preset dictionary");
+                        }
+                        inflater.setDictionary(settings.getDictionary());
+                    } else if (inflater.needsInput() || read == rawLength) {
+                        break;
+                    }
+                }
+                read += n;
+            }
+            if (read != rawLength || !inflater.finished()) {
+                throw new IOException("Truncated compressed payload");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed payload", e);
+        }
+        return raw;
+    }
+
+    /**
+     * Releases the native resources of the underlying Inflater.
+     */
+    public void end() {
+        inflater.end();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.playercomm.transport.deadletter;
+
+import com.example.playercomm.model.Message;
+
+/**
+ * An undeliverable message together with the reason it was not delivered.
+ */
+public final class DeadLetter {
+
+    private final Message message;
+    private final DeadLetterReason reason;
+    private final Throwable cause;
+
+    public DeadLetter(Message message, DeadLetterReason reason, Throwable cause) {
+        this.message = message;
+        this.reason = reason;
+        this.cause = cause;
+    }
+
+    public Message getMessage() {
+        return message;
+    }
+
+    public DeadLetterReason getReason() {
+        return reason;
+    }
+
+    /**
+     * Returns the exception thrown by the receiver.
+     *
+     * @return cause of a DELIVERY_FAILED dead letter, otherwise null
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+}
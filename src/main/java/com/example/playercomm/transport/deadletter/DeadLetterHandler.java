@@ -0,0 +1,30 @@
+package com.example.playercomm.transport.deadletter;
+
+import com.example.playercomm.model.Message;
+
+/**
+ * Receives the messages a router could not deliver.
+ *
+ * Notes:
+ * - Called on the thread that attempted the delivery, so implementations must be thread-safe
+ *   and should return quickly
+ * - Only called on the failure path; successful deliveries never reach the handler
+ */
+@FunctionalInterface
+public interface DeadLetterHandler {
+
+    /**
+     * Handles an undeliverable message.
+     *
+     * @param message undeliverable message
+     * @param reason  why the message was not delivered
+     * @param cause   exception thrown by the receiver, or null
+     */
+    void onDeadLetter(Message message, DeadLetterReason reason, Throwable cause);
+
+    /**
+     * Reports or releases any dead letters the handler still holds. Called when a router shuts down.
+     */
+    default void flush() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.playercomm.transport.deadletter;
+
+/**
+ * Why a message could not be delivered.
+ */
+public enum DeadLetterReason {
+
+    /**
+     * No player with the receiver's name is registered.
+     */
+    UNKNOWN_RECEIVER,
+
+    /**
+     * The receiver threw an exception from receiveMessage().
+     */
+    DELIVERY_FAILED,
+
+    /**
+     * The message was published after the router or the receiver started shutting down.
+     */
+    REJECTED,
+
+    /**
+     * The message was still queued when the shutdown drain deadline passed.
+     */
+    EXPIRED,
+
+    /**
+     * The sender or the receiver exceeded its rate limit under the REJECT policy, or under the DELAY
+     * policy when the message was published from a router thread, which is never made to wait.
+     */
+    RATE_LIMITED
+}
@@ -0,0 +1,141 @@
+package com.example.playercomm.transport.deadletter;
+
+import com.example.playercomm.model.Message;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default DeadLetterHandler: queues dead letters in a bounded queue and prints
+ * rate-limited summaries instead of one log line or stack trace per failure.
+ *
+ * Responsibilities:
+ * - Keeps at most capacity dead letters and counts the ones that did not fit
+ * - Prints at most one summary per report interval, grouped by reason and receiver
+ * - Prints whatever is still queued when flush() is called
+ *
+ * Notes:
+ * - The summary is printed by the thread whose dead letter opens a new interval;
+ *   no background thread is started
+ * - Dead letters queued after the last summary stay queued until the next dead letter
+ *   after the interval, or until flush()
+ */
+public class ReportingDeadLetterHandler implements DeadLetterHandler {
+
+    public static final int DEFAULT_CAPACITY = 1_024;
+    public static final long DEFAULT_REPORT_INTERVAL_MILLIS = 1_000;
+
+    private final BlockingQueue<DeadLetter> queue;
+    private final LongAdder overflow = new LongAdder();
+    private final AtomicLong nextReportNanos;
+    private final long reportIntervalNanos;
+    private final PrintStream out;
+
+    /**
+     * Creates a handler with the default capacity and interval, printing to System.err.
+     */
+    public ReportingDeadLetterHandler() {
+        this(DEFAULT_CAPACITY, DEFAULT_REPORT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, System.err);
+    }
+
+    /**
+     * Creates a handler.
+     *
+     * @param capacity       maximum number of dead letters kept between two summaries
+     * @param reportInterval minimum time between two summaries
+     * @param unit           unit of the report interval
+     * @param out            stream the summaries are printed to
+     */
+    public ReportingDeadLetterHandler(int capacity, long reportInterval, TimeUnit unit, PrintStream out) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.reportIntervalNanos = unit.toNanos(reportInterval);
+        this.nextReportNanos = new AtomicLong(System.nanoTime());
+        this.out = out;
+    }
+
+    @Override
+    public void onDeadLetter(Message message, DeadLetterReason reason, Throwable cause) {
+        if (!queue.offer(new DeadLetter(message, reason, cause))) {
+            overflow.increment();
+        }
+        long next = nextReportNanos.get();
+        long now = System.nanoTime();
+        if (now - next >= 0 && nextReportNanos.compareAndSet(next, now + reportIntervalNanos)) {
+            report();
+        }
+    }
+
+    /**
+     * Prints a summary of the dead letters queued since the last summary, if any.
+     */
+    @Override
+    public void flush() {
+        report();
+    }
+
+    /**
+     * Returns the number of dead letters currently queued.
+     *
+     * @return queued dead letters
+     */
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    private synchronized void report() {
+        List<DeadLetter> letters = new ArrayList<>(queue.size());
+        queue.drainTo(letters);
+        long lost = overflow.sumThenReset();
+        if (letters.isEmpty() && lost == 0) {
+            return;
+        }
+
+        // Group by reason and receiver, keeping the last dead letter of each group as an example
+        Map<String, Group> groups = new LinkedHashMap<>();
+        for (DeadLetter letter : letters) {
+            String key = letter.getReason().name() + '\u0000' + letter.getMessage().getReceiver();
+            groups.computeIfAbsent(key, k -> new Group()).add(letter);
+        }
+
+        StringBuilder summary = new StringBuilder(128);
+        summary.append("[DeadLetters] ").append(letters.size() + lost).append(" undeliverable message(s)");
+        if (lost > 0) {
+            summary.append(", ").append(lost).append(" not kept (queue full)");
+        }
+        for (Group group : groups.values()) {
+            Message message = group.last.getMessage();
+            summary.append(System.lineSeparator())
+                    .append("  ").append(group.last.getReason())
+                    .append(" x").append(group.count)
+                    .append(": ").append(message.getSender())
+                    .append(" -> ").append(message.getReceiver());
+            Throwable cause = group.last.getCause();
+            if (cause != null) {
+                summary.append(" (").append(cause).append(')');
+            }
+        }
+        out.println(summary);
+    }
+
+    private static final class Group {
+
+        private int count;
+        private DeadLetter last;
+
+        void add(DeadLetter letter) {
+            count++;
+            last = letter;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.playercomm.transport.idle;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spin, then yield, then park with exponential back-off.
+ *
+ * Phases:
+ * - up to maxSpins calls of Thread.onSpinWait() (lowest latency, burns a core)
+ * - up to maxYields calls of Thread.yield()
+ * - parkNanos starting at minParkNanos, doubling up to maxParkNanos
+ *
+ * Notes:
+ * - With maxYields = 0 and a very large maxSpins this is a pure busy-spin
+ */
+public class BackoffIdleStrategy implements IdleStrategy {
+
+    private final long maxSpins;
+    private final long maxYields;
+    private final long minParkNanos;
+    private final long maxParkNanos;
+
+    private long spins;
+    private long yields;
+    private long parkNanos;
+
+    /**
+     * Creates a back-off strategy.
+     *
+     * @param maxSpins     number of spin iterations before yielding
+     * @param maxYields    number of yields before parking
+     * @param minParkNanos first park duration
+     * @param maxParkNanos maximum park duration
+     */
+    public BackoffIdleStrategy(long maxSpins, long maxYields, long minParkNanos, long maxParkNanos) {
+        if (maxSpins < 0 || maxYields < 0 || minParkNanos < 1 || maxParkNanos < minParkNanos) {
+            throw new IllegalArgumentException("Invalid back-off configuration");
+        }
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+        this.minParkNanos = minParkNanos;
+        this.maxParkNanos = maxParkNanos;
+        this.parkNanos = minParkNanos;
+    }
+
+    @Override
+    public void idle() {
+        if (spins < maxSpins) {
+            spins++;
+            Thread.onSpinWait();
+        } else if (yields < maxYields) {
+            yields++;
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(parkNanos);
+            parkNanos = Math.min(parkNanos << 1, maxParkNanos);
+        }
+    }
+
+    @Override
+    public void reset() {
+        spins = 0;
+        yields = 0;
+        parkNanos = minParkNanos;
+    }
+
+    @Override
+    public IdleStrategy copy() {
+        return new BackoffIdleStrategy(maxSpins, maxYields, minParkNanos, maxParkNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "backoff:" + maxSpins + "," + maxYields + "," + minParkNanos / 1_000 + "," + maxParkNanos / 1_000;
+    }
+}
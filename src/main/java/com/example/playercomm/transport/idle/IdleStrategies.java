@@ -0,0 +1,93 @@
+package com.example.playercomm.transport.idle;
+
+/**
+ * Creates IdleStrategy instances from textual configuration.
+ *
+ * Accepted values of the "playercomm.idle" system property:
+ * - blocking (default): threads block in readLine()/park until woken
+ * - spin: pure busy-spin with Thread.onSpinWait()
+ * - backoff: spin, then yield, then park, with default limits
+ * - backoff:SPINS,YIELDS,MIN_PARK_MICROS,MAX_PARK_MICROS: back-off with explicit limits
+ *
+ * Notes:
+ * - The JDK has no API for CPU pinning; for pinned deployments start the JVM under
+ *   taskset/numactl so the polling threads keep their cores
+ */
+public final class IdleStrategies {
+
+    public static final String PROPERTY = "playercomm.idle";
+
+    private static final long DEFAULT_SPINS = 10_000;
+    private static final long DEFAULT_YIELDS = 100;
+    private static final long DEFAULT_MIN_PARK_MICROS = 1;
+    private static final long DEFAULT_MAX_PARK_MICROS = 1_000;
+
+    private IdleStrategies() {
+    }
+
+    /**
+     * Returns the strategy configured by the "playercomm.idle" system property.
+     *
+     * @return configured busy-poll strategy, or null for the default blocking paths
+     */
+    public static IdleStrategy fromSystemProperty() {
+        return parse(System.getProperty(PROPERTY, "blocking"));
+    }
+
+    /**
+     * Parses a strategy description.
+     *
+     * @param value strategy description
+     * @return busy-poll strategy, or null for "blocking"
+     */
+    public static IdleStrategy parse(String value) {
+        String spec = value.trim().toLowerCase();
+        if (spec.equals("blocking")) {
+            return null;
+        }
+        if (spec.equals("spin")) {
+            return busySpin();
+        }
+        if (spec.equals("backoff")) {
+            return backoff();
+        }
+        if (spec.startsWith("backoff:")) {
+            String[] parts = spec.substring("backoff:".length()).split(",");
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Expected backoff:SPINS,YIELDS,MIN_PARK_MICROS,MAX_PARK_MICROS");
+            }
+            return new BackoffIdleStrategy(Long.parseLong(parts[0].trim()), Long.parseLong(parts[1].trim()),
+                    Long.parseLong(parts[2].trim()) * 1_000, Long.parseLong(parts[3].trim()) * 1_000);
+        }
+        throw new IllegalArgumentException("Unknown idle strategy: " + value);
+    }
+
+    /**
+     * Returns a strategy that never gives up the CPU.
+     *
+     * @return busy-spin strategy
+     */
+    public static IdleStrategy busySpin() {
+        return new BackoffIdleStrategy(Long.MAX_VALUE, 0, 1, 1) {
+            @Override
+            public IdleStrategy copy() {
+                return busySpin();
+            }
+
+            @Override
+            public String toString() {
+                return "spin";
+            }
+        };
+    }
+
+    /**
+     * Returns a spin-then-yield-then-park strategy with default limits.
+     *
+     * @return back-off strategy
+     */
+    public static IdleStrategy backoff() {
+        return new BackoffIdleStrategy(DEFAULT_SPINS, DEFAULT_YIELDS,
+                DEFAULT_MIN_PARK_MICROS * 1_000, DEFAULT_MAX_PARK_MICROS * 1_000);
+    }
+}
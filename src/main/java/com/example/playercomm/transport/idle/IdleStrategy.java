@@ -0,0 +1,32 @@
+package com.example.playercomm.transport.idle;
+
+/**
+ * Strategy for a polling thread that found no work.
+ *
+ * Responsibilities:
+ * - idle() is called every time a poll comes back empty
+ * - reset() is called as soon as work is found again
+ *
+ * Notes:
+ * - Implementations keep per-thread state and must not be shared between threads;
+ *   use copy() to obtain an independent instance with the same configuration
+ */
+public interface IdleStrategy {
+
+    /**
+     * Called when a poll found no work.
+     */
+    void idle();
+
+    /**
+     * Called when work was found, so the next idle period starts from the first phase again.
+     */
+    void reset();
+
+    /**
+     * Returns a new instance with the same configuration and fresh state.
+     *
+     * @return independent copy
+     */
+    IdleStrategy copy();
+}
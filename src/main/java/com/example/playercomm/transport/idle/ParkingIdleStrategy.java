@@ -0,0 +1,29 @@
+package com.example.playercomm.transport.idle;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Parks the thread until it is unparked by a producer.
+ * This is the blocking behaviour; it must only be used where producers unpark the waiting thread.
+ */
+public class ParkingIdleStrategy implements IdleStrategy {
+
+    @Override
+    public void idle() {
+        LockSupport.park(this);
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public IdleStrategy copy() {
+        return new ParkingIdleStrategy();
+    }
+
+    @Override
+    public String toString() {
+        return "blocking";
+    }
+}
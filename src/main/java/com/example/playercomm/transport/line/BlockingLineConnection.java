@@ -0,0 +1,73 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.metrics.CountingInputStream;
+import com.example.playercomm.metrics.CountingOutputStream;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineConnection that blocks in BufferedReader.readLine() and counts transferred bytes.
+ */
+public class BlockingLineConnection implements LineConnection {
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+
+    public BlockingLineConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.reader = new BufferedReader(new InputStreamReader(
+                new CountingInputStream(socket.getInputStream(), CommunicationMetrics.TCP_BYTES_IN)));
+        this.writer = new BufferedWriter(new OutputStreamWriter(
+                new CountingOutputStream(socket.getOutputStream(), CommunicationMetrics.TCP_BYTES_OUT)));
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+        writer.flush();
+    }
+
+    @Override
+    public int shutdown(long timeout, TimeUnit unit) throws IOException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int discarded = 0;
+        try {
+            if (!socket.isOutputShutdown()) {
+                socket.shutdownOutput();
+            }
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                socket.setSoTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining)));
+                if (reader.readLine() == null) {
+                    break;
+                }
+                discarded++;
+            }
+        } catch (SocketTimeoutException e) {
+            // The peer did not close its side in time
+        } finally {
+            close();
+        }
+        return discarded;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.transport.idle.IdleStrategy;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineConnection that never blocks in the kernel: it polls a non-blocking SocketChannel
+ * and waits between empty polls with an IdleStrategy (spin, yield, park).
+ *
+ * Notes:
+ * - Trades CPU time for latency; with a busy-spin strategy the calling thread keeps its core busy
+ * - Must be used by one thread at a time, like a BufferedReader/BufferedWriter pair
+ */
+public class BusyPollLineConnection implements LineConnection {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final IdleStrategy idleStrategy;
+    private ByteBuffer readBuffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+    private int scanned;
+
+    /**
+     * Creates a busy-polling connection and switches the channel to non-blocking mode.
+     *
+     * @param channel      connected socket channel
+     * @param idleStrategy strategy used between empty polls
+     * @throws IOException if the channel cannot be configured
+     */
+    public BusyPollLineConnection(SocketChannel channel, IdleStrategy idleStrategy) throws IOException {
+        this.channel = channel;
+        this.idleStrategy = idleStrategy;
+        channel.configureBlocking(false);
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return readLine(false, 0);
+    }
+
+    /**
+     * Polls until a complete line arrives, the peer closes the connection or, if timed, the deadline passes.
+     */
+    private String readLine(boolean timed, long deadlineNanos) throws IOException {
+        while (true) {
+            String line = extractLine();
+            if (line != null) {
+                return line;
+            }
+            if (!readBuffer.hasRemaining()) {
+                grow();
+            }
+            int n = channel.read(readBuffer);
+            if (n < 0) {
+                return readBuffer.position() > 0 ? takeBytes(readBuffer.position(), readBuffer.position()) : null;
+            }
+            if (n == 0) {
+                if (timed && deadlineNanos - System.nanoTime() <= 0) {
+                    throw new SocketTimeoutException("No line received before the deadline");
+                }
+                idleStrategy.idle();
+            } else {
+                idleStrategy.reset();
+                CommunicationMetrics.TCP_BYTES_IN.add(n);
+            }
+        }
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) == 0) {
+                idleStrategy.idle();
+            }
+        }
+        idleStrategy.reset();
+        CommunicationMetrics.TCP_BYTES_OUT.add(bytes.length);
+    }
+
+    @Override
+    public int shutdown(long timeout, TimeUnit unit) throws IOException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int discarded = 0;
+        try {
+            channel.shutdownOutput();
+            while (readLine(true, deadline) != null) {
+                discarded++;
+            }
+        } catch (SocketTimeoutException e) {
+            // The peer did not close its side in time
+        } finally {
+            close();
+        }
+        return discarded;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Returns the next complete line from the read buffer, or null if no newline has been received yet.
+     */
+    private String extractLine() {
+        int end = readBuffer.position();
+        for (int i = scanned; i < end; i++) {
+            if (readBuffer.get(i) == '\n') {
+                int length = i > 0 && readBuffer.get(i - 1) == '\r' ? i - 1 : i;
+                return takeBytes(length, i + 1);
+            }
+        }
+        scanned = end;
+        return null;
+    }
+
+    /**
+     * Decodes the first length bytes and removes the first consumed bytes from the buffer.
+     */
+    private String takeBytes(int length, int consumed) {
+        byte[] bytes = new byte[length];
+        readBuffer.get(0, bytes);
+        readBuffer.flip().position(consumed);
+        readBuffer.compact();
+        scanned = 0;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void grow() {
+        ByteBuffer larger = ByteBuffer.allocateDirect(readBuffer.capacity() * 2);
+        readBuffer.flip();
+        larger.put(readBuffer);
+        readBuffer = larger;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.transport.timer.HashedTimingWheel;
+import com.example.playercomm.transport.timer.IdleTimer;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LineConnection decorator that keeps an idle connection alive with heartbeats and detects dead peers.
+ *
+ * Responsibilities:
+ * - Sends a HEARTBEAT line whenever nothing has been written for the heartbeat interval
+ * - Skips HEARTBEAT lines received from the peer, so callers only see real messages
+ * - Closes the connection when a readLine() call has received nothing, not even a heartbeat,
+ *   for the read timeout; the blocked readLine() then fails with a SocketTimeoutException
+ * - Does not time out while nobody is reading, e.g. while the initiator waits for user input
+ *
+ * Notes:
+ * - Both timers live on a shared HashedTimingWheel; reads and writes only record their time
+ * - The read timer repeats, because its idle action does nothing while nobody is reading
+ * - Heartbeats are written on a short-lived virtual thread, never on the wheel's worker thread, so a
+ *   socket write that blocks on a peer that stopped reading cannot hold up other connections' timers
+ * - A heartbeat is skipped when another write holds the write lock; that write keeps the peer alive
+ * - Both peers must use heartbeats, otherwise a quiet peer is mistaken for a dead one
+ */
+public final class HeartbeatLineConnection implements LineConnection {
+
+    /**
+     * Content of a heartbeat line. Starts with a NUL character, which never appears in typed messages.
+     */
+    public static final String HEARTBEAT = "\u0000HEARTBEAT";
+
+    private final LineConnection delegate;
+    private final long readTimeoutMillis;
+    private final IdleTimer heartbeatTimer;
+    private final IdleTimer readTimer;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile boolean reading;
+    private volatile boolean timedOut;
+
+    private HeartbeatLineConnection(LineConnection delegate, HashedTimingWheel wheel,
+                                    long heartbeatIntervalMillis, long readTimeoutMillis) {
+        this.delegate = delegate;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.heartbeatTimer = new IdleTimer(wheel, heartbeatIntervalMillis, TimeUnit.MILLISECONDS, true,
+                this::sendHeartbeat);
+        this.readTimer = new IdleTimer(wheel, readTimeoutMillis, TimeUnit.MILLISECONDS, true,
+                this::readIdle);
+    }
+
+    /**
+     * Wraps a connection and starts its heartbeat and read-timeout timers.
+     *
+     * @param delegate                connection to wrap
+     * @param wheel                   timing wheel driving the timers
+     * @param heartbeatIntervalMillis write-idle time after which a heartbeat is sent
+     * @param readTimeoutMillis       read-idle time after which the peer is considered dead
+     * @return the wrapped connection, with both timers running
+     */
+    public static HeartbeatLineConnection open(LineConnection delegate, HashedTimingWheel wheel,
+                                               long heartbeatIntervalMillis, long readTimeoutMillis) {
+        if (heartbeatIntervalMillis >= readTimeoutMillis) {
+            throw new IllegalArgumentException("Heartbeat interval must be shorter than the read timeout");
+        }
+        HeartbeatLineConnection connection =
+                new HeartbeatLineConnection(delegate, wheel, heartbeatIntervalMillis, readTimeoutMillis);
+        connection.heartbeatTimer.start();
+        connection.readTimer.start();
+        return connection;
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        readTimer.touch();
+        reading = true;
+        try {
+            String line;
+            do {
+                line = delegate.readLine();
+                readTimer.touch();
+            } while (HEARTBEAT.equals(line));
+            return line;
+        } catch (IOException e) {
+            throw timedOut ? timeoutException() : e;
+        } finally {
+            reading = false;
+        }
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        writeLock.lock();
+        try {
+            delegate.writeLine(line);
+        } finally {
+            writeLock.unlock();
+        }
+        heartbeatTimer.touch();
+    }
+
+    @Override
+    public int shutdown(long timeout, TimeUnit unit) throws IOException {
+        stopTimers();
+        writeLock.lock();
+        try {
+            return delegate.shutdown(timeout, unit);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        stopTimers();
+        delegate.close();
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Runs on the wheel's worker thread, which must not block: the write happens on a virtual thread.
+     */
+    private void sendHeartbeat() {
+        if (!writeLock.isLocked()) {
+            Thread.ofVirtual().name("heartbeat").start(this::writeHeartbeat);
+        }
+    }
+
+    private void writeHeartbeat() {
+        if (!writeLock.tryLock()) {
+            return;
+        }
+        try {
+            delegate.writeLine(HEARTBEAT);
+        } catch (IOException e) {
+            // The read timeout detects the broken connection
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void readIdle() {
+        if (!reading) {
+            return;
+        }
+        timedOut = true;
+        stopTimers();
+        try {
+            delegate.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void stopTimers() {
+        heartbeatTimer.stop();
+        readTimer.stop();
+    }
+
+    private SocketTimeoutException timeoutException() {
+        return new SocketTimeoutException("Peer silent for more than " + readTimeoutMillis + " ms");
+    }
+}
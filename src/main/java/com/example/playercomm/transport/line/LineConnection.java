@@ -0,0 +1,51 @@
+package com.example.playercomm.transport.line;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line-oriented TCP connection used by the separate-process initiator and responder.
+ *
+ * Implementations:
+ * - BlockingLineConnection: blocks in BufferedReader.readLine() (default)
+ * - BusyPollLineConnection: polls a non-blocking SocketChannel using an IdleStrategy
+ */
+public interface LineConnection extends AutoCloseable {
+
+    /**
+     * Reads the next line, without the line terminator.
+     *
+     * @return next line, or null if the peer closed the connection
+     * @throws IOException if reading fails
+     */
+    String readLine() throws IOException;
+
+    /**
+     * Writes a line followed by a newline and flushes it to the socket.
+     *
+     * @param line line to send
+     * @throws IOException if writing fails
+     */
+    void writeLine(String line) throws IOException;
+
+    /**
+     * Closes the connection gracefully: half-closes the output so that the peer reads end-of-stream
+     * after the last line, reads and discards incoming lines until the peer closes its side or the
+     * deadline passes, then closes the socket.
+     * The side that calls this first sends the first FIN and is the one left in TIME_WAIT.
+     *
+     * @param timeout maximum time to wait for the peer to close
+     * @param unit    unit of the timeout
+     * @return number of incoming lines discarded
+     * @throws IOException if shutting down the socket fails
+     */
+    int shutdown(long timeout, TimeUnit unit) throws IOException;
+
+    /**
+     * Closes the underlying socket.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    void close() throws IOException;
+}
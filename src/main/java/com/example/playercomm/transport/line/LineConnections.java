@@ -0,0 +1,88 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.transport.idle.IdleStrategy;
+import com.example.playercomm.transport.timer.HashedTimingWheel;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+
+/**
+ * Factory choosing the LineConnection implementation for a socket, and opening the listening side.
+ */
+public final class LineConnections {
+
+    /**
+     * System property with the heartbeat interval in milliseconds; 0 disables heartbeats and read timeouts.
+     */
+    public static final String HEARTBEAT_PROPERTY = "playercomm.heartbeat.ms";
+
+    /**
+     * System property with the read timeout in milliseconds after which a silent peer is considered dead.
+     */
+    public static final String READ_TIMEOUT_PROPERTY = "playercomm.read.timeout.ms";
+
+    public static final long DEFAULT_HEARTBEAT_MILLIS = 1_000;
+    public static final long DEFAULT_READ_TIMEOUT_MILLIS = 5_000;
+
+    private LineConnections() {
+    }
+
+    /**
+     * Wraps a connected socket.
+     *
+     * @param socket       connected socket; must be channel-backed when busy-polling
+     * @param idleStrategy busy-poll strategy, or null for blocking I/O
+     * @return line connection
+     * @throws IOException if the socket streams or channel cannot be set up
+     */
+    public static LineConnection open(Socket socket, IdleStrategy idleStrategy) throws IOException {
+        socket.setTcpNoDelay(true);
+        if (idleStrategy == null) {
+            return new BlockingLineConnection(socket);
+        }
+        if (socket.getChannel() == null) {
+            throw new IllegalArgumentException("Busy-polling requires a socket created from a SocketChannel");
+        }
+        return new BusyPollLineConnection(socket.getChannel(), idleStrategy);
+    }
+
+    /**
+     * Adds heartbeats and a read timeout to a connection, as configured by the
+     * "playercomm.heartbeat.ms" and "playercomm.read.timeout.ms" system properties.
+     *
+     * @param connection connection to wrap
+     * @return the connection with heartbeats, or the connection itself if heartbeats are disabled
+     */
+    public static LineConnection withHeartbeatsFromSystemProperties(LineConnection connection) {
+        long heartbeat = Long.getLong(HEARTBEAT_PROPERTY, DEFAULT_HEARTBEAT_MILLIS);
+        long readTimeout = Long.getLong(READ_TIMEOUT_PROPERTY, DEFAULT_READ_TIMEOUT_MILLIS);
+        if (heartbeat <= 0) {
+            return connection;
+        }
+        return HeartbeatLineConnection.open(connection, HashedTimingWheel.shared(), heartbeat, readTimeout);
+    }
+
+    /**
+     * Opens a blocking server channel on the given port with SO_REUSEADDR enabled, so that a
+     * restarted responder can bind its port again while connections from its previous run are
+     * still in TIME_WAIT.
+     *
+     * @param port local port to listen on
+     * @return bound server channel
+     * @throws IOException if the port cannot be bound
+     */
+    public static ServerSocketChannel listen(int port) throws IOException {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        try {
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(new InetSocketAddress(port));
+            return server;
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+    }
+}
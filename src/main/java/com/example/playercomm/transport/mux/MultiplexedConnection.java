@@ -0,0 +1,314 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.metrics.CommunicationMetrics;
+import com.example.playercomm.metrics.CountingInputStream;
+import com.example.playercomm.metrics.CountingOutputStream;
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.PriorityLanes;
+import com.example.playercomm.transport.compression.CompressionSettings;
+import com.example.playercomm.transport.compression.PayloadCompressor;
+import com.example.playercomm.transport.compression.PayloadDecompressor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.channels.ClosedChannelException;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Carries many logical MuxChannel conversations over a single TCP connection.
+ *
+ * Responsibilities:
+ * - Tags every frame with its channel id and dispatches incoming frames to channels
+ * - Schedules outgoing frames with deficit round-robin, so a busy channel cannot starve others
+ * - Serves channels in priority lanes (see PriorityLanes), so control and interactive channels
+ *   do not queue behind bulk channels
+ * - Opens channels locally and accepts channels opened by the peer
+ * - Optionally compresses DATA payloads above a size threshold (see CompressionSettings)
+ *
+ * Notes:
+ * - The side that connected uses odd channel ids and the accepting side even ids, so both
+ *   sides can open channels without coordination
+ * - One reader and one writer thread serve all channels of the connection; they are started by the
+ *   open() factories once the connection is fully constructed
+ */
+public class MultiplexedConnection implements AutoCloseable {
+
+    /**
+     * Bytes a channel may send per scheduling round before yielding to the next channel.
+     */
+    public static final int DEFAULT_QUANTUM = 16 * 1024;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final int quantum;
+    private final PayloadCompressor compressor;
+    private final PayloadDecompressor decompressor;
+
+    private final Map<Integer, MuxChannel> channels = new ConcurrentHashMap<>();
+    private final BlockingQueue<MuxChannel> accepted = new LinkedBlockingQueue<>();
+    private final PriorityLanes<MuxChannel> ready = new PriorityLanes<>();
+    private final AtomicInteger nextChannelId;
+
+    private final Thread readerThread;
+    private final Thread writerThread;
+
+    private final CountDownLatch closedLatch = new CountDownLatch(1);
+
+    private volatile boolean closed;
+    private volatile boolean writerSleeping;
+
+    /**
+     * Opens a multiplexed connection with the default scheduling quantum and without compression.
+     *
+     * @param socket connected socket
+     * @param client true for the side that initiated the TCP connection
+     * @return the running connection
+     * @throws IOException if the socket streams cannot be obtained
+     */
+    public static MultiplexedConnection open(Socket socket, boolean client) throws IOException {
+        return open(socket, client, DEFAULT_QUANTUM, CompressionSettings.DISABLED);
+    }
+
+    /**
+     * Opens a multiplexed connection and starts its reader and writer threads.
+     *
+     * @param socket      connected socket
+     * @param client      true for the side that initiated the TCP connection
+     * @param quantum     bytes per channel per scheduling round
+     * @param compression compression settings; both peers must share the same dictionary
+     * @return the running connection
+     * @throws IOException if the socket streams cannot be obtained
+     */
+    public static MultiplexedConnection open(Socket socket, boolean client, int quantum,
+                                             CompressionSettings compression) throws IOException {
+        MultiplexedConnection connection = new MultiplexedConnection(socket, client, quantum, compression);
+        connection.readerThread.start();
+        connection.writerThread.start();
+        return connection;
+    }
+
+    private MultiplexedConnection(Socket socket, boolean client, int quantum,
+                                  CompressionSettings compression) throws IOException {
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("quantum must be positive");
+        }
+        this.socket = socket;
+        this.quantum = quantum;
+        this.compressor = compression.newCompressor();
+        this.decompressor = compression.newDecompressor();
+        this.nextChannelId = new AtomicInteger(client ? 1 : 2);
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(
+                new CountingInputStream(socket.getInputStream(), CommunicationMetrics.TCP_BYTES_IN)));
+        this.out = new DataOutputStream(new BufferedOutputStream(
+                new CountingOutputStream(socket.getOutputStream(), CommunicationMetrics.TCP_BYTES_OUT)));
+        CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.increment();
+
+        this.readerThread = new Thread(this::readLoop, "mux-reader-" + socket.getLocalPort());
+        this.writerThread = new Thread(this::writeLoop, "mux-writer-" + socket.getLocalPort());
+        readerThread.setDaemon(true);
+        writerThread.setDaemon(true);
+    }
+
+    /**
+     * Opens a new INTERACTIVE channel and announces it to the peer.
+     *
+     * @return the new channel
+     * @throws IOException if the connection is closed
+     */
+    public MuxChannel openChannel() throws IOException {
+        return openChannel(MessagePriority.INTERACTIVE);
+    }
+
+    /**
+     * Opens a new channel with the given priority and announces it to the peer,
+     * which schedules its side of the channel in the same lane.
+     *
+     * @param priority scheduling lane of the channel
+     * @return the new channel
+     * @throws IOException if the connection is closed
+     */
+    public MuxChannel openChannel(MessagePriority priority) throws IOException {
+        int id = nextChannelId.getAndAdd(2);
+        MuxChannel channel = new MuxChannel(id, priority, this);
+        channels.put(id, channel);
+        channel.enqueue(MuxFrame.open(id, priority));
+        return channel;
+    }
+
+    /**
+     * Waits for the peer to open a channel.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return the channel opened by the peer, or null if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public MuxChannel acceptChannel(long timeout, TimeUnit unit) throws InterruptedException {
+        return accepted.poll(timeout, unit);
+    }
+
+    public int getChannelCount() {
+        return channels.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Waits until the TCP connection has been closed, by either side.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return true if the connection is closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitClose(long timeout, TimeUnit unit) throws InterruptedException {
+        return closedLatch.await(timeout, unit);
+    }
+
+    void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Connection is closed");
+        }
+    }
+
+    /**
+     * Adds a channel with pending frames to the scheduler's ready queue.
+     */
+    void schedule(MuxChannel channel) {
+        ready.offer(channel.getPriority(), channel);
+        if (writerSleeping) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Deficit round-robin: each ready channel may send up to one quantum of bytes per turn.
+     * A frame larger than the quantum is sent once the channel has accumulated enough credit.
+     * Turns are handed out by the priority lanes, and every non-bulk turn is flushed right away
+     * instead of waiting for the output buffer to fill up.
+     */
+    private void writeLoop() {
+        try {
+            while (!closed) {
+                MuxChannel channel = ready.poll();
+                if (channel == null) {
+                    out.flush();
+                    writerSleeping = true;
+                    if (ready.isEmpty() && !closed) {
+                        LockSupport.park(this);
+                    }
+                    writerSleeping = false;
+                    continue;
+                }
+
+                channel.deficit += quantum;
+                MuxFrame frame;
+                while ((frame = channel.peekOutbound()) != null && frame.size() <= channel.deficit) {
+                    channel.pollOutbound();
+                    channel.deficit -= frame.size();
+                    frame.writeTo(out, compressor);
+                    if (frame.type == MuxFrame.CLOSE && channel.isRemoteClosed()) {
+                        channels.remove(channel.getId());
+                    }
+                }
+
+                if (channel.getPriority() != MessagePriority.BULK) {
+                    out.flush();
+                }
+                if (channel.peekOutbound() != null) {
+                    ready.offer(channel.getPriority(), channel);
+                } else {
+                    channel.deficit = 0;
+                    if (channel.unscheduleIfEmpty()) {
+                        ready.offer(channel.getPriority(), channel);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("[Mux] Write failed: " + e.getMessage());
+            }
+        } finally {
+            close();
+            compressor.end();
+        }
+    }
+
+    private void readLoop() {
+        try {
+            while (!closed) {
+                MuxFrame frame = MuxFrame.readFrom(in);
+                switch (frame.type) {
+                    case MuxFrame.OPEN -> {
+                        MuxChannel channel = new MuxChannel(frame.channelId, frame.openPriority(), this);
+                        channels.put(frame.channelId, channel);
+                        accepted.offer(channel);
+                    }
+                    case MuxFrame.DATA -> {
+                        MuxChannel channel = channels.get(frame.channelId);
+                        if (channel != null) {
+                            channel.onData(decompressor.decode(frame.payload));
+                        }
+                    }
+                    case MuxFrame.CLOSE -> {
+                        MuxChannel channel = channels.get(frame.channelId);
+                        if (channel != null) {
+                            channel.onRemoteClose();
+                            if (channel.isLocalClosed()) {
+                                channels.remove(frame.channelId);
+                            }
+                        }
+                    }
+                    default -> throw new IOException("Unknown frame type: " + frame.type);
+                }
+            }
+        } catch (EOFException | SocketException | ClosedChannelException e) {
+            // Peer closed the connection, or close() closed a channel-backed socket under the reader
+        } catch (IOException e) {
+            System.err.println("[Mux] Read failed: " + e.getMessage());
+        } finally {
+            close();
+            decompressor.end();
+        }
+    }
+
+    /**
+     * Closes the TCP connection. Frames not yet written are discarded and all channels see end-of-stream.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+        LockSupport.unpark(writerThread);
+        CommunicationMetrics.TCP_ACTIVE_CONNECTIONS.decrement();
+        for (MuxChannel channel : channels.values()) {
+            channel.onRemoteClose();
+        }
+        closedLatch.countDown();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.model.MessagePriority;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One logical conversation carried by a MultiplexedConnection.
+ *
+ * Responsibilities:
+ * - Queues outgoing messages until the connection's scheduler picks this channel
+ * - Buffers incoming messages, or hands them to a listener on the connection's reader thread
+ *
+ * Notes:
+ * - A channel is the multiplexed equivalent of one initiator/responder socket pair
+ * - Messages are delivered in order within a channel; channels are independent of each other
+ * - The channel's MessagePriority selects its scheduling lane on both ends of the connection
+ */
+public class MuxChannel {
+
+    private static final String END_OF_STREAM = new String("<end-of-stream>");
+
+    private final int id;
+    private final MessagePriority priority;
+    private final MultiplexedConnection connection;
+    private final Queue<MuxFrame> outbound = new ConcurrentLinkedQueue<>();
+    private final BlockingQueue<String> inbound = new LinkedBlockingQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile Consumer<String> listener;
+    private volatile boolean localClosed;
+    private volatile boolean remoteClosed;
+
+    /**
+     * Remaining byte budget in the current round of the deficit round-robin scheduler.
+     * Only accessed by the writer thread.
+     */
+    int deficit;
+
+    MuxChannel(int id, MessagePriority priority, MultiplexedConnection connection) {
+        this.id = id;
+        this.priority = priority;
+        this.connection = connection;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public MessagePriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Queues a message for sending on this channel.
+     *
+     * @param message message text
+     * @throws IOException if the channel or the connection is closed, or the message is longer than the peer accepts
+     */
+    public void send(String message) throws IOException {
+        if (localClosed) {
+            throw new IOException("Channel " + id + " is closed");
+        }
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        if (payload.length > MuxFrame.MAX_MESSAGE_BYTES) {
+            // Rejected here, because the peer would fail the whole connection on reading it
+            throw new IOException("Invalid message length: " + payload.length + " (maximum " + MuxFrame.MAX_MESSAGE_BYTES + ")");
+        }
+        enqueue(new MuxFrame(MuxFrame.DATA, id, payload));
+    }
+
+    /**
+     * Waits for the next message on this channel.
+     *
+     * @return next message, or null if the peer closed the channel
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public String receive() throws InterruptedException {
+        return unwrap(inbound.take());
+    }
+
+    /**
+     * Waits up to the given timeout for the next message on this channel.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return next message, or null if the timeout elapsed or the peer closed the channel
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public String receive(long timeout, TimeUnit unit) throws InterruptedException {
+        return unwrap(inbound.poll(timeout, unit));
+    }
+
+    /**
+     * Registers a listener invoked on the connection's reader thread for every incoming message.
+     * Messages already buffered are handed to the listener first, on the calling thread, so ordering
+     * is preserved. No lock is held while the listener runs.
+     *
+     * @param listener message callback; must not block
+     */
+    public void setListener(Consumer<String> listener) {
+        this.listener = listener;
+        drainToListener();
+    }
+
+    public boolean isLocalClosed() {
+        return localClosed;
+    }
+
+    public boolean isRemoteClosed() {
+        return remoteClosed;
+    }
+
+    /**
+     * Closes the sending side of this channel. Messages already queued are still sent.
+     *
+     * @throws IOException if the connection is closed
+     */
+    public void close() throws IOException {
+        if (!localClosed) {
+            localClosed = true;
+            enqueue(MuxFrame.control(MuxFrame.CLOSE, id));
+        }
+    }
+
+    void enqueue(MuxFrame frame) throws IOException {
+        connection.ensureOpen();
+        outbound.offer(frame);
+        if (scheduled.compareAndSet(false, true)) {
+            connection.schedule(this);
+        }
+    }
+
+    MuxFrame peekOutbound() {
+        return outbound.peek();
+    }
+
+    MuxFrame pollOutbound() {
+        return outbound.poll();
+    }
+
+    /**
+     * Called by the writer thread when it removes this channel from the ready queue.
+     * Returns true if new frames arrived meanwhile and the channel must stay scheduled.
+     */
+    boolean unscheduleIfEmpty() {
+        scheduled.set(false);
+        return !outbound.isEmpty() && scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Buffers an incoming message and hands it to the listener, if one is set.
+     */
+    void onData(byte[] payload) {
+        inbound.offer(new String(payload, StandardCharsets.UTF_8));
+        if (listener != null) {
+            drainToListener();
+        }
+    }
+
+    /**
+     * Hands buffered messages to the listener in arrival order. Only one thread drains at a time:
+     * a message buffered while another thread is draining is picked up by that thread, which checks
+     * the queue again after giving up the draining flag. The end-of-stream marker stays queued.
+     */
+    private void drainToListener() {
+        Consumer<String> current = listener;
+        while (current != null && draining.compareAndSet(false, true)) {
+            try {
+                String message;
+                while ((message = inbound.peek()) != null && message != END_OF_STREAM) {
+                    inbound.poll();
+                    current.accept(message);
+                }
+            } finally {
+                draining.set(false);
+            }
+            String next = inbound.peek();
+            if (next == null || next == END_OF_STREAM) {
+                return;
+            }
+        }
+    }
+
+    void onRemoteClose() {
+        remoteClosed = true;
+        inbound.offer(END_OF_STREAM);
+    }
+
+    private static String unwrap(String message) {
+        return message == END_OF_STREAM ? null : message;
+    }
+}
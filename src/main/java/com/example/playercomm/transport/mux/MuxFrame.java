@@ -0,0 +1,105 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.compression.PayloadCompressor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A single frame of the multiplexing protocol.
+ *
+ * Frame layout: [1 byte type][int channelId][int length][payload bytes]
+ * - OPEN:  announces a new channel opened by the sender (payload: 1 byte MessagePriority ordinal)
+ * - DATA:  one message of a channel, encoded by a PayloadCompressor (optionally deflated)
+ * - CLOSE: the sender will not send more data on the channel (empty payload)
+ */
+final class MuxFrame {
+
+    static final byte OPEN = 1;
+    static final byte DATA = 2;
+    static final byte CLOSE = 3;
+
+    /**
+     * Bytes of framing overhead per frame.
+     */
+    static final int HEADER_SIZE = 9;
+
+    /**
+     * Largest payload accepted from the peer; longer frames fail the connection before anything is allocated.
+     */
+    static final int MAX_PAYLOAD_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Largest message a channel sends; a PayloadCompressor encoding is at most one flag byte longer than the message.
+     */
+    static final int MAX_MESSAGE_BYTES = MAX_PAYLOAD_BYTES - 1;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    final byte type;
+    final int channelId;
+    final byte[] payload;
+
+    MuxFrame(byte type, int channelId, byte[] payload) {
+        this.type = type;
+        this.channelId = channelId;
+        this.payload = payload;
+    }
+
+    static MuxFrame control(byte type, int channelId) {
+        return new MuxFrame(type, channelId, EMPTY);
+    }
+
+    static MuxFrame open(int channelId, MessagePriority priority) {
+        return new MuxFrame(OPEN, channelId, new byte[] {(byte) priority.ordinal()});
+    }
+
+    /**
+     * Returns the channel priority announced by an OPEN frame.
+     * Frames without a payload come from peers that predate priorities and mean INTERACTIVE.
+     *
+     * @return announced priority
+     * @throws IOException if the priority is unknown
+     */
+    MessagePriority openPriority() throws IOException {
+        if (payload.length == 0) {
+            return MessagePriority.INTERACTIVE;
+        }
+        MessagePriority[] priorities = MessagePriority.values();
+        if (payload[0] < 0 || payload[0] >= priorities.length) {
+            throw new IOException("Unknown channel priority: " + payload[0]);
+        }
+        return priorities[payload[0]];
+    }
+
+    int size() {
+        return HEADER_SIZE + payload.length;
+    }
+
+    void writeTo(DataOutputStream out, PayloadCompressor compressor) throws IOException {
+        out.writeByte(type);
+        out.writeInt(channelId);
+        if (type == DATA) {
+            int length = compressor.encode(payload);
+            out.writeInt(length);
+            out.write(compressor.getBuffer(), 0, length);
+        } else {
+            out.writeInt(payload.length);
+            out.write(payload);
+        }
+    }
+
+    static MuxFrame readFrom(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int channelId = in.readInt();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Invalid frame length: " + length + " (maximum " + MAX_PAYLOAD_BYTES + ")");
+        }
+        byte[] payload = length == 0 ? EMPTY : new byte[length];
+        in.readFully(payload);
+        return new MuxFrame(type, channelId, payload);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.transport.compression.CompressionSettings;
+import com.example.playercomm.transport.line.LineConnection;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LineConnection carried by one MuxChannel of a MultiplexedConnection.
+ *
+ * Responsibilities:
+ * - Lets the separate-process initiator and responder talk over a multiplexed connection
+ *   without changing their line-based exchange
+ * - Maps writeLine()/readLine() onto MuxChannel.send()/receive()
+ * - Closes in the same order as the line connections: the side that shuts down first waits
+ *   for the peer's CLOSE frame and then closes the TCP connection, so it is the one left in TIME_WAIT
+ *
+ * Notes:
+ * - Enabled in SeparateProcessCommunicationHandler by "-Dplayercomm.mux=true"; both peers must enable it
+ * - The connection's own reader thread does the socket I/O, so busy-poll idle strategies do not apply
+ */
+public final class MuxLineConnection implements LineConnection {
+
+    /**
+     * System property that switches the separate-process handler to multiplexed connections.
+     */
+    public static final String PROPERTY = "playercomm.mux";
+
+    private final MultiplexedConnection connection;
+    private final MuxChannel channel;
+
+    private volatile boolean closedLocally;
+
+    private MuxLineConnection(MultiplexedConnection connection, MuxChannel channel) {
+        this.connection = connection;
+        this.channel = channel;
+    }
+
+    /**
+     * Returns whether "playercomm.mux" is set to true.
+     *
+     * @return true if separate-process connections should be multiplexed
+     */
+    public static boolean isEnabledBySystemProperty() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Opens a multiplexed connection on the connecting side and opens one channel on it.
+     *
+     * @param socket      connected socket
+     * @param compression payload compression settings
+     * @return line connection over the new channel
+     * @throws IOException if the connection cannot be set up
+     */
+    public static MuxLineConnection connect(Socket socket, CompressionSettings compression) throws IOException {
+        MultiplexedConnection connection = MultiplexedConnection.open(socket, true,
+                MultiplexedConnection.DEFAULT_QUANTUM, compression);
+        try {
+            return new MuxLineConnection(connection, connection.openChannel());
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a multiplexed connection on the accepting side and waits for the peer to open a channel.
+     *
+     * @param socket      accepted socket
+     * @param compression payload compression settings
+     * @param timeout     maximum time to wait for the channel
+     * @param unit        unit of the timeout
+     * @return line connection over the peer's channel
+     * @throws IOException if the connection cannot be set up or no channel was opened in time
+     */
+    public static MuxLineConnection accept(Socket socket, CompressionSettings compression,
+                                           long timeout, TimeUnit unit) throws IOException {
+        MultiplexedConnection connection = MultiplexedConnection.open(socket, false,
+                MultiplexedConnection.DEFAULT_QUANTUM, compression);
+        try {
+            MuxChannel channel = connection.acceptChannel(timeout, unit);
+            if (channel == null) {
+                throw new IOException("Peer did not open a channel within " + unit.toMillis(timeout) + " ms");
+            }
+            return new MuxLineConnection(connection, channel);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            connection.close();
+            throw new InterruptedIOException("Interrupted while waiting for a channel");
+        } catch (IOException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        String line;
+        try {
+            line = channel.receive();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading");
+        }
+        if (line == null && closedLocally) {
+            // Same as a socket closed underneath a blocked read
+            throw new SocketException("Connection closed");
+        }
+        return line;
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        channel.send(line);
+    }
+
+    @Override
+    public int shutdown(long timeout, TimeUnit unit) throws IOException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean peerClosedFirst = channel.isRemoteClosed();
+        int discarded = 0;
+        try {
+            if (connection.isClosed()) {
+                return 0;
+            }
+            channel.close();
+            if (peerClosedFirst) {
+                // The peer closes the TCP connection once it has read our CLOSE frame
+                connection.awaitClose(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } else {
+                long remaining;
+                while ((remaining = deadline - System.nanoTime()) > 0
+                        && channel.receive(remaining, TimeUnit.NANOSECONDS) != null) {
+                    discarded++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close();
+        }
+        return discarded;
+    }
+
+    @Override
+    public void close() {
+        closedLocally = true;
+        connection.close();
+    }
+}
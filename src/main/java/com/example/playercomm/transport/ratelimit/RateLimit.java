@@ -0,0 +1,61 @@
+package com.example.playercomm.transport.ratelimit;
+
+import java.util.Locale;
+
+/**
+ * A sustained message rate together with the burst allowed on top of it.
+ */
+public final class RateLimit {
+
+    private final double permitsPerSecond;
+    private final int burst;
+
+    /**
+     * Creates a limit.
+     *
+     * @param permitsPerSecond sustained rate in messages per second
+     * @param burst            number of messages that may be sent back to back after an idle period
+     */
+    public RateLimit(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0) || permitsPerSecond > 1_000_000_000.0) {
+            throw new IllegalArgumentException("permitsPerSecond must be between 0 and 1e9: " + permitsPerSecond);
+        }
+        if (burst < 1 || burst > TokenBucket.MAX_BURST) {
+            throw new IllegalArgumentException("burst must be between 1 and " + TokenBucket.MAX_BURST + ": " + burst);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Parses "RATE" or "RATE/BURST", e.g. "1000/50". Without a burst, one second's worth of messages
+     * (at least 1, at most MAX_BURST) may be sent back to back.
+     *
+     * @param text limit description
+     * @return parsed limit
+     */
+    public static RateLimit parse(String text) {
+        String[] parts = text.trim().split("/");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid rate limit: " + text);
+        }
+        double rate = Double.parseDouble(parts[0].trim());
+        int burst = parts.length == 2
+                ? Integer.parseInt(parts[1].trim())
+                : (int) Math.max(1, Math.min(TokenBucket.MAX_BURST, rate));
+        return new RateLimit(rate, burst);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.1f/s (burst %d)", permitsPerSecond, burst);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.playercomm.transport.ratelimit;
+
+/**
+ * What happens to a message that exceeds its sender's or receiver's rate limit.
+ */
+public enum RateLimitPolicy {
+
+    /**
+     * Drop the message and report it to the dead-letter handler as RATE_LIMITED.
+     */
+    REJECT,
+
+    /**
+     * Make the sending thread wait until a permit is available (back-pressure); nothing is lost.
+     * Router-owned threads never wait: their messages are rejected as under REJECT.
+     */
+    DELAY,
+
+    /**
+     * Drop the message silently; it is only counted. Suited to traffic where the next message
+     * supersedes the previous one.
+     */
+    SHED
+}
@@ -0,0 +1,261 @@
+package com.example.playercomm.transport.ratelimit;
+
+import com.example.playercomm.metrics.CommunicationMetrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Per-sender and per-receiver rate limits, backed by one lock-free TokenBucket per player name.
+ *
+ * Responsibilities:
+ * - Holds default limits for all senders and all receivers, and overrides for individual players
+ * - Decides whether a message may pass: it needs a permit from its sender's bucket and from its receiver's bucket
+ * - Applies the configured policy when a permit is missing: reject, delay or shed
+ * - Counts rejected, shed and delayed messages
+ *
+ * Notes:
+ * - Buckets are created on first use; players without any limit share an UNLIMITED marker,
+ *   so their cost is one map lookup per side and no atomic operation
+ * - A sender permit is refunded when the receiver's bucket turns the message down
+ * - tryAcquire() never waits; threads that must not block use it, and under DELAY it rejects instead
+ * - Changing a limit replaces the affected buckets, so they start full again
+ * - Configured from system properties by fromSystemProperties(), e.g.
+ *   -Dplayercomm.ratelimit.sender=1000/50 -Dplayercomm.ratelimit.policy=shed
+ */
+public class RateLimiter {
+
+    public static final String SENDER_PROPERTY = "playercomm.ratelimit.sender";
+    public static final String RECEIVER_PROPERTY = "playercomm.ratelimit.receiver";
+    public static final String POLICY_PROPERTY = "playercomm.ratelimit.policy";
+
+    private static final TokenBucket UNLIMITED = new TokenBucket(new RateLimit(1, 1));
+
+    private final RateLimitPolicy policy;
+    private final Map<String, RateLimit> senderLimits = new ConcurrentHashMap<>();
+    private final Map<String, RateLimit> receiverLimits = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> senderBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> receiverBuckets = new ConcurrentHashMap<>();
+    private volatile RateLimit defaultSenderLimit;
+    private volatile RateLimit defaultReceiverLimit;
+    private final LongAdder limitedCount = new LongAdder();
+    private final LongAdder delayedCount = new LongAdder();
+
+    public RateLimiter(RateLimitPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Policy cannot be null");
+        }
+        this.policy = policy;
+    }
+
+    /**
+     * Creates a limiter from the "playercomm.ratelimit.*" system properties.
+     * Limits are given as "RATE" or "RATE/BURST"; the policy defaults to DELAY.
+     *
+     * @return configured limiter, or null if no limit is configured
+     */
+    public static RateLimiter fromSystemProperties() {
+        String sender = System.getProperty(SENDER_PROPERTY);
+        String receiver = System.getProperty(RECEIVER_PROPERTY);
+        if (isBlank(sender) && isBlank(receiver)) {
+            return null;
+        }
+        RateLimitPolicy policy = RateLimitPolicy.valueOf(
+                System.getProperty(POLICY_PROPERTY, "delay").trim().toUpperCase(Locale.ROOT));
+        RateLimiter limiter = new RateLimiter(policy);
+        if (!isBlank(sender)) {
+            limiter.setDefaultSenderLimit(RateLimit.parse(sender));
+        }
+        if (!isBlank(receiver)) {
+            limiter.setDefaultReceiverLimit(RateLimit.parse(receiver));
+        }
+        return limiter;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Limits every sender without an individual limit.
+     *
+     * @param limit default limit, or null for unlimited
+     */
+    public void setDefaultSenderLimit(RateLimit limit) {
+        this.defaultSenderLimit = limit;
+        senderBuckets.clear();
+    }
+
+    /**
+     * Limits every receiver without an individual limit.
+     *
+     * @param limit default limit, or null for unlimited
+     */
+    public void setDefaultReceiverLimit(RateLimit limit) {
+        this.defaultReceiverLimit = limit;
+        receiverBuckets.clear();
+    }
+
+    /**
+     * Limits the messages one player sends, overriding the default sender limit.
+     *
+     * @param playerName name of the sender
+     * @param limit      limit for this sender
+     */
+    public void setSenderLimit(String playerName, RateLimit limit) {
+        senderLimits.put(playerName, limit);
+        senderBuckets.remove(playerName);
+    }
+
+    /**
+     * Limits the messages one player receives, overriding the default receiver limit.
+     *
+     * @param playerName name of the receiver
+     * @param limit      limit for this receiver
+     */
+    public void setReceiverLimit(String playerName, RateLimit limit) {
+        receiverLimits.put(playerName, limit);
+        receiverBuckets.remove(playerName);
+    }
+
+    /**
+     * Decides whether a message may be sent, waiting for permits under the DELAY policy.
+     * The caller drops the message when this returns false.
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     * @return true if the message may be sent
+     */
+    public boolean acquire(String sender, String receiver) {
+        return acquire(sender, receiver, policy == RateLimitPolicy.DELAY);
+    }
+
+    /**
+     * Decides whether a message may be sent without waiting. Under the DELAY policy a missing
+     * permit rejects the message, as under REJECT; the caller drops the message when this returns false.
+     *
+     * @param sender   name of the sender
+     * @param receiver name of the receiver
+     * @return true if the message may be sent
+     */
+    public boolean tryAcquire(String sender, String receiver) {
+        return acquire(sender, receiver, false);
+    }
+
+    private boolean acquire(String sender, String receiver, boolean wait) {
+        TokenBucket senderBucket = senderBucket(sender);
+        TokenBucket receiverBucket = receiverBucket(receiver);
+        if (senderBucket == UNLIMITED && receiverBucket == UNLIMITED) {
+            return true;
+        }
+        if (wait) {
+            return await(senderBucket, receiverBucket);
+        }
+        if (senderBucket != UNLIMITED && !senderBucket.tryAcquire()) {
+            return limited();
+        }
+        if (receiverBucket != UNLIMITED && !receiverBucket.tryAcquire()) {
+            if (senderBucket != UNLIMITED) {
+                senderBucket.refund();
+            }
+            return limited();
+        }
+        return true;
+    }
+
+    private boolean await(TokenBucket senderBucket, TokenBucket receiverBucket) {
+        long start = System.nanoTime();
+        boolean delayed = false;
+        if (senderBucket != UNLIMITED) {
+            while (!senderBucket.tryAcquire()) {
+                delayed = true;
+                if (!park(senderBucket)) {
+                    return limited();
+                }
+            }
+        }
+        if (receiverBucket != UNLIMITED) {
+            while (!receiverBucket.tryAcquire()) {
+                delayed = true;
+                if (!park(receiverBucket)) {
+                    if (senderBucket != UNLIMITED) {
+                        senderBucket.refund();
+                    }
+                    return limited();
+                }
+            }
+        }
+        if (delayed) {
+            delayedCount.increment();
+            CommunicationMetrics.RATE_LIMIT_DELAY.record(System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    /**
+     * Parks until the bucket may have a permit again.
+     *
+     * @return false if the thread was interrupted; the interrupt flag is left set
+     */
+    private static boolean park(TokenBucket bucket) {
+        LockSupport.parkNanos(bucket.nanosUntilPermit());
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Cold path: counts a message that exceeded its limit.
+     *
+     * @return always false
+     */
+    private boolean limited() {
+        limitedCount.increment();
+        if (policy == RateLimitPolicy.SHED) {
+            CommunicationMetrics.RATE_LIMIT_SHED.increment();
+        } else {
+            CommunicationMetrics.RATE_LIMIT_REJECTED.increment();
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of messages turned down: rejected or shed, depending on the policy,
+     * or interrupted while waiting under DELAY.
+     *
+     * @return limited message count
+     */
+    public long getLimitedCount() {
+        return limitedCount.sum();
+    }
+
+    /**
+     * Returns the number of messages that had to wait for a permit under the DELAY policy.
+     *
+     * @return delayed message count
+     */
+    public long getDelayedCount() {
+        return delayedCount.sum();
+    }
+
+    private TokenBucket senderBucket(String name) {
+        TokenBucket bucket = senderBuckets.get(name);
+        return bucket != null ? bucket : senderBuckets.computeIfAbsent(name,
+                key -> newBucket(senderLimits.getOrDefault(key, defaultSenderLimit)));
+    }
+
+    private TokenBucket receiverBucket(String name) {
+        TokenBucket bucket = receiverBuckets.get(name);
+        return bucket != null ? bucket : receiverBuckets.computeIfAbsent(name,
+                key -> newBucket(receiverLimits.getOrDefault(key, defaultReceiverLimit)));
+    }
+
+    private static TokenBucket newBucket(RateLimit limit) {
+        return limit == null ? UNLIMITED : new TokenBucket(limit);
+    }
+}
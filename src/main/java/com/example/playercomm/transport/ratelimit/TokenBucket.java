@@ -0,0 +1,136 @@
+package com.example.playercomm.transport.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * Responsibilities:
+ * - Grants permits at a steady rate, allowing bursts up to the bucket capacity
+ * - Refills lazily when a permit is requested; there is no refill thread
+ * - Tells a waiting caller how long until the next permit is available
+ *
+ * Notes:
+ * - The whole state lives in one AtomicLong and changes with a single compareAndSet:
+ *   the low TOKEN_BITS bits hold the available tokens, the high bits the time of the last
+ *   refill in nanoseconds since the bucket was created (modulo 2^48, about 78 hours)
+ * - A refill only moves the timestamp forward by the time the added tokens represent,
+ *   so partial tokens are never lost, however often the bucket is polled
+ * - A bucket left idle for more than 78 hours may refill less than it should, once
+ */
+public final class TokenBucket {
+
+    static final int TOKEN_BITS = 16;
+    static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    static final long TIME_MASK = (1L << (Long.SIZE - TOKEN_BITS)) - 1;
+
+    /**
+     * Largest supported burst.
+     */
+    public static final int MAX_BURST = (int) TOKEN_MASK;
+
+    private final AtomicLong state;
+    private final long originNanos;
+    private final double nanosPerToken;
+    private final int burst;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param limit refill rate and capacity
+     */
+    public TokenBucket(RateLimit limit) {
+        this.originNanos = System.nanoTime();
+        this.nanosPerToken = 1_000_000_000.0 / limit.getPermitsPerSecond();
+        this.burst = limit.getBurst();
+        this.state = new AtomicLong(burst);
+    }
+
+    /**
+     * Takes one permit if one is available.
+     *
+     * @return true if a permit was taken
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long current = state.get();
+            long now = now();
+            long refilled = refill(current, now);
+            long tokens = refilled & TOKEN_MASK;
+            if (tokens == 0) {
+                return false;
+            }
+            if (state.compareAndSet(current, refilled - 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a permit that was taken but not used, for example because a second limit rejected the message.
+     */
+    public void refund() {
+        while (true) {
+            long current = state.get();
+            if ((current & TOKEN_MASK) >= burst || state.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns how long a caller has to wait for the next permit.
+     *
+     * @return nanoseconds until a permit is available, or 0 if one is available now
+     */
+    public long nanosUntilPermit() {
+        long current = state.get();
+        long now = now();
+        long refilled = refill(current, now);
+        if ((refilled & TOKEN_MASK) > 0) {
+            return 0;
+        }
+        long stamp = refilled >>> TOKEN_BITS;
+        long elapsed = (now - stamp) & TIME_MASK;
+        return Math.max(1, (long) Math.ceil(nanosPerToken - elapsed));
+    }
+
+    /**
+     * Returns the number of permits currently available, after refilling.
+     *
+     * @return available permits
+     */
+    public int getAvailablePermits() {
+        return (int) (refill(state.get(), now()) & TOKEN_MASK);
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    private long now() {
+        return (System.nanoTime() - originNanos) & TIME_MASK;
+    }
+
+    /**
+     * Computes the state after adding the tokens accumulated since the last refill.
+     */
+    private long refill(long current, long now) {
+        long tokens = current & TOKEN_MASK;
+        long stamp = current >>> TOKEN_BITS;
+        if (tokens >= burst) {
+            // A full bucket does not accumulate; keep the timestamp current
+            return (now << TOKEN_BITS) | tokens;
+        }
+        long elapsed = (now - stamp) & TIME_MASK;
+        long added = (long) (elapsed / nanosPerToken);
+        if (added == 0) {
+            return current;
+        }
+        if (tokens + added >= burst) {
+            return (now << TOKEN_BITS) | burst;
+        }
+        long advanced = (stamp + (long) (added * nanosPerToken)) & TIME_MASK;
+        return (advanced << TOKEN_BITS) | (tokens + added);
+    }
+}
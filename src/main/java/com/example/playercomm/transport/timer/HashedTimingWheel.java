@@ -0,0 +1,214 @@
+package com.example.playercomm.transport.timer;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel: schedules large numbers of coarse-grained timeouts with O(1) cost
+ * per schedule and cancel, all served by a single worker thread.
+ *
+ * Responsibilities:
+ * - Hashes each timeout into one of wheelSize buckets by its deadline tick
+ * - Advances one bucket per tick and runs the tasks whose deadline has been reached
+ * - Keeps timeouts further away than one wheel revolution in their bucket with a round counter
+ *
+ * Notes:
+ * - Timeouts fire up to one tick late; the tick duration is the resolution of the wheel
+ * - Tasks run on the worker thread and must be short and non-blocking
+ * - New timeouts are handed to the worker through a lock-free queue, so schedule() never blocks
+ * - Replaces one ScheduledExecutorService task per connection: rescheduling a heap-based task
+ *   costs O(log n), while an idle timer on the wheel only records its last activity (see IdleTimer)
+ */
+public final class HashedTimingWheel implements AutoCloseable {
+
+    /**
+     * Most new timeouts moved into buckets per tick, so that a burst cannot delay expiry.
+     */
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private static final class Holder {
+        static final HashedTimingWheel SHARED = new HashedTimingWheel(10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long startNanos;
+    private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * Creates and starts a timing wheel.
+     *
+     * @param tickDuration duration of one tick (timer resolution)
+     * @param unit         unit of the tick duration
+     * @param wheelSize    number of buckets, rounded up to a power of two
+     */
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickDuration and wheelSize must be positive");
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, "timing-wheel");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Returns the process-wide wheel (10 ms ticks, 512 buckets) used by connection timers.
+     *
+     * @return shared timing wheel
+     */
+    public static HashedTimingWheel shared() {
+        return Holder.SHARED;
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  task to run on the worker thread
+     * @param delay delay before the task runs
+     * @param unit  unit of the delay
+     * @return handle to cancel the task
+     */
+    public WheelTimeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timing wheel has been closed");
+        }
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pending.incrementAndGet();
+        additions.offer(timeout);
+        return timeout;
+    }
+
+    /**
+     * Returns the number of scheduled timeouts that have neither run nor been cancelled.
+     *
+     * @return pending timeouts
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public int getWheelSize() {
+        return buckets.length;
+    }
+
+    /**
+     * Called exactly once per timeout, by whichever of cancel() and expiry settled it.
+     */
+    void onSettled() {
+        pending.decrementAndGet();
+    }
+
+    private void run() {
+        while (running) {
+            waitForNextTick();
+            transferAdditions();
+            expire(buckets[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    private void waitForNextTick() {
+        long deadline = startNanos + (tick + 1) * tickNanos;
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTimeout timeout = additions.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long deadlineTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = (deadlineTick - tick) / buckets.length;
+            // A deadline already in the past goes into the current bucket
+            long targetTick = Math.max(deadlineTick, tick);
+            buckets[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(Bucket bucket) {
+        WheelTimeout timeout = bucket.head;
+        while (timeout != null) {
+            WheelTimeout next = timeout.next;
+            if (timeout.isCancelled()) {
+                bucket.remove(timeout);
+            } else if (timeout.remainingRounds <= 0) {
+                bucket.remove(timeout);
+                timeout.expire();
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+
+    /**
+     * Stops the worker thread. Timeouts that have not fired yet never will.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(worker);
+    }
+
+    /**
+     * Doubly-linked list of the timeouts hashed to one slot. Only accessed by the worker thread.
+     */
+    private static final class Bucket {
+
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.playercomm.transport.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires when nothing has happened for a given time, using a single timeout on a HashedTimingWheel.
+ *
+ * Responsibilities:
+ * - touch() records activity with a single volatile write; the timer is not rescheduled
+ * - When the timeout fires, it re-arms itself for the rest of the period if there was activity,
+ *   and runs the idle action otherwise
+ * - One-shot timers stop after the idle action; repeating timers re-arm, which suits heartbeats and
+ *   also read timeouts whose idle action may decide not to act (e.g. while nobody is reading)
+ *
+ * Notes:
+ * - Updating activity is O(1) and lock-free, so it is cheap enough to call on every read or write
+ */
+public final class IdleTimer {
+
+    private final HashedTimingWheel wheel;
+    private final long idleNanos;
+    private final boolean repeating;
+    private final Runnable onIdle;
+
+    private volatile long lastActivityNanos;
+    private volatile WheelTimeout timeout;
+    private volatile boolean stopped;
+
+    /**
+     * Creates a stopped idle timer.
+     *
+     * @param wheel     wheel the timer is scheduled on
+     * @param idleTime  time without activity after which onIdle runs
+     * @param unit      unit of the idle time
+     * @param repeating true to keep firing every idleTime while there is no activity
+     * @param onIdle    short, non-blocking action run on the wheel's worker thread
+     */
+    public IdleTimer(HashedTimingWheel wheel, long idleTime, TimeUnit unit, boolean repeating, Runnable onIdle) {
+        if (idleTime <= 0) {
+            throw new IllegalArgumentException("idleTime must be positive");
+        }
+        this.wheel = wheel;
+        this.idleNanos = unit.toNanos(idleTime);
+        this.repeating = repeating;
+        this.onIdle = onIdle;
+    }
+
+    /**
+     * Starts the timer, counting idle time from now.
+     */
+    public void start() {
+        touch();
+        timeout = wheel.schedule(this::check, idleNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records activity, postponing the idle action.
+     */
+    public void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops the timer. The idle action does not run after this returns, unless it is already running.
+     */
+    public void stop() {
+        stopped = true;
+        WheelTimeout current = timeout;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private void check() {
+        if (stopped) {
+            return;
+        }
+        long idle = System.nanoTime() - lastActivityNanos;
+        if (idle < idleNanos) {
+            timeout = wheel.schedule(this::check, idleNanos - idle, TimeUnit.NANOSECONDS);
+            return;
+        }
+        onIdle.run();
+        if (repeating && !stopped) {
+            touch();
+            timeout = wheel.schedule(this::check, idleNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
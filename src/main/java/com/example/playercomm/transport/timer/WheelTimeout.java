@@ -0,0 +1,71 @@
+package com.example.playercomm.transport.timer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Handle of a task scheduled on a HashedTimingWheel.
+ *
+ * Notes:
+ * - cancel() is O(1): it only flips the state; the wheel unlinks cancelled timeouts
+ *   when it next walks their bucket
+ * - cancel() and expiry race for a single state change; only the winner updates the wheel's pending count
+ * - The list links and the round counter are only touched by the wheel's worker thread
+ */
+public final class WheelTimeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    final HashedTimingWheel wheel;
+    final Runnable task;
+    final long deadlineNanos;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    long remainingRounds;
+    WheelTimeout next;
+    WheelTimeout prev;
+
+    WheelTimeout(HashedTimingWheel wheel, Runnable task, long deadlineNanos) {
+        this.wheel = wheel;
+        this.task = task;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Cancels the task if it has not run yet.
+     *
+     * @return true if this call cancelled the task
+     */
+    public boolean cancel() {
+        if (state.compareAndSet(PENDING, CANCELLED)) {
+            wheel.onSettled();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+        return state.get() == EXPIRED;
+    }
+
+    /**
+     * Marks the timeout as expired and runs its task, unless a concurrent cancel() got there first.
+     * Called on the worker thread only.
+     */
+    void expire() {
+        if (!state.compareAndSet(PENDING, EXPIRED)) {
+            return;
+        }
+        wheel.onSettled();
+        try {
+            task.run();
+        } catch (Throwable t) {
+            System.err.println("[TimingWheel] Timer task failed: " + t);
+        }
+    }
+}
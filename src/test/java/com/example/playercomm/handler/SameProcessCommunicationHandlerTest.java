@@ -1,5 +1,6 @@
 package com.example.playercomm.handler;
 
+import com.example.playercomm.transport.idle.IdleStrategies;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
@@ -26,4 +27,17 @@ class SameProcessCommunicationHandlerTest {
             handler.startCommunication();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCommunicationFlowWithBusyPollingMailboxes() {
+        Scanner scanner = new Scanner(new ByteArrayInputStream("Y\n".getBytes(StandardCharsets.UTF_8)));
+
+        SameProcessCommunicationHandler handler =
+                new SameProcessCommunicationHandler(scanner, IdleStrategies.parse("backoff:100,10,1,100"));
+
+        assertDoesNotThrow(() -> {
+            handler.setupPlayers("Initiator", "Responder");
+            handler.startCommunication();
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.playercomm.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectBufferPoolTest {
+
+    @Test
+    void testBuffersRoundedUpToSizeClass() {
+        DirectBufferPool pool = new DirectBufferPool();
+
+        assertEquals(256, pool.acquire(1).buffer().capacity());
+        assertEquals(1024, pool.acquire(1000).buffer().capacity());
+        assertEquals(1024, pool.acquire(1024).buffer().capacity());
+        assertTrue(pool.acquire(100).buffer().isDirect());
+    }
+
+    @Test
+    void testReleasedChunkIsReused() {
+        DirectBufferPool pool = new DirectBufferPool();
+        PooledBuffer first = pool.acquire(4096);
+        ByteBuffer chunk = first.buffer();
+        long slabBytes = pool.getSlabBytes();
+
+        assertTrue(first.release());
+
+        // Chunks are recycled through a FIFO free list, so drain it until the chunk comes back
+        boolean reused = false;
+        for (int i = 0; i < 1024 && !reused; i++) {
+            reused = pool.acquire(4096).buffer() == chunk;
+        }
+        assertTrue(reused);
+        assertEquals(slabBytes, pool.getSlabBytes());
+    }
+
+    @Test
+    void testReferenceCounting() {
+        PooledBuffer buffer = new DirectBufferPool().acquire(512);
+        buffer.retain();
+        assertEquals(2, buffer.refCount());
+
+        assertFalse(buffer.release());
+        assertTrue(buffer.release());
+        assertThrows(IllegalStateException.class, buffer::release);
+        assertThrows(IllegalStateException.class, buffer::retain);
+        assertThrows(IllegalStateException.class, buffer::buffer);
+    }
+
+    @Test
+    void testOversizedRequestsAreUnpooled() {
+        DirectBufferPool pool = new DirectBufferPool();
+        PooledBuffer large = pool.acquire(DirectBufferPool.MAX_CHUNK_SIZE + 1);
+
+        assertEquals(DirectBufferPool.MAX_CHUNK_SIZE + 1, large.buffer().capacity());
+        assertEquals(0, pool.getSlabBytes());
+        assertTrue(large.release());
+    }
+}
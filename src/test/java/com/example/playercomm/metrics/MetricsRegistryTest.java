@@ -0,0 +1,61 @@
+package com.example.playercomm.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testScrapeRendersPrometheusFormat() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_messages_total", "Test messages");
+        Gauge gauge = registry.gauge("test_players", "Test players");
+        Histogram histogram = registry.histogram("test_latency_seconds", "Test latency");
+
+        counter.add(3);
+        gauge.increment();
+        gauge.increment();
+        gauge.decrement();
+        histogram.record(20_000L);
+        histogram.record(20_000_000_000L);
+
+        String text = registry.scrape();
+        assertTrue(text.contains("# TYPE test_messages_total counter\ntest_messages_total 3\n"));
+        assertTrue(text.contains("# TYPE test_players gauge\ntest_players 1\n"));
+        assertTrue(text.contains("test_latency_seconds_bucket{le=\"1.0E-5\"} 0\n"));
+        assertTrue(text.contains("test_latency_seconds_bucket{le=\"5.0E-5\"} 1\n"));
+        assertTrue(text.contains("test_latency_seconds_bucket{le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("test_latency_seconds_count 2\n"));
+    }
+
+    @Test
+    void testRegisteringSameNameReturnsExistingMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter first = registry.counter("test_total", "Test");
+        assertSame(first, registry.counter("test_total", "Test"));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_total", "Test"));
+    }
+
+    @Test
+    void testServerExposesMetricsEndpoint() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_scraped_total", "Test").increment();
+
+        try (MetricsServer server = new MetricsServer(0, registry)) {
+            URL url = URI.create("http://localhost:" + server.getPort() + "/metrics").toURL();
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("test_scraped_total 1"));
+            }
+        }
+    }
+}
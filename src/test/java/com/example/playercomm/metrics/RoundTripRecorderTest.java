@@ -0,0 +1,59 @@
+package com.example.playercomm.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoundTripRecorderTest {
+
+    @Test
+    void testStatisticsOverRecordedSamples() {
+        RoundTripRecorder recorder = new RoundTripRecorder(100);
+        long start = 0;
+        // 100 samples of 1..100 microseconds, back to back
+        for (int i = 1; i <= 100; i++) {
+            long rtt = i * 1_000L;
+            recorder.record(start, start + rtt);
+            start += rtt;
+        }
+
+        RoundTripReport report = recorder.report();
+        assertEquals(100, report.getCount());
+        assertEquals(1_000, report.getMinNanos());
+        assertEquals(100_000, report.getMaxNanos());
+        assertEquals(50_500.0, report.getMeanNanos(), 0.001);
+        assertEquals(50_000, report.getP50Nanos());
+        assertEquals(90_000, report.getP90Nanos());
+        assertEquals(99_000, report.getP99Nanos());
+        assertEquals(100_000, report.getP999Nanos());
+        assertEquals(1_000.0, report.getJitterNanos(), 0.001);
+        // 100 round trips in 5.05 ms
+        assertEquals(100 / 0.00505, report.getThroughputPerSecond(), 0.1);
+    }
+
+    @Test
+    void testOverflowAndEmptyRecorder() {
+        RoundTripRecorder recorder = new RoundTripRecorder(2);
+        assertNull(recorder.report());
+
+        recorder.record(0, 10);
+        recorder.record(10, 30);
+        recorder.record(30, 60);
+
+        assertEquals(2, recorder.getCount());
+        assertEquals(1, recorder.getOverflow());
+        assertEquals(20, recorder.report().getMaxNanos());
+    }
+
+    @Test
+    void testReportFormats() {
+        RoundTripRecorder recorder = new RoundTripRecorder(1);
+        recorder.record(0, 2_000);
+        RoundTripReport report = recorder.report();
+
+        assertTrue(report.toText().contains("p99 2.0 us"));
+        assertTrue(report.toCsv().startsWith("count,min_ns,"));
+        assertTrue(report.toCsv().contains("1,2000,2000.0,2000,"));
+        assertTrue(report.toJson().startsWith("{\"count\":1,\"min_ns\":2000,"));
+    }
+}
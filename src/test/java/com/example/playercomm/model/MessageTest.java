@@ -0,0 +1,39 @@
+package com.example.playercomm.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTest {
+
+    @Test
+    void testTimestampIsMonotonic() {
+        Message first = new Message("Alice", "Bob", "first");
+        Message second = new Message("Alice", "Bob", "second");
+
+        assertTrue(second.getTimestampNanos() >= first.getTimestampNanos());
+        assertTrue(first.getAgeNanos() >= 0);
+    }
+
+    @Test
+    void testTimestampConvertsToWallClock() {
+        LocalDateTime before = LocalDateTime.now();
+        Message message = new Message("Alice", "Bob", "Hello");
+
+        // Wall-clock conversion is derived from an offset, so allow a small skew
+        Duration skew = Duration.between(before, message.getTimestamp()).abs();
+        assertTrue(skew.toMillis() < 1000, "unexpected skew: " + skew);
+        assertTrue(message.toString().endsWith("Alice -> Bob: Hello"));
+    }
+
+    @Test
+    void testEpochMicrosMatchesSystemClock() {
+        Message message = new Message("Alice", "Bob", "Hello");
+        long nowMicros = System.currentTimeMillis() * 1_000L;
+
+        assertTrue(Math.abs(nowMicros - message.getEpochMicros()) < 1_000_000L);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.playercomm.model;
+
+import com.example.playercomm.memory.DirectBufferPool;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapMessageTest {
+
+    private final DirectBufferPool pool = new DirectBufferPool();
+
+    @Test
+    void testContentDecodedLazily() {
+        String content = "Message 1 [1] ".repeat(500) + "ünïcødé 😀";
+        try (OffHeapMessage message = OffHeapMessage.of("Alice", "Bob", content, pool)) {
+            assertEquals(content.getBytes(StandardCharsets.UTF_8).length, message.getPayloadLength());
+            assertEquals(content, message.getContent());
+            assertSame(message.getContent(), message.getContent());
+            assertEquals("Alice", message.getSender());
+            assertTrue(message.toString().endsWith("Alice -> Bob: " + content));
+        }
+    }
+
+    @Test
+    void testWriteAndReadThroughChannels() throws Exception {
+        String content = "x".repeat(10_000);
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+
+        try (OffHeapMessage message = OffHeapMessage.of("Alice", "Bob", content, pool)) {
+            assertEquals(10_000, message.writeTo(Channels.newChannel(sink)));
+            // Writing does not consume the payload
+            assertEquals(10_000, message.payload().remaining());
+        }
+
+        byte[] bytes = sink.toByteArray();
+        try (OffHeapMessage copy = OffHeapMessage.readFrom("Alice", "Bob",
+                Channels.newChannel(new ByteArrayInputStream(bytes)), bytes.length, pool)) {
+            assertEquals(content, copy.getContent());
+        }
+
+        assertThrows(EOFException.class, () -> OffHeapMessage.readFrom("Alice", "Bob",
+                Channels.newChannel(new ByteArrayInputStream(bytes)), bytes.length + 1, pool));
+    }
+
+    @Test
+    void testRetainKeepsPayloadAlive() {
+        OffHeapMessage message = OffHeapMessage.of("Alice", "Bob", "Hello", pool);
+        message.retain();
+
+        assertFalse(message.release());
+        assertEquals("Hello", message.getContent());
+        assertTrue(message.release());
+        assertThrows(IllegalStateException.class, message::payload);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.playercomm.startup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadinessSignalTest {
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(ReadinessSignal.FILE_PROPERTY);
+    }
+
+    @Test
+    void testWritesPortToConfiguredFile() throws Exception {
+        Path file = directory.resolve("responder.ready");
+        System.setProperty(ReadinessSignal.FILE_PROPERTY, file.toString());
+
+        assertEquals(file.toAbsolutePath(), ReadinessSignal.signalReady(5001));
+        assertEquals("5001", Files.readString(file).trim());
+
+        // Signalling again replaces the file, leaving no temporary files behind
+        ReadinessSignal.signalReady(5002);
+        assertEquals("5002", Files.readString(file).trim());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testNothingWrittenWithoutProperty() {
+        assertNull(ReadinessSignal.signalReady(5001));
+    }
+}
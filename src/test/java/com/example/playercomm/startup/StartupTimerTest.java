@@ -0,0 +1,26 @@
+package com.example.playercomm.startup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StartupTimerTest {
+
+    @Test
+    void testPhasesAreMeasuredFromJvmStartAndRecordedOnce() throws InterruptedException {
+        StartupTimer timer = new StartupTimer();
+        assertEquals(-1, timer.getTimeToReadyNanos());
+        assertEquals("no startup phase completed after JVM start", timer.format());
+
+        timer.markReady();
+        long ready = timer.getTimeToReadyNanos();
+        assertTrue(ready > 0);
+
+        Thread.sleep(20);
+        timer.markReady();
+        timer.markFirstMessage();
+        assertEquals(ready, timer.getTimeToReadyNanos(), 2_000_000);
+        assertTrue(timer.getTimeToFirstMessageNanos() >= ready + 15_000_000);
+        assertTrue(timer.format().matches("ready \\d+ ms, first message \\d+ ms after JVM start"), timer.format());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.playercomm.startup;
+
+import com.example.playercomm.transport.idle.IdleStrategies;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmupTest {
+
+    @Test
+    void testWarmupExchangesMessagesOnBothPaths() throws Exception {
+        assertTrue(Warmup.run(500, null) > 0);
+        assertTrue(Warmup.run(50, IdleStrategies.backoff()) > 0);
+    }
+
+    @Test
+    void testDisabledByDefault() {
+        System.clearProperty(Warmup.PROPERTY);
+        assertEquals(0, Warmup.messagesFromSystemProperty());
+
+        System.setProperty(Warmup.PROPERTY, "2500");
+        try {
+            assertEquals(2500, Warmup.messagesFromSystemProperty());
+        } finally {
+            System.clearProperty(Warmup.PROPERTY);
+        }
+    }
+}
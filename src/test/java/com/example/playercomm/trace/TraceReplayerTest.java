@@ -0,0 +1,120 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.MailboxPlayerMessageRouter;
+import com.example.playercomm.transport.PlayerMessageRouter;
+import com.example.playercomm.transport.line.LineConnection;
+import com.example.playercomm.transport.line.LineConnections;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceReplayerTest {
+
+    /**
+     * Captures a trace of the given number of messages spread over roughly the given duration.
+     */
+    private static byte[] capture(int messages, long gapMillis) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            for (int i = 0; i < messages; i++) {
+                writer.record(i % 2 == 0 ? "initiator" : "responder", i % 2 == 0 ? "responder" : "initiator",
+                        "Message " + i, MessagePriority.INTERACTIVE);
+                if (gapMillis > 0) {
+                    Thread.sleep(gapMillis);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static TraceReader reader(byte[] trace) throws IOException {
+        return new TraceReader(new ByteArrayInputStream(trace));
+    }
+
+    @Test
+    void testMaxSpeedReplayDeliversEveryMessage() throws Exception {
+        byte[] trace = capture(5_000, 0);
+        PlayerMessageRouter router = new PlayerMessageRouter();
+
+        try (RouterReplayTarget target = new RouterReplayTarget(router, 10_000)) {
+            ReplayReport report = new TraceReplayer(TraceReplayer.MAX_SPEED)
+                    .replay(reader(trace), target, 5, TimeUnit.SECONDS);
+
+            assertEquals(5_000, report.getRecords());
+            assertTrue(report.isComplete());
+            assertEquals(5_000, target.getDeliveredCount());
+            assertEquals(5_000, report.getLatency().getCount());
+            assertTrue(router.hasPlayer("initiator") && router.hasPlayer("responder"));
+        }
+        assertFalse(router.hasPlayer("responder"));
+    }
+
+    @Test
+    void testReplayKeepsCapturedTimingScaledBySpeed() throws Exception {
+        byte[] trace = capture(11, 20);
+
+        ReplayReport realTime;
+        ReplayReport doubleSpeed;
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter();
+             RouterReplayTarget target = new RouterReplayTarget(router, 100)) {
+            realTime = new TraceReplayer(1.0).replay(reader(trace), target, 5, TimeUnit.SECONDS);
+            doubleSpeed = new TraceReplayer(TraceReplayer.parseSpeed("2x")).replay(reader(trace), target, 5, TimeUnit.SECONDS);
+        }
+
+        long traced = TimeUnit.MICROSECONDS.toNanos(realTime.getTracedMicros());
+        assertTrue(traced >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertTrue(realTime.getElapsedNanos() >= traced);
+        assertTrue(doubleSpeed.getElapsedNanos() >= traced / 2);
+        assertTrue(doubleSpeed.getElapsedNanos() < realTime.getElapsedNanos());
+        assertTrue(realTime.isComplete() && doubleSpeed.isComplete());
+    }
+
+    @Test
+    void testSocketReplayMeasuresRoundTripsAgainstResponder() throws Exception {
+        byte[] trace = capture(1_000, 0);
+
+        try (ServerSocketChannel server = LineConnections.listen(0)) {
+            int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            CompletableFuture<Integer> responder = CompletableFuture.supplyAsync(() -> {
+                try (LineConnection connection = LineConnections.withHeartbeatsFromSystemProperties(
+                        LineConnections.open(server.accept().socket(), null))) {
+                    int replies = 0;
+                    String line;
+                    while ((line = connection.readLine()) != null) {
+                        connection.writeLine(line + " [" + ++replies + "]");
+                    }
+                    return replies;
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            ReplayReport report;
+            try (SocketReplayTarget target = new SocketReplayTarget("localhost", port, 10_000)) {
+                report = new TraceReplayer(TraceReplayer.MAX_SPEED).replay(reader(trace), target, 10, TimeUnit.SECONDS);
+                assertEquals(1_000, target.getReceivedCount());
+            }
+
+            assertTrue(report.isComplete());
+            assertEquals(1_000, report.getLatency().getCount());
+            assertEquals(1_000, responder.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testSpeedParsing() {
+        assertEquals(TraceReplayer.MAX_SPEED, TraceReplayer.parseSpeed("MAX"));
+        assertEquals(10.0, TraceReplayer.parseSpeed("10x"));
+        assertEquals(0.5, TraceReplayer.parseSpeed("0.5"));
+        assertThrows(IllegalArgumentException.class, () -> new TraceReplayer(0));
+    }
+}
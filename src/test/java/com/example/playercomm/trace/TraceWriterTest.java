@@ -0,0 +1,108 @@
+package com.example.playercomm.trace;
+
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceWriterTest {
+
+    @Test
+    void testRoundTripPreservesMessagesAndOrder() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            writer.record(new Message("initiator", "responder", "Message 1"));
+            writer.record(new Message("responder", "initiator", "Message 1 [1]", MessagePriority.CONTROL));
+            writer.record("initiator", "responder", null, MessagePriority.BULK);
+            writer.record("spieler-ü", "responder", "grüße ☃", MessagePriority.INTERACTIVE);
+            assertEquals(4, writer.getRecordCount());
+        }
+
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertTrue(reader.getStartEpochMicros() > 0);
+            TraceRecord first = reader.read();
+            assertEquals("initiator", first.getSender());
+            assertEquals("responder", first.getReceiver());
+            assertEquals("Message 1", first.getContent());
+            assertEquals(MessagePriority.INTERACTIVE, first.getPriority());
+
+            TraceRecord second = reader.read();
+            assertEquals("responder", second.getSender());
+            assertEquals("Message 1 [1]", second.getContent());
+            assertEquals(MessagePriority.CONTROL, second.getPriority());
+            assertTrue(second.getOffsetMicros() >= first.getOffsetMicros());
+
+            TraceRecord third = reader.read();
+            assertNull(third.getContent());
+            assertEquals(MessagePriority.BULK, third.getPriority());
+
+            TraceRecord fourth = reader.read();
+            assertEquals("spieler-ü", fourth.getSender());
+            assertEquals("grüße ☃", fourth.getContent());
+
+            assertNull(reader.read());
+        }
+    }
+
+    @Test
+    void testRepeatedNamesAreWrittenOnce() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int records = 10_000;
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            for (int i = 0; i < records; i++) {
+                writer.record("initiator-player", "responder-player", "m", MessagePriority.INTERACTIVE);
+            }
+        }
+        // Delta, two name references, priority, length and one content byte: about 6 bytes per record
+        assertTrue(bytes.size() < records * 8, "trace size " + bytes.size());
+
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            int count = 0;
+            TraceRecord record;
+            while ((record = reader.read()) != null) {
+                assertEquals("responder-player", record.getReceiver());
+                count++;
+            }
+            assertEquals(records, count);
+        }
+    }
+
+    @Test
+    void testRejectsForeignAndTruncatedTraces() throws IOException {
+        assertThrows(IOException.class, () -> new TraceReader(new ByteArrayInputStream("hello world!!".getBytes())));
+        assertThrows(IOException.class, () -> new TraceReader(new ByteArrayInputStream(new byte[2])));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TraceWriter writer = new TraceWriter(bytes)) {
+            writer.record("a", "b", "some content", MessagePriority.INTERACTIVE);
+        }
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 3);
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(truncated))) {
+            assertThrows(EOFException.class, reader::read);
+        }
+    }
+
+    @Test
+    void testRecordsAfterCloseAreCountedAsDropped() throws IOException {
+        TraceWriter writer = new TraceWriter(new ByteArrayOutputStream());
+        writer.close();
+        writer.record("a", "b", "late", MessagePriority.INTERACTIVE);
+        assertEquals(0, writer.getRecordCount());
+        assertEquals(1, writer.getDroppedCount());
+    }
+
+    @Test
+    void testQualifierIsInsertedBeforeExtension() {
+        assertEquals("trace-initiator.bin", TraceWriter.qualify("trace.bin", "initiator"));
+        assertEquals("/tmp/run.1/trace-responder", TraceWriter.qualify("/tmp/run.1/trace", "responder"));
+        assertEquals(".trace-responder", TraceWriter.qualify(".trace", "responder"));
+        assertEquals("trace.bin", TraceWriter.qualify("trace.bin", null));
+    }
+}
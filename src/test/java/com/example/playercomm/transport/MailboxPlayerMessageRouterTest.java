@@ -0,0 +1,315 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.deadletter.DeadLetterReason;
+import com.example.playercomm.transport.idle.IdleStrategies;
+import com.example.playercomm.transport.ratelimit.RateLimit;
+import com.example.playercomm.transport.ratelimit.RateLimitPolicy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailboxPlayerMessageRouterTest {
+
+    @Test
+    void testBlockingMailboxDeliversInOrderOnPlayerThread() throws InterruptedException {
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            assertDeliveredInOrder(router);
+        }
+    }
+
+    @Test
+    void testBusyPollingMailboxDeliversInOrder() throws InterruptedException {
+        try (MailboxPlayerMessageRouter router =
+                     new MailboxPlayerMessageRouter(IdleStrategies.parse("backoff:100,10,1,100"))) {
+            assertDeliveredInOrder(router);
+        }
+    }
+
+    @Test
+    void testUnregisterDeliversQueuedMessages() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            Player receiver = new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    received.add(message.getContent());
+                }
+            };
+            router.registerPlayer(receiver);
+            for (int i = 0; i < 100; i++) {
+                router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+            }
+            router.unregisterPlayer(receiver);
+        }
+        assertEquals(100, received.size());
+    }
+
+    @Test
+    void testRateLimitedRepliesNeverParkTheMailboxThread() throws InterruptedException {
+        List<String> replies = new CopyOnWriteArrayList<>();
+        CountDownLatch rejected = new CountDownLatch(2);
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            RateLimiter limiter = new RateLimiter(RateLimitPolicy.DELAY);
+            limiter.setSenderLimit("Responder", new RateLimit(1, 1));
+            router.setRateLimiter(limiter);
+            router.setDeadLetterHandler((message, reason, cause) -> {
+                if (reason == DeadLetterReason.RATE_LIMITED) {
+                    rejected.countDown();
+                }
+            });
+            router.registerPlayer(new Player("Responder", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    sendMessage(message.getSender(), "re: " + message.getContent());
+                }
+            });
+            router.registerPlayer(new Player("Sender", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    replies.add(message.getContent());
+                }
+            });
+
+            for (int i = 0; i < 3; i++) {
+                router.publishMessage(new Message("Sender", "Responder", Integer.toString(i)));
+            }
+
+            assertTrue(rejected.await(5, TimeUnit.SECONDS));
+            assertEquals(2, limiter.getLimitedCount());
+        }
+        assertEquals(List.of("re: 0"), replies);
+    }
+
+    @Test
+    void testShutdownDropsMessagesQueuedPastTheDeadline() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter();
+        router.registerPlayer(new Player("Receiver", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                received.add(message.getContent());
+                blocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        for (int i = 0; i < 10; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+        }
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // The receiver is stuck in its first message, so the other nine cannot be drained in time
+        ShutdownReport report = router.shutdown(50, TimeUnit.MILLISECONDS);
+        release.countDown();
+        assertEquals(9, report.getDropped());
+        assertFalse(report.isClean());
+
+        router.publishMessage(new Message("Sender", "Receiver", "too late"));
+        assertEquals(1, router.getRejectedCount());
+        assertEquals(List.of("0"), received);
+    }
+
+    @Test
+    void testMessagesRacingUnregisterAreDeliveredOrDeadLettered() throws InterruptedException {
+        for (int round = 0; round < 100; round++) {
+            AtomicLong received = new AtomicLong();
+            AtomicLong deadLetters = new AtomicLong();
+            AtomicLong published = new AtomicLong();
+            MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter();
+            router.setDeadLetterHandler((message, reason, cause) -> deadLetters.incrementAndGet());
+            Player receiver = new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    received.incrementAndGet();
+                }
+            };
+            router.registerPlayer(receiver);
+
+            CountDownLatch started = new CountDownLatch(1);
+            Thread publisher = new Thread(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+                    published.incrementAndGet();
+                    started.countDown();
+                }
+            });
+            publisher.start();
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            router.unregisterPlayer(receiver, 0, TimeUnit.MILLISECONDS);
+            publisher.join();
+            router.close();
+
+            // A zero deadline does not wait for the delivery thread, which may still be in its last message
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (received.get() + deadLetters.get() < published.get() && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(published.get(), received.get() + deadLetters.get(), "round " + round);
+        }
+    }
+
+    @Test
+    void testPlayerShutdownDrainsItsMailbox() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            Player receiver = new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    received.add(message.getContent());
+                }
+            };
+            router.registerPlayer(receiver);
+            for (int i = 0; i < 100; i++) {
+                router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+            }
+
+            assertEquals(0, receiver.shutdown(5, TimeUnit.SECONDS));
+            assertFalse(router.hasPlayer("Receiver"));
+        }
+        assertEquals(100, received.size());
+    }
+
+    @Test
+    void testControlMessagesOvertakeQueuedBulkMessages() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(104);
+        List<String> received = new CopyOnWriteArrayList<>();
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            router.registerPlayer(new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    received.add(message.getContent());
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                }
+            });
+
+            for (int i = 0; i < 100; i++) {
+                router.publishMessage(new Message("Sender", "Receiver", "bulk " + i, MessagePriority.BULK));
+            }
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 4; i++) {
+                router.publishMessage(new Message("Sender", "Receiver", "control " + i, MessagePriority.CONTROL));
+            }
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        // Only the bulk message already being delivered is ahead of the control messages
+        assertEquals(List.of("bulk 0", "control 0", "control 1", "control 2", "control 3", "bulk 1"),
+                received.subList(0, 6));
+    }
+
+    @Test
+    void testControlWaitStaysBoundedWhileBulkSaturatesTheMailbox() {
+        int backlog = 50_000;
+        int controls = 1_000;
+        Map<MessagePriority, AtomicLong> delivered = new EnumMap<>(MessagePriority.class);
+        for (MessagePriority priority : MessagePriority.values()) {
+            delivered.put(priority, new AtomicLong());
+        }
+        AtomicLong othersDelivered = new AtomicLong();
+        long[] waits = new long[controls];
+        AtomicInteger controlsDelivered = new AtomicInteger();
+        long[] published = new long[MessagePriority.values().length];
+
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            // Whatever backlog is left at close is discarded quietly
+            router.setDeadLetterHandler((message, reason, cause) -> { });
+            router.registerPlayer(new Player("Receiver", router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    delivered.get(message.getPriority()).incrementAndGet();
+                    if (message.getPriority() == MessagePriority.CONTROL) {
+                        // Content is the number of other messages delivered when the control message was published
+                        waits[controlsDelivered.getAndIncrement()] =
+                                othersDelivered.get() - Long.parseLong(message.getContent());
+                    } else {
+                        othersDelivered.incrementAndGet();
+                    }
+                }
+            });
+
+            // Bursts of ten, so that every burst outlasts the control lane's credit for a round. Like
+            // heartbeats, a burst is only sent once the previous one has arrived, so control messages
+            // never queue behind each other. The lower lanes are topped up before every burst.
+            for (int i = 0; i < controls; i++) {
+                if (i % 10 == 0) {
+                    for (MessagePriority lane : List.of(MessagePriority.INTERACTIVE, MessagePriority.BULK)) {
+                        while (published[lane.ordinal()] - delivered.get(lane).get() < backlog) {
+                            router.publishMessage(new Message("Sender", "Receiver", lane.name(), lane));
+                            published[lane.ordinal()]++;
+                        }
+                    }
+                }
+                router.publishMessage(new Message("Sender", "Receiver",
+                        Long.toString(othersDelivered.get()), MessagePriority.CONTROL));
+                while (i % 10 == 9 && controlsDelivered.get() <= i) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+                }
+            }
+
+            for (MessagePriority lane : List.of(MessagePriority.INTERACTIVE, MessagePriority.BULK)) {
+                assertTrue(delivered.get(lane).get() < published[lane.ordinal()], lane + " lane ran dry");
+            }
+        }
+
+        // Each control message waits behind at most one round of the lower lanes (4 + 1) and the message in progress
+        long[] sorted = waits.clone();
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(controls * 0.99) - 1];
+        assertTrue(p99 <= 6, "p99 control wait was " + p99 + " messages");
+    }
+
+    private static void assertDeliveredInOrder(MailboxPlayerMessageRouter router) throws InterruptedException {
+        int count = 1_000;
+        List<String> received = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(count);
+        router.registerPlayer(new Player("Receiver", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                received.add(message.getContent());
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.toString(i), received.get(i));
+        }
+        assertTrue(threads.stream().allMatch("mailbox-Receiver"::equals));
+    }
+}
@@ -2,9 +2,24 @@ package com.example.playercomm.transport;
 
 import com.example.playercomm.core.Player;
 import com.example.playercomm.model.Message;
+import com.example.playercomm.trace.TraceReader;
+import com.example.playercomm.trace.TraceRecord;
+import com.example.playercomm.trace.TraceWriter;
+import com.example.playercomm.transport.deadletter.DeadLetter;
+import com.example.playercomm.transport.deadletter.DeadLetterReason;
+import com.example.playercomm.transport.ratelimit.RateLimit;
+import com.example.playercomm.transport.ratelimit.RateLimitPolicy;
+import com.example.playercomm.transport.ratelimit.RateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlayerMessageRouterTest {
@@ -41,4 +56,132 @@ class PlayerMessageRouterTest {
         Message badMessage = new Message("Sender", "Unknown", "Test");
         assertDoesNotThrow(() -> router.publishMessage(badMessage));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testShutdownRejectsNewMessages() {
+        ShutdownReport report = router.shutdown(1, TimeUnit.SECONDS);
+        assertTrue(report.isClean());
+        assertTrue(router.isShuttingDown());
+
+        router.publishMessage(new Message("Sender", "Receiver", "too late"));
+        assertEquals(1, router.getRejectedCount());
+    }
+
+    @Test
+    void testUndeliverableMessagesGoToDeadLetterHandler() {
+        List<DeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        router.setDeadLetterHandler((message, reason, cause) -> deadLetters.add(new DeadLetter(message, reason, cause)));
+        router.registerPlayer(new Player("Faulty", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        router.publishMessage(new Message("Sender", "Unknown", "Test"));
+        router.publishMessage(new Message("Sender", "Faulty", "Test 1"));
+        router.publishMessage(new Message("Sender", "Faulty", "Test 2"));
+        router.publishMessage(new Message("Sender", "Receiver", "Test 3"));
+
+        assertEquals(3, deadLetters.size());
+        assertEquals(DeadLetterReason.UNKNOWN_RECEIVER, deadLetters.get(0).getReason());
+        assertEquals(DeadLetterReason.DELIVERY_FAILED, deadLetters.get(1).getReason());
+        assertEquals("boom", deadLetters.get(1).getCause().getMessage());
+        assertEquals(2, router.getFailureCount("Faulty"));
+        assertEquals(0, router.getFailureCount("Receiver"));
+        assertEquals(1, router.getFailureCounts().size());
+    }
+
+    @Test
+    void testRateLimitedMessagesAreDeadLetteredWhenRejected() {
+        List<DeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        router.setDeadLetterHandler((message, reason, cause) -> deadLetters.add(new DeadLetter(message, reason, cause)));
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.REJECT);
+        limiter.setSenderLimit("Sender", new RateLimit(1, 2));
+        router.setRateLimiter(limiter);
+
+        for (int i = 0; i < 5; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", "Test " + i));
+        }
+        router.publishMessage(new Message("Receiver", "Sender", "unlimited"));
+
+        assertEquals(3, deadLetters.size());
+        assertEquals(DeadLetterReason.RATE_LIMITED, deadLetters.get(0).getReason());
+        assertEquals("Test 2", deadLetters.get(0).getMessage().getContent());
+        assertEquals(3, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testShedMessagesAreOnlyCounted() {
+        List<DeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        router.setDeadLetterHandler((message, reason, cause) -> deadLetters.add(new DeadLetter(message, reason, cause)));
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.SHED);
+        limiter.setReceiverLimit("Receiver", new RateLimit(1, 1));
+        router.setRateLimiter(limiter);
+
+        router.publishMessage(new Message("Sender", "Receiver", "kept"));
+        router.publishMessage(new Message("Sender", "Receiver", "shed"));
+
+        assertTrue(deadLetters.isEmpty());
+        assertEquals(1, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testRouterThreadsAreRejectedInsteadOfDelayed() throws InterruptedException {
+        List<DeadLetter> deadLetters = new CopyOnWriteArrayList<>();
+        router.setDeadLetterHandler((message, reason, cause) -> deadLetters.add(new DeadLetter(message, reason, cause)));
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.DELAY);
+        limiter.setSenderLimit("Sender", new RateLimit(1, 1));
+        router.setRateLimiter(limiter);
+        router.publishMessage(new Message("Sender", "Receiver", "first"));
+
+        Thread routerThread = new RouterThread(
+                () -> router.publishMessage(new Message("Sender", "Receiver", "reply")), "router-test");
+        routerThread.start();
+        routerThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertFalse(routerThread.isAlive());
+        assertEquals(1, deadLetters.size());
+        assertEquals(DeadLetterReason.RATE_LIMITED, deadLetters.get(0).getReason());
+        assertEquals("reply", deadLetters.get(0).getMessage().getContent());
+        assertEquals(1, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testFailingDeadLetterHandlerDoesNotBreakPublisher() {
+        router.setDeadLetterHandler((message, reason, cause) -> {
+            throw new IllegalStateException("handler failure");
+        });
+        assertDoesNotThrow(() -> router.publishMessage(new Message("Sender", "Unknown", "Test")));
+    }
+
+    @Test
+    void testTraceCapturesEveryPublishedMessageOnce() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (MailboxPlayerMessageRouter mailboxRouter = new MailboxPlayerMessageRouter();
+             TraceWriter trace = new TraceWriter(bytes)) {
+            mailboxRouter.registerPlayer(new Player("Receiver", mailboxRouter));
+            mailboxRouter.setTraceWriter(trace);
+            mailboxRouter.publishMessage(new Message("Sender", "Receiver", "queued"));
+            mailboxRouter.publishMessage(new Message("Sender", "Nobody", "unknown receiver"));
+            RateLimiter limiter = new RateLimiter(RateLimitPolicy.SHED);
+            limiter.setSenderLimit("Flooder", new RateLimit(1, 1));
+            mailboxRouter.setRateLimiter(limiter);
+            mailboxRouter.publishMessage(new Message("Flooder", "Receiver", "admitted"));
+            mailboxRouter.publishMessage(new Message("Flooder", "Receiver", "shed before capture"));
+            mailboxRouter.setRateLimiter(null);
+            mailboxRouter.setTraceWriter(null);
+            mailboxRouter.publishMessage(new Message("Sender", "Receiver", "not captured"));
+            assertEquals(3, trace.getRecordCount());
+        }
+
+        try (TraceReader reader = new TraceReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            TraceRecord first = reader.read();
+            assertEquals("Receiver", first.getReceiver());
+            assertEquals("queued", first.getContent());
+            assertEquals("Nobody", reader.read().getReceiver());
+            assertEquals("admitted", reader.read().getContent());
+            assertNull(reader.read());
+        }
+    }
+}
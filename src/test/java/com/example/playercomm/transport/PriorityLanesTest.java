@@ -0,0 +1,99 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.model.MessagePriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityLanesTest {
+
+    @Test
+    void testLanesServedByWeight() {
+        PriorityLanes<MessagePriority> lanes = new PriorityLanes<>();
+        for (int i = 0; i < 100; i++) {
+            for (MessagePriority priority : MessagePriority.values()) {
+                lanes.offer(priority, priority);
+            }
+        }
+
+        // One round: 8 control, 4 interactive, 1 bulk
+        List<MessagePriority> round = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            round.add(lanes.poll());
+        }
+        assertEquals(8, round.stream().filter(p -> p == MessagePriority.CONTROL).count());
+        assertEquals(4, round.stream().filter(p -> p == MessagePriority.INTERACTIVE).count());
+        assertEquals(MessagePriority.BULK, round.get(12));
+    }
+
+    @Test
+    void testOrderPreservedWithinLaneAndBulkNotStarved() {
+        PriorityLanes<Integer> lanes = new PriorityLanes<>();
+        for (int i = 0; i < 10; i++) {
+            lanes.offer(MessagePriority.BULK, i);
+        }
+        for (int i = 100; i < 1_000; i++) {
+            lanes.offer(MessagePriority.CONTROL, i);
+        }
+
+        int lastBulk = -1;
+        int lastControl = 99;
+        int polls = 0;
+        Integer item;
+        while ((item = lanes.poll()) != null) {
+            polls++;
+            if (item < 100) {
+                assertEquals(lastBulk + 1, item);
+                lastBulk = item;
+            } else {
+                assertEquals(lastControl + 1, item);
+                lastControl = item;
+            }
+            if (lastBulk == 9) {
+                break;
+            }
+        }
+        // All bulk items done after 10 rounds of 8 control + 1 bulk, long before the control backlog
+        assertEquals(90, polls);
+        assertFalse(lanes.isEmpty());
+        assertEquals(900 - 80, lanes.drainTo(i -> { }));
+        assertTrue(lanes.isEmpty());
+    }
+
+    @Test
+    void testControlWaitsBehindAtMostTheLowerLaneWeights() {
+        PriorityLanes<MessagePriority> lanes = new PriorityLanes<>();
+        for (int i = 0; i < 1_000; i++) {
+            lanes.offer(MessagePriority.INTERACTIVE, MessagePriority.INTERACTIVE);
+            lanes.offer(MessagePriority.BULK, MessagePriority.BULK);
+        }
+        // Leave the scheduler somewhere in the middle of a round
+        for (int i = 0; i < 7; i++) {
+            lanes.poll();
+        }
+
+        int controls = 20;
+        for (int i = 0; i < controls; i++) {
+            lanes.offer(MessagePriority.CONTROL, MessagePriority.CONTROL);
+        }
+        int served = 0;
+        int gap = 0;
+        int maxGap = 0;
+        while (served < controls) {
+            if (lanes.poll() == MessagePriority.CONTROL) {
+                served++;
+                maxGap = Math.max(maxGap, gap);
+                gap = 0;
+            } else {
+                gap++;
+            }
+        }
+
+        // A control burst outlasting its credit waits for a full round of the lower lanes: 4 + 1
+        int lowerWeights = MessagePriority.INTERACTIVE.getWeight() + MessagePriority.BULK.getWeight();
+        assertEquals(lowerWeights, maxGap);
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress tests shared by every router implementation.
+ *
+ * Many sender threads publish to stable receivers, which acknowledge every message, and to
+ * transient receivers that other threads keep registering and unregistering. The sharded router
+ * also grows its shard count while the traffic runs. The checks are:
+ * - Per sender/receiver pair, stable receivers see every message exactly once and in publish order
+ * - Per receiver/sender pair, senders see every acknowledgement exactly once and in order
+ * - Every message for a transient receiver is delivered at most once or dead-lettered, never lost
+ * - Acknowledgement counters match the number of delivered messages
+ *
+ * The load scales with -Dplayercomm.stress.threads (sender threads, default twice the number
+ * of processors and at least 4) and -Dplayercomm.stress.messages (messages per sender).
+ */
+class RouterStressTest {
+
+    private static final int THREADS = Integer.getInteger("playercomm.stress.threads",
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+    private static final int MESSAGES_PER_SENDER = Integer.getInteger("playercomm.stress.messages", 2_000);
+    private static final int TRANSIENT_EVERY = 8;
+    private static final int TRANSIENTS_PER_CHURNER = 4;
+    private static final long SETTLE_TIMEOUT_SECONDS = 30;
+    private static final long SHARD_GROWTH_INTERVAL_MILLIS = 2;
+
+    @Test
+    void testDirectRouter() throws InterruptedException {
+        runStress(new PlayerMessageRouter());
+    }
+
+    @Test
+    void testShardedRouter() throws InterruptedException {
+        int maxShards = Math.max(4, THREADS);
+        try (ShardedPlayerMessageRouter router = new ShardedPlayerMessageRouter(2)) {
+            runStress(router, () -> {
+                if (router.getShardCount() < maxShards) {
+                    router.addShard();
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(SHARD_GROWTH_INTERVAL_MILLIS));
+            });
+            assertTrue(router.getShardCount() > 2, "no shard was added during the run");
+        }
+    }
+
+    @Test
+    void testMailboxRouter() throws InterruptedException {
+        try (MailboxPlayerMessageRouter router = new MailboxPlayerMessageRouter()) {
+            runStress(router);
+        }
+    }
+
+    private static void runStress(PlayerMessageRouter router) throws InterruptedException {
+        runStress(router, null);
+    }
+
+    /**
+     * Runs the stress scenario.
+     *
+     * @param router     router under test
+     * @param routerWork work repeated on its own thread while the senders publish, or null
+     */
+    private static void runStress(PlayerMessageRouter router, Runnable routerWork) throws InterruptedException {
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        LongAdder transientDeadLetters = new LongAdder();
+        router.setDeadLetterHandler((message, reason, cause) -> {
+            if (message.getReceiver().startsWith("transient-")) {
+                transientDeadLetters.increment();
+            } else {
+                violations.add("dead letter " + reason + " for " + message.getSender() + " -> " + message.getReceiver());
+            }
+        });
+
+        List<CheckingPlayer> senders = new ArrayList<>();
+        List<CheckingPlayer> stables = new ArrayList<>();
+        List<CheckingPlayer> transients = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            senders.add(new CheckingPlayer("sender-" + i, router, true, false, violations));
+        }
+        for (int i = 0; i < Math.max(2, THREADS / 2); i++) {
+            stables.add(new CheckingPlayer("stable-" + i, router, true, true, violations));
+        }
+        int churners = Math.max(1, THREADS / 4);
+        for (int i = 0; i < churners * TRANSIENTS_PER_CHURNER; i++) {
+            transients.add(new CheckingPlayer("transient-" + i, router, false, true, violations));
+        }
+        senders.forEach(router::registerPlayer);
+        stables.forEach(router::registerPlayer);
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch publishersDone = new CountDownLatch(THREADS);
+        LongAdder stablePublished = new LongAdder();
+        LongAdder transientPublished = new LongAdder();
+        int[][] sentPerPair = new int[THREADS][stables.size()];
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            CheckingPlayer sender = senders.get(i);
+            int[] sent = sentPerPair[i];
+            threads.add(new Thread(() -> {
+                await(start);
+                try {
+                    for (int k = 0; k < MESSAGES_PER_SENDER; k++) {
+                        if (k % TRANSIENT_EVERY == TRANSIENT_EVERY - 1) {
+                            sender.sendMessage(transients.get(k % transients.size()).getName(), Integer.toString(k));
+                            transientPublished.increment();
+                        } else {
+                            int receiver = k % stables.size();
+                            sender.sendMessage(stables.get(receiver).getName(), Integer.toString(sent[receiver]++));
+                            stablePublished.increment();
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    violations.add(sender.getName() + " failed to publish: " + e);
+                } finally {
+                    publishersDone.countDown();
+                }
+            }, "stress-" + sender.getName()));
+        }
+        for (int c = 0; c < churners; c++) {
+            List<CheckingPlayer> owned = transients.subList(c * TRANSIENTS_PER_CHURNER, (c + 1) * TRANSIENTS_PER_CHURNER);
+            threads.add(new Thread(() -> {
+                await(start);
+                while (publishersDone.getCount() > 0) {
+                    for (CheckingPlayer player : owned) {
+                        router.registerPlayer(player);
+                        Thread.yield();
+                        router.unregisterPlayer(player);
+                    }
+                }
+            }, "stress-churn-" + c));
+        }
+        if (routerWork != null) {
+            threads.add(new Thread(() -> {
+                await(start);
+                try {
+                    while (publishersDone.getCount() > 0) {
+                        routerWork.run();
+                    }
+                } catch (RuntimeException e) {
+                    violations.add("router work failed: " + e);
+                }
+            }, "stress-router-work"));
+        }
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(SETTLE_TIMEOUT_SECONDS));
+            assertFalse(thread.isAlive(), thread.getName() + " did not finish");
+        }
+
+        long expectedStable = stablePublished.sum();
+        long expectedTransient = transientPublished.sum();
+        assertEquals((long) THREADS * MESSAGES_PER_SENDER, expectedStable + expectedTransient);
+        // Stops waiting early once a violation shows the counts can no longer add up
+        boolean settled = awaitCondition(() -> !violations.isEmpty()
+                || (sum(stables) == expectedStable
+                        && sum(transients) + transientDeadLetters.sum() == expectedTransient
+                        && sum(senders) == sum(stables) + sum(transients)));
+
+        assertTrue(violations.isEmpty(), violations.size() + " violation(s), first: " + violations.peek());
+        assertTrue(settled, "not settled: stable " + sum(stables) + "/" + expectedStable
+                + ", transient " + sum(transients) + " + " + transientDeadLetters.sum() + " dead/" + expectedTransient
+                + ", acknowledged " + sum(senders) + "/" + (sum(stables) + sum(transients)));
+        for (int i = 0; i < THREADS; i++) {
+            for (int j = 0; j < stables.size(); j++) {
+                String pair = senders.get(i).getName() + " -> " + stables.get(j).getName();
+                assertEquals(sentPerPair[i][j], stables.get(j).nextExpected(senders.get(i).getName()), pair);
+                assertEquals(sentPerPair[i][j], senders.get(i).nextExpected(stables.get(j).getName()), "acks of " + pair);
+            }
+        }
+    }
+
+    private static long sum(List<CheckingPlayer> players) {
+        long total = 0;
+        for (CheckingPlayer player : players) {
+            total += player.received.sum();
+        }
+        return total;
+    }
+
+    private static boolean awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SETTLE_TIMEOUT_SECONDS);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Player that checks the sequence numbers it receives and optionally acknowledges them.
+     * Ordered players require consecutive numbers per peer; unordered ones only reject duplicates.
+     */
+    private static final class CheckingPlayer extends Player {
+
+        private final boolean ordered;
+        private final boolean acknowledge;
+        private final Queue<String> violations;
+        private final Map<String, AtomicInteger> nextSequence = new ConcurrentHashMap<>();
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+        private final LongAdder received = new LongAdder();
+
+        CheckingPlayer(String name, PlayerMessageRouter router, boolean ordered, boolean acknowledge,
+                       Queue<String> violations) {
+            super(name, router);
+            this.ordered = ordered;
+            this.acknowledge = acknowledge;
+            this.violations = violations;
+        }
+
+        @Override
+        public void receiveMessage(Message message) {
+            String peer = message.getSender();
+            int sequence = Integer.parseInt(message.getContent());
+            if (ordered && !peer.startsWith("transient-")) {
+                AtomicInteger next = nextSequence.computeIfAbsent(peer, key -> new AtomicInteger());
+                int expected = next.get();
+                if (sequence != expected || !next.compareAndSet(expected, expected + 1)) {
+                    violations.add(getName() + " expected " + expected + " from " + peer + " but got " + sequence);
+                }
+            } else if (!seen.add(peer + ":" + sequence)) {
+                violations.add(getName() + " received " + sequence + " from " + peer + " twice");
+            }
+            received.increment();
+            if (acknowledge) {
+                sendMessage(peer, message.getContent());
+            }
+        }
+
+        int nextExpected(String peer) {
+            AtomicInteger next = nextSequence.get(peer);
+            return next != null ? next.get() : 0;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package com.example.playercomm.transport;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedPlayerMessageRouterTest {
+
+    private ShardedPlayerMessageRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ShardedPlayerMessageRouter(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void testMessagesDeliveredInOrder() throws InterruptedException {
+        int count = 1_000;
+        RecordingPlayer receiver = new RecordingPlayer("Receiver", router, count);
+        router.registerPlayer(receiver);
+
+        for (int i = 0; i < count; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+        }
+
+        assertTrue(receiver.latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < count; i++) {
+            assertEquals(Integer.toString(i), receiver.received.get(i));
+        }
+    }
+
+    @Test
+    void testPlayersSpreadAcrossShards() {
+        for (int i = 0; i < 200; i++) {
+            router.registerPlayer(new Player("player-" + i, router));
+        }
+
+        boolean[] used = new boolean[router.getShardCount()];
+        for (int i = 0; i < 200; i++) {
+            used[router.shardIndexOf("player-" + i)] = true;
+        }
+        for (boolean shardUsed : used) {
+            assertTrue(shardUsed);
+        }
+    }
+
+    @Test
+    void testAddShardRebalancesPlayersWithoutLosingMessages() throws InterruptedException {
+        int players = 100;
+        CountDownLatch latch = new CountDownLatch(players);
+        for (int i = 0; i < players; i++) {
+            router.registerPlayer(new Player("player-" + i, router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    latch.countDown();
+                }
+            });
+        }
+
+        int newShard = router.addShard();
+        assertEquals(5, router.getShardCount());
+
+        boolean anyMoved = false;
+        for (int i = 0; i < players; i++) {
+            anyMoved |= router.shardIndexOf("player-" + i) == newShard;
+            router.publishMessage(new Message("Sender", "player-" + i, "after rebalance"));
+        }
+
+        assertTrue(anyMoved);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAddShardWhilePublishingKeepsPerSenderOrder() throws InterruptedException {
+        int receivers = 50;
+        int senders = 4;
+        int perSender = 5_000;
+        List<OrderCheckingPlayer> players = new ArrayList<>();
+        for (int i = 0; i < receivers; i++) {
+            OrderCheckingPlayer player = new OrderCheckingPlayer("player-" + i, router);
+            players.add(player);
+            router.registerPlayer(player);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int s = 0; s < senders; s++) {
+            String sender = "sender-" + s;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                int[] next = new int[receivers];
+                for (int i = 0; i < perSender; i++) {
+                    int receiver = i % receivers;
+                    router.publishMessage(new Message(sender, "player-" + receiver, Integer.toString(next[receiver]++)));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (int i = 0; i < 4; i++) {
+            router.addShard();
+            Thread.sleep(2);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(8, router.getShardCount());
+        for (OrderCheckingPlayer player : players) {
+            assertTrue(player.awaitReceived((long) senders * perSender / receivers, 5, TimeUnit.SECONDS),
+                    player.getName() + " received " + player.received.get());
+            assertNull(player.violation, player.violation);
+        }
+    }
+
+    @Test
+    void testAddShardRollsBackWhenAnOldShardDoesNotDrain() throws InterruptedException {
+        int receivers = 20;
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ShardedPlayerMessageRouter single = new ShardedPlayerMessageRouter(1)) {
+            List<OrderCheckingPlayer> players = new ArrayList<>();
+            for (int i = 0; i < receivers; i++) {
+                OrderCheckingPlayer player = new OrderCheckingPlayer("player-" + i, single);
+                players.add(player);
+                single.registerPlayer(player);
+            }
+            single.registerPlayer(new Player("Stuck", single) {
+                @Override
+                public void receiveMessage(Message message) {
+                    entered.countDown();
+                    awaitQuietly(release);
+                }
+            });
+            single.publishMessage(new Message("Sender", "Stuck", "blocks"));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            // Messages published while addShard() waits queue up on the new shard and must go back in order
+            AtomicLong published = new AtomicLong();
+            CountDownLatch publishing = new CountDownLatch(1);
+            Thread publisher = new Thread(() -> {
+                int[] next = new int[receivers];
+                for (int i = 0; i < 200 * receivers; i++) {
+                    int receiver = i % receivers;
+                    single.publishMessage(new Message("sender", "player-" + receiver, Integer.toString(next[receiver]++)));
+                    published.incrementAndGet();
+                    publishing.countDown();
+                    if (i % receivers == 0) {
+                        Thread.yield();
+                    }
+                }
+            });
+            publisher.start();
+            assertTrue(publishing.await(5, TimeUnit.SECONDS));
+            long start = System.nanoTime();
+            assertThrows(IllegalStateException.class, () -> single.addShard(100, TimeUnit.MILLISECONDS));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            release.countDown();
+            publisher.join();
+
+            assertTrue(elapsedMillis < 2_000, "addShard took " + elapsedMillis + " ms");
+            assertEquals(1, single.getShardCount());
+            for (OrderCheckingPlayer player : players) {
+                assertEquals(0, single.shardIndexOf(player.getName()));
+                assertTrue(player.awaitReceived(published.get() / receivers, 5, TimeUnit.SECONDS),
+                        player.getName() + " received " + player.received.get());
+                assertNull(player.violation, player.violation);
+            }
+            assertEquals(1, single.addShard());
+        }
+    }
+
+    @Test
+    void testReplyChainOnOneShardDoesNotRecurse() throws InterruptedException {
+        router.close();
+        router = new ShardedPlayerMessageRouter(1);
+        int exchanges = 100_000;
+        CountDownLatch done = new CountDownLatch(1);
+        for (String name : new String[]{"Ping", "Pong"}) {
+            String peer = name.equals("Ping") ? "Pong" : "Ping";
+            router.registerPlayer(new Player(name, router) {
+                @Override
+                public void receiveMessage(Message message) {
+                    int count = Integer.parseInt(message.getContent());
+                    if (count == exchanges) {
+                        done.countDown();
+                    } else {
+                        sendMessage(peer, Integer.toString(count + 1));
+                    }
+                }
+            });
+        }
+
+        router.publishMessage(new Message("Pong", "Ping", "0"));
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUnregisterWaitsForQueuedMessages() {
+        int count = 500;
+        RecordingPlayer receiver = new RecordingPlayer("Receiver", router, count);
+        router.registerPlayer(receiver);
+        for (int i = 0; i < count; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+        }
+
+        assertEquals(0, receiver.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(count, receiver.received.size());
+        assertFalse(router.hasPlayer("Receiver"));
+    }
+
+    @Test
+    void testShutdownDrainsQueuesAndRejectsNewMessages() {
+        int count = 1_000;
+        RecordingPlayer receiver = new RecordingPlayer("Receiver", router, count);
+        router.registerPlayer(receiver);
+        for (int i = 0; i < count; i++) {
+            router.publishMessage(new Message("Sender", "Receiver", Integer.toString(i)));
+        }
+
+        ShutdownReport report = router.shutdown(5, TimeUnit.SECONDS);
+        assertEquals(0, report.getDropped());
+        assertEquals(count, receiver.received.size());
+
+        router.publishMessage(new Message("Sender", "Receiver", "too late"));
+        assertEquals(1, router.getRejectedCount());
+    }
+
+    @Test
+    void testShutdownReportsADispatcherStuckInReceiveMessage() throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        router.registerPlayer(new Player("Stuck", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        router.publishMessage(new Message("Sender", "Stuck", "blocks"));
+        router.publishMessage(new Message("Sender", "Stuck", "queued behind"));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        try {
+            long start = System.nanoTime();
+            ShutdownReport report = router.shutdown(50, TimeUnit.MILLISECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertEquals(1, report.getStuckThreads(), report.toString());
+            assertFalse(report.isClean());
+            assertTrue(elapsedMillis < 2_000, "shutdown took " + elapsedMillis + " ms");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testMessagesRacingShutdownAreDeliveredOrDeadLettered() throws InterruptedException {
+        for (int round = 0; round < 20; round++) {
+            ShardedPlayerMessageRouter racing = new ShardedPlayerMessageRouter(4);
+            AtomicLong received = new AtomicLong();
+            AtomicLong deadLetters = new AtomicLong();
+            AtomicLong published = new AtomicLong();
+            racing.setDeadLetterHandler((message, reason, cause) -> deadLetters.incrementAndGet());
+            for (int p = 0; p < 8; p++) {
+                racing.registerPlayer(new Player("Receiver" + p, racing) {
+                    @Override
+                    public void receiveMessage(Message message) {
+                        received.incrementAndGet();
+                    }
+                });
+            }
+
+            CountDownLatch started = new CountDownLatch(2);
+            List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                Thread publisher = new Thread(() -> {
+                    started.countDown();
+                    for (int i = 0; i < 5_000; i++) {
+                        racing.publishMessage(new Message("Sender", "Receiver" + (i % 8), Integer.toString(i)));
+                        published.incrementAndGet();
+                    }
+                });
+                publishers.add(publisher);
+                publisher.start();
+            }
+            started.await();
+
+            // A zero deadline makes every busy shard discard its queue while publishers keep going
+            ShutdownReport report = racing.shutdown(0, TimeUnit.MILLISECONDS);
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+
+            long settled = received.get() + deadLetters.get();
+            assertEquals(published.get(), settled, "round " + round + ": " + report);
+        }
+    }
+
+    @Test
+    void testFailuresCountedPerReceiverAcrossShards() throws InterruptedException {
+        CountDownLatch deadLetters = new CountDownLatch(3);
+        router.setDeadLetterHandler((message, reason, cause) -> deadLetters.countDown());
+        router.registerPlayer(new Player("Faulty", router) {
+            @Override
+            public void receiveMessage(Message message) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            router.publishMessage(new Message("Sender", "Faulty", "Test"));
+        }
+
+        assertTrue(deadLetters.await(5, TimeUnit.SECONDS));
+        assertEquals(3, router.getFailureCount("Faulty"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records the first gap or reordering in the sequence numbers received from each sender.
+     */
+    private static class OrderCheckingPlayer extends Player {
+
+        private final Map<String, Integer> next = new ConcurrentHashMap<>();
+        private final AtomicLong received = new AtomicLong();
+        private volatile String violation;
+
+        OrderCheckingPlayer(String name, PlayerMessageRouter router) {
+            super(name, router);
+        }
+
+        @Override
+        public void receiveMessage(Message message) {
+            int sequence = Integer.parseInt(message.getContent());
+            int expected = next.getOrDefault(message.getSender(), 0);
+            if (sequence != expected && violation == null) {
+                violation = getName() + " expected " + expected + " from " + message.getSender() + " but got " + sequence;
+            }
+            next.put(message.getSender(), sequence + 1);
+            received.incrementAndGet();
+        }
+
+        boolean awaitReceived(long count, long timeout, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (received.get() < count) {
+                if (System.nanoTime() > deadline) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+            return true;
+        }
+    }
+
+    private static class RecordingPlayer extends Player {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch latch;
+
+        RecordingPlayer(String name, PlayerMessageRouter router, int expected) {
+            super(name, router);
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void receiveMessage(Message message) {
+            received.add(message.getContent());
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.playercomm.transport.bridge;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BridgeProtocolTest {
+
+    @Test
+    void testNamesRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BridgeProtocol.writeRegister(new DataOutputStream(bytes), List.of("Alice", "Bob"));
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(BridgeProtocol.REGISTER, in.readByte());
+        assertEquals(List.of("Alice", "Bob"), BridgeProtocol.readNames(in));
+    }
+
+    @Test
+    void testNegativeLengthRejected() {
+        assertThrows(IOException.class, () -> BridgeProtocol.readString(input(-1)));
+    }
+
+    @Test
+    void testOversizedLengthRejectedBeforeAllocating() {
+        assertThrows(IOException.class, () -> BridgeProtocol.readString(input(Integer.MAX_VALUE)));
+        assertThrows(IOException.class, () -> BridgeProtocol.readString(input(BridgeProtocol.MAX_FIELD_BYTES + 1)));
+    }
+
+    @Test
+    void testOversizedNameCountRejected() {
+        assertThrows(IOException.class, () -> BridgeProtocol.readNames(input(-5)));
+        assertThrows(IOException.class, () -> BridgeProtocol.readNames(input(BridgeProtocol.MAX_NAMES + 1)));
+    }
+
+    private static DataInputStream input(int value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new DataOutputStream(bytes).writeInt(value);
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.playercomm.transport.bridge;
+
+import com.example.playercomm.core.Player;
+import com.example.playercomm.model.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BridgedPlayerMessageRouterTest {
+
+    private BridgedPlayerMessageRouter nodeA;
+    private BridgedPlayerMessageRouter nodeB;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        nodeA = new BridgedPlayerMessageRouter("A");
+        nodeB = new BridgedPlayerMessageRouter("B");
+        int port = nodeB.listen(0);
+        nodeA.connectToPeer("localhost", port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    @Test
+    void testMessagesForwardedToRemotePlayer() throws Exception {
+        BlockingQueue<Message> aliceInbox = new LinkedBlockingQueue<>();
+        Player alice = new Player("Alice", nodeA) {
+            @Override
+            public void receiveMessage(Message message) {
+                aliceInbox.add(message);
+            }
+        };
+        Player bob = new Player("Bob", nodeB) {
+            @Override
+            public void receiveMessage(Message message) {
+                sendMessage(message.getSender(), message.getContent() + " [1]");
+            }
+        };
+        nodeA.registerPlayer(alice);
+        nodeB.registerPlayer(bob);
+        awaitCondition(() -> nodeA.hasRemotePlayer("Bob") && nodeB.hasRemotePlayer("Alice"));
+
+        alice.sendMessage("Bob", "Hello Bob");
+
+        Message reply = aliceInbox.poll(5, TimeUnit.SECONDS);
+        assertNotNull(reply);
+        assertEquals("Bob", reply.getSender());
+        assertEquals("Hello Bob [1]", reply.getContent());
+    }
+
+    @Test
+    void testRegistryExchangedOnConnectAndUnregister() throws Exception {
+        Player bob = new Player("Bob", nodeB);
+        nodeB.registerPlayer(bob);
+        awaitCondition(() -> nodeA.hasRemotePlayer("Bob"));
+
+        nodeB.unregisterPlayer(bob);
+        awaitCondition(() -> !nodeA.hasRemotePlayer("Bob"));
+
+        // Existing players are announced to peers that connect later
+        BridgedPlayerMessageRouter nodeC = new BridgedPlayerMessageRouter("C");
+        try {
+            nodeA.registerPlayer(new Player("Alice", nodeA));
+            nodeC.connectToPeer("localhost", nodeA.listen(0));
+            awaitCondition(() -> nodeC.hasRemotePlayer("Alice"));
+        } finally {
+            nodeC.close();
+        }
+    }
+
+    @Test
+    void testRoutesRemovedWhenPeerCloses() throws Exception {
+        nodeB.registerPlayer(new Player("Bob", nodeB));
+        awaitCondition(() -> nodeA.hasRemotePlayer("Bob"));
+
+        nodeB.close();
+        assertTrue(nodeB.isShuttingDown());
+        awaitCondition(() -> !nodeA.hasRemotePlayer("Bob") && nodeA.getPeerCount() == 0);
+        assertDoesNotThrow(() -> nodeA.publishMessage(new Message("Alice", "Bob", "Lost")));
+    }
+
+    @Test
+    void testRemoteMessagesRejectedOnceShutdownBegins() throws Exception {
+        BlockingQueue<Message> bobInbox = new LinkedBlockingQueue<>();
+        nodeB.registerPlayer(new Player("Bob", nodeB) {
+            @Override
+            public void receiveMessage(Message message) {
+                bobInbox.add(message);
+            }
+        });
+        awaitCondition(() -> nodeA.hasRemotePlayer("Bob"));
+
+        nodeA.shutdown(1, TimeUnit.SECONDS);
+        nodeA.publishMessage(new Message("Alice", "Bob", "after shutdown"));
+
+        assertEquals(1, nodeA.getRejectedCount());
+        assertNull(bobInbox.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
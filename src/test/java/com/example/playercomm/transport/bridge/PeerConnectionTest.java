@@ -0,0 +1,64 @@
+package com.example.playercomm.transport.bridge;
+
+import com.example.playercomm.transport.compression.CompressionSettings;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PeerConnectionTest {
+
+    @Test
+    void testConcurrentClosesCloseOnce() throws Exception {
+        int rounds = 50;
+        int closers = 4;
+        AtomicInteger closes = new AtomicInteger();
+        BridgedPlayerMessageRouter router = new BridgedPlayerMessageRouter("test") {
+            @Override
+            void onPeerClosed(PeerConnection peer) {
+                closes.incrementAndGet();
+                super.onPeerClosed(peer);
+            }
+        };
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            for (int round = 0; round < rounds; round++) {
+                Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+                Socket accepted = server.accept();
+                try {
+                    PeerConnection peer = new PeerConnection(router, client, CompressionSettings.DISABLED);
+                    CountDownLatch start = new CountDownLatch(1);
+                    List<Thread> threads = new ArrayList<>();
+                    for (int c = 0; c < closers; c++) {
+                        Thread thread = new Thread(() -> {
+                            try {
+                                start.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            peer.close();
+                        });
+                        threads.add(thread);
+                        thread.start();
+                    }
+                    start.countDown();
+                    for (Thread thread : threads) {
+                        thread.join();
+                    }
+                } finally {
+                    accepted.close();
+                }
+            }
+        } finally {
+            router.close();
+        }
+        assertEquals(rounds, closes.get());
+    }
+}
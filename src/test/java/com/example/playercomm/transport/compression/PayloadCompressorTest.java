@@ -0,0 +1,94 @@
+package com.example.playercomm.transport.compression;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadCompressorTest {
+
+    private final CompressionSettings settings = CompressionSettings.defaults();
+    private final PayloadCompressor compressor = settings.newCompressor();
+    private final PayloadDecompressor decompressor = settings.newDecompressor();
+
+    @Test
+    void testSmallPayloadSentRaw() throws IOException {
+        byte[] raw = "Message 1 [1]".getBytes(StandardCharsets.UTF_8);
+
+        int length = compressor.encode(raw);
+
+        assertEquals(raw.length + 1, length);
+        assertEquals(PayloadCompressor.RAW, compressor.getBuffer()[0]);
+        assertArrayEquals(raw, decompressor.decode(encoded(length)));
+    }
+
+    @Test
+    void testLargeRepetitivePayloadCompressed() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; sb.length() < 16 * 1024; i++) {
+            sb.append("Message ").append(i).append(" [").append(i).append("] ");
+        }
+        byte[] raw = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        int length = compressor.encode(raw);
+
+        assertEquals(PayloadCompressor.DEFLATED, compressor.getBuffer()[0]);
+        assertTrue(length < raw.length / 3, "compressed to " + length + " of " + raw.length);
+        assertArrayEquals(raw, decompressor.decode(encoded(length)));
+
+        // The same instances are reused for subsequent frames
+        byte[] second = Arrays.copyOf(raw, raw.length / 2);
+        assertArrayEquals(second, decompressor.decode(encoded(compressor.encode(second))));
+    }
+
+    @Test
+    void testIncompressiblePayloadFallsBackToRaw() throws IOException {
+        byte[] raw = new byte[4096];
+        new Random(42).nextBytes(raw);
+
+        int length = compressor.encode(raw);
+
+        assertEquals(PayloadCompressor.RAW, compressor.getBuffer()[0]);
+        assertArrayEquals(raw, decompressor.decode(encoded(length)));
+    }
+
+    @Test
+    void testDictionaryRequiredToDecode() {
+        byte[] raw = "Message 1 [1] ".repeat(100).getBytes(StandardCharsets.UTF_8);
+        int length = compressor.encode(raw);
+
+        PayloadDecompressor withoutDictionary =
+                new CompressionSettings(0, Deflater.BEST_SPEED, null).newDecompressor();
+        assertThrows(IOException.class, () -> withoutDictionary.decode(encoded(length)));
+    }
+
+    @Test
+    void testOversizedRawLengthRejectedBeforeAllocating() {
+        byte[] header = {PayloadCompressor.DEFLATED, 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0};
+
+        IOException e = assertThrows(IOException.class, () -> decompressor.decode(header));
+        assertTrue(e.getMessage().startsWith("Invalid payload length"), e.getMessage());
+    }
+
+    @Test
+    void testThresholdFromSystemProperty() {
+        assertSame(CompressionSettings.DISABLED, CompressionSettings.fromSystemProperty());
+        System.setProperty(CompressionSettings.THRESHOLD_PROPERTY, "256");
+        try {
+            CompressionSettings configured = CompressionSettings.fromSystemProperty();
+            assertTrue(configured.isEnabled());
+            assertEquals(256, configured.getThresholdBytes());
+        } finally {
+            System.clearProperty(CompressionSettings.THRESHOLD_PROPERTY);
+        }
+    }
+
+    private byte[] encoded(int length) {
+        return Arrays.copyOf(compressor.getBuffer(), length);
+    }
+}
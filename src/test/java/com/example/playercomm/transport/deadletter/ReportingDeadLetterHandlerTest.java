@@ -0,0 +1,58 @@
+package com.example.playercomm.transport.deadletter;
+
+import com.example.playercomm.model.Message;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportingDeadLetterHandlerTest {
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+    @Test
+    void testReportsFirstDeadLetterThenAtMostOncePerInterval() {
+        ReportingDeadLetterHandler handler = new ReportingDeadLetterHandler(100, 1, TimeUnit.HOURS, out);
+
+        handler.onDeadLetter(new Message("Alice", "Nobody", "hi"), DeadLetterReason.UNKNOWN_RECEIVER, null);
+        assertEquals(1, countReports());
+
+        for (int i = 0; i < 50; i++) {
+            handler.onDeadLetter(new Message("Alice", "Nobody", "hi"), DeadLetterReason.UNKNOWN_RECEIVER, null);
+        }
+        handler.onDeadLetter(new Message("Alice", "Bob", "hi"), DeadLetterReason.DELIVERY_FAILED,
+                new IllegalStateException("boom"));
+        assertEquals(1, countReports());
+        assertEquals(51, handler.getQueuedCount());
+
+        handler.flush();
+        String report = output.toString(StandardCharsets.UTF_8);
+        assertEquals(2, countReports());
+        assertTrue(report.contains("UNKNOWN_RECEIVER x50: Alice -> Nobody"));
+        assertTrue(report.contains("DELIVERY_FAILED x1: Alice -> Bob (java.lang.IllegalStateException: boom)"));
+        assertEquals(0, handler.getQueuedCount());
+    }
+
+    @Test
+    void testCountsDeadLettersThatDoNotFit() {
+        ReportingDeadLetterHandler handler = new ReportingDeadLetterHandler(2, 1, TimeUnit.HOURS, out);
+        handler.onDeadLetter(new Message("Alice", "Nobody", "first"), DeadLetterReason.UNKNOWN_RECEIVER, null);
+        output.reset();
+
+        for (int i = 0; i < 5; i++) {
+            handler.onDeadLetter(new Message("Alice", "Nobody", "hi"), DeadLetterReason.UNKNOWN_RECEIVER, null);
+        }
+        handler.flush();
+
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("5 undeliverable message(s), 3 not kept (queue full)"));
+    }
+
+    private int countReports() {
+        return output.toString(StandardCharsets.UTF_8).split("\\[DeadLetters]", -1).length - 1;
+    }
+}
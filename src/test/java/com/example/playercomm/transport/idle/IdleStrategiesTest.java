@@ -0,0 +1,38 @@
+package com.example.playercomm.transport.idle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdleStrategiesTest {
+
+    @Test
+    void testParse() {
+        assertNull(IdleStrategies.parse("blocking"));
+        assertEquals("spin", IdleStrategies.parse("spin").toString());
+        assertEquals("spin", IdleStrategies.parse("spin").copy().toString());
+        assertTrue(IdleStrategies.parse("backoff") instanceof BackoffIdleStrategy);
+        assertEquals("backoff:100,10,1,500", IdleStrategies.parse(" Backoff:100, 10, 1, 500 ").toString());
+        assertThrows(IllegalArgumentException.class, () -> IdleStrategies.parse("backoff:1,2"));
+        assertThrows(IllegalArgumentException.class, () -> IdleStrategies.parse("sleepy"));
+    }
+
+    @Test
+    void testBackoffEventuallyParks() {
+        BackoffIdleStrategy strategy = new BackoffIdleStrategy(2, 2, 1_000_000, 1_000_000);
+        for (int i = 0; i < 4; i++) {
+            strategy.idle();
+        }
+
+        // Fifth call parks for about a millisecond
+        long start = System.nanoTime();
+        strategy.idle();
+        assertTrue(System.nanoTime() - start >= 500_000);
+
+        // After reset, the strategy spins again without parking
+        strategy.reset();
+        start = System.nanoTime();
+        strategy.idle();
+        assertTrue(System.nanoTime() - start < 500_000_000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.transport.idle.IdleStrategies;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BusyPollLineConnectionTest {
+
+    private ServerSocketChannel server;
+    private Socket peer;
+    private LineConnection connection;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        SocketChannel client = SocketChannel.open(server.getLocalAddress());
+        peer = server.accept().socket();
+        connection = LineConnections.open(client.socket(), IdleStrategies.parse("backoff:100,10,1,100"));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+        peer.close();
+        server.close();
+    }
+
+    @Test
+    void testReadsLinesAcrossPartialWrites() throws Exception {
+        OutputStream out = peer.getOutputStream();
+        out.write("Message 1 [1]\r\nMess".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        assertEquals("Message 1 [1]", connection.readLine());
+
+        out.write("age 2 [2]\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        assertEquals("Message 2 [2]", connection.readLine());
+    }
+
+    @Test
+    void testLinesLongerThanBuffer() throws Exception {
+        String longLine = "x".repeat(200_000);
+        connection.writeLine(longLine);
+        byte[] echoed = peer.getInputStream().readNBytes(longLine.length() + 1);
+        peer.getOutputStream().write(echoed);
+
+        assertEquals(longLine, connection.readLine());
+    }
+
+    @Test
+    void testEndOfStream() throws Exception {
+        peer.getOutputStream().write("last line without newline".getBytes(StandardCharsets.UTF_8));
+        peer.shutdownOutput();
+
+        assertEquals("last line without newline", connection.readLine());
+        assertNull(connection.readLine());
+    }
+
+    @Test
+    void testShutdownDiscardsUnreadLinesUntilPeerCloses() throws Exception {
+        peer.getOutputStream().write("unread 1\nunread 2\n".getBytes(StandardCharsets.UTF_8));
+        Thread closer = new Thread(() -> {
+            try {
+                // Closes once our FIN arrives
+                while (peer.getInputStream().read() >= 0) {
+                    // discard
+                }
+                peer.close();
+            } catch (Exception ignored) {
+            }
+        });
+        closer.start();
+
+        assertEquals(2, connection.shutdown(5, TimeUnit.SECONDS));
+        closer.join(5_000);
+    }
+
+    @Test
+    void testShutdownGivesUpAtDeadline() throws Exception {
+        long start = System.nanoTime();
+        assertEquals(0, connection.shutdown(100, TimeUnit.MILLISECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(-1, peer.getInputStream().read());
+    }
+}
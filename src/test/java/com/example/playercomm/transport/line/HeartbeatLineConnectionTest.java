@@ -0,0 +1,131 @@
+package com.example.playercomm.transport.line;
+
+import com.example.playercomm.transport.timer.HashedTimingWheel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeartbeatLineConnectionTest {
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel(5, TimeUnit.MILLISECONDS, 64);
+    private ServerSocketChannel server;
+    private LineConnection near;
+    private LineConnection far;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = LineConnections.listen(0);
+        int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+        near = LineConnections.open(new Socket("localhost", port), null);
+        far = LineConnections.open(server.accept().socket(), null);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        near.close();
+        far.close();
+        server.close();
+        wheel.close();
+    }
+
+    @Test
+    void testHeartbeatsKeepQuietConnectionAliveAndAreSkipped() throws Exception {
+        HeartbeatLineConnection nearBeats = HeartbeatLineConnection.open(near, wheel, 50, 300);
+        HeartbeatLineConnection farBeats = HeartbeatLineConnection.open(far, wheel, 50, 300);
+
+        Thread sender = new Thread(() -> {
+            try {
+                Thread.sleep(800);
+                farBeats.writeLine("Message 1 [1]");
+            } catch (Exception ignored) {
+            }
+        });
+        sender.start();
+
+        // Waits longer than the read timeout, kept alive by the peer's heartbeats
+        assertEquals("Message 1 [1]", nearBeats.readLine());
+        assertFalse(nearBeats.isTimedOut());
+        sender.join();
+        nearBeats.close();
+        farBeats.close();
+    }
+
+    @Test
+    void testSilentPeerDetected() throws Exception {
+        HeartbeatLineConnection nearBeats = HeartbeatLineConnection.open(near, wheel, 50, 300);
+
+        long start = System.nanoTime();
+        assertThrows(SocketTimeoutException.class, nearBeats::readLine);
+        long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(300));
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(nearBeats.isTimedOut());
+        assertEquals(HeartbeatLineConnection.HEARTBEAT, far.readLine());
+    }
+
+    @Test
+    void testBlockedHeartbeatWriteDoesNotStallTheWheel() throws Exception {
+        CountDownLatch writeBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        LineConnection stuck = new LineConnection() {
+            @Override
+            public String readLine() {
+                return null;
+            }
+
+            @Override
+            public void writeLine(String line) throws IOException {
+                // Like a socket write to a peer that has stopped reading
+                writeBlocked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public int shutdown(long timeout, TimeUnit unit) {
+                return 0;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        HeartbeatLineConnection beats = HeartbeatLineConnection.open(stuck, wheel, 20, 1_000);
+        try {
+            assertTrue(writeBlocked.await(5, TimeUnit.SECONDS));
+
+            CountDownLatch otherTimer = new CountDownLatch(1);
+            wheel.schedule(otherTimer::countDown, 20, TimeUnit.MILLISECONDS);
+            assertTrue(otherTimer.await(5, TimeUnit.SECONDS), "timing wheel stalled behind a heartbeat write");
+        } finally {
+            release.countDown();
+            beats.close();
+        }
+    }
+
+    @Test
+    void testNoTimeoutWhileNotReading() throws Exception {
+        HeartbeatLineConnection nearBeats = HeartbeatLineConnection.open(near, wheel, 50, 200);
+
+        Thread.sleep(500);
+        far.writeLine("late reply");
+
+        assertEquals("late reply", nearBeats.readLine());
+        nearBeats.close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.playercomm.transport.line;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineConnectionsTest {
+
+    @Test
+    void testBlockingRoundTripAndGracefulShutdown() throws Exception {
+        try (ServerSocketChannel server = LineConnections.listen(0)) {
+            int port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            try (Socket client = new Socket("localhost", port)) {
+                LineConnection serverSide = LineConnections.open(server.accept().socket(), null);
+                LineConnection clientSide = LineConnections.open(client, null);
+
+                clientSide.writeLine("Message 1");
+                assertEquals("Message 1", serverSide.readLine());
+                serverSide.writeLine("Message 1 [1]");
+
+                // The client closes first and waits for the server; its unread reply is discarded
+                CompletableFuture<Integer> clientDiscarded = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return clientSide.shutdown(5, TimeUnit.SECONDS);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                assertNull(serverSide.readLine());
+                assertEquals(0, serverSide.shutdown(5, TimeUnit.SECONDS));
+                assertEquals(1, clientDiscarded.get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    void testListenRebindsPortHeldInTimeWait() throws Exception {
+        int port;
+        try (ServerSocketChannel server = LineConnections.listen(0)) {
+            port = ((InetSocketAddress) server.getLocalAddress()).getPort();
+            try (Socket client = new Socket("localhost", port)) {
+                // Closing the accepted side first leaves the server's port in TIME_WAIT
+                server.accept().close();
+                assertEquals(-1, client.getInputStream().read());
+            }
+        }
+
+        try (ServerSocketChannel restarted = LineConnections.listen(port)) {
+            assertEquals(port, ((InetSocketAddress) restarted.getLocalAddress()).getPort());
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.model.MessagePriority;
+import com.example.playercomm.transport.compression.CompressionSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiplexedConnectionTest {
+
+    private MultiplexedConnection client;
+    private MultiplexedConnection server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        connect(MultiplexedConnection.DEFAULT_QUANTUM, CompressionSettings.DISABLED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testManyChannelsShareOneConnection() throws Exception {
+        int channelCount = 500;
+        int messagesPerChannel = 10;
+        startEchoResponder(channelCount);
+
+        List<MuxChannel> channels = new ArrayList<>();
+        for (int c = 0; c < channelCount; c++) {
+            MuxChannel channel = client.openChannel();
+            channels.add(channel);
+            for (int i = 1; i <= messagesPerChannel; i++) {
+                channel.send("Message " + i);
+            }
+        }
+
+        for (MuxChannel channel : channels) {
+            for (int i = 1; i <= messagesPerChannel; i++) {
+                assertEquals("Message " + i + " [" + i + "]", channel.receive(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(channelCount, client.getChannelCount());
+    }
+
+    @Test
+    void testBusyChannelDoesNotStarveOthers() throws Exception {
+        // Small socket buffers keep the bytes in flight low, so the writer's backlog stays in the channel
+        tearDown();
+        connect(1024, CompressionSettings.DISABLED, 32 * 1024);
+
+        int bulkFrames = 2_000;
+        String bulkPayload = "x".repeat(4096);
+        AtomicInteger bulkReceived = new AtomicInteger();
+        AtomicInteger bulkReceivedWhenQuietArrived = new AtomicInteger(-1);
+        CountDownLatch quietArrived = new CountDownLatch(1);
+        CountDownLatch backlogQueued = new CountDownLatch(1);
+
+        MuxChannel bulk = client.openChannel();
+        MuxChannel quiet = client.openChannel();
+        server.acceptChannel(5, TimeUnit.SECONDS).setListener(message -> {
+            // Stall the reader on the first bulk frame until the whole backlog has been queued
+            if (bulkReceived.incrementAndGet() == 1) {
+                try {
+                    backlogQueued.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        server.acceptChannel(5, TimeUnit.SECONDS).setListener(message -> {
+            bulkReceivedWhenQuietArrived.set(bulkReceived.get());
+            quietArrived.countDown();
+        });
+
+        for (int i = 0; i < bulkFrames; i++) {
+            bulk.send(bulkPayload);
+        }
+        quiet.send("ping");
+        backlogQueued.countDown();
+
+        assertTrue(quietArrived.await(10, TimeUnit.SECONDS));
+        assertTrue(bulkReceivedWhenQuietArrived.get() < bulkFrames / 2,
+                "quiet channel waited behind " + bulkReceivedWhenQuietArrived.get() + " bulk frames");
+    }
+
+    @Test
+    void testControlChannelOvertakesManyBulkChannels() throws Exception {
+        // Small socket buffers keep the bytes in flight low, so the writer's backlog stays in the channels
+        tearDown();
+        connect(MultiplexedConnection.DEFAULT_QUANTUM, CompressionSettings.DISABLED, 32 * 1024);
+
+        int bulkChannels = 32;
+        int framesPerChannel = 100;
+        String bulkPayload = "x".repeat(4096);
+        AtomicInteger bulkReceived = new AtomicInteger();
+        AtomicInteger bulkReceivedWhenControlArrived = new AtomicInteger(-1);
+        CountDownLatch controlArrived = new CountDownLatch(1);
+        CountDownLatch backlogQueued = new CountDownLatch(1);
+
+        List<MuxChannel> bulk = new ArrayList<>();
+        for (int c = 0; c < bulkChannels; c++) {
+            bulk.add(client.openChannel(MessagePriority.BULK));
+            MuxChannel remote = server.acceptChannel(5, TimeUnit.SECONDS);
+            assertEquals(MessagePriority.BULK, remote.getPriority());
+            remote.setListener(message -> {
+                // Stall the reader on the first bulk frame until the whole backlog has been queued
+                if (bulkReceived.incrementAndGet() == 1) {
+                    try {
+                        backlogQueued.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        MuxChannel control = client.openChannel(MessagePriority.CONTROL);
+        MuxChannel remoteControl = server.acceptChannel(5, TimeUnit.SECONDS);
+        assertEquals(MessagePriority.CONTROL, remoteControl.getPriority());
+        remoteControl.setListener(message -> {
+            bulkReceivedWhenControlArrived.set(bulkReceived.get());
+            controlArrived.countDown();
+        });
+
+        for (int i = 0; i < framesPerChannel; i++) {
+            for (MuxChannel channel : bulk) {
+                channel.send(bulkPayload);
+            }
+        }
+        control.send("heartbeat");
+        backlogQueued.countDown();
+
+        // Only the frames already in flight arrive first (about 30). In a single lane the control
+        // channel would wait for a full round of turns, three frames per bulk channel (about 130).
+        assertTrue(controlArrived.await(10, TimeUnit.SECONDS));
+        assertTrue(bulkReceivedWhenControlArrived.get() < 80,
+                "control channel waited behind " + bulkReceivedWhenControlArrived.get() + " bulk frames");
+    }
+
+    @Test
+    void testCloseSignalsEndOfStream() throws Exception {
+        MuxChannel channel = client.openChannel();
+        MuxChannel remote = server.acceptChannel(5, TimeUnit.SECONDS);
+        assertNotNull(remote);
+
+        channel.send("last");
+        channel.close();
+
+        assertEquals("last", remote.receive(5, TimeUnit.SECONDS));
+        assertNull(remote.receive(5, TimeUnit.SECONDS));
+        assertTrue(remote.isRemoteClosed());
+        assertThrows(IOException.class, () -> channel.send("after close"));
+    }
+
+    @Test
+    void testCompressedPayloadsRoundTrip() throws Exception {
+        tearDown();
+        connect(MultiplexedConnection.DEFAULT_QUANTUM, CompressionSettings.defaults());
+
+        MuxChannel channel = client.openChannel();
+        MuxChannel remote = server.acceptChannel(5, TimeUnit.SECONDS);
+        String large = "Message 1 [1] ".repeat(2_000);
+
+        channel.send("small");
+        channel.send(large);
+
+        assertEquals("small", remote.receive(5, TimeUnit.SECONDS));
+        assertEquals(large, remote.receive(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testOversizedSendFailsLocallyAndKeepsTheConnection() throws Exception {
+        MuxChannel channel = client.openChannel();
+        MuxChannel remote = server.acceptChannel(5, TimeUnit.SECONDS);
+        String largest = "x".repeat(MuxFrame.MAX_MESSAGE_BYTES);
+
+        assertThrows(IOException.class, () -> channel.send(largest + "x"));
+        channel.send(largest);
+        channel.send("after");
+
+        assertEquals(largest, remote.receive(5, TimeUnit.SECONDS));
+        assertEquals("after", remote.receive(5, TimeUnit.SECONDS));
+        assertFalse(client.isClosed());
+        assertFalse(server.isClosed());
+    }
+
+    private void connect(int quantum, CompressionSettings compression) throws IOException {
+        connect(quantum, compression, 0);
+    }
+
+    @Test
+    void testListenerRunsWithoutHoldingTheChannel() throws Exception {
+        CountDownLatch listenerEntered = new CountDownLatch(1);
+        CountDownLatch releaseListener = new CountDownLatch(1);
+        MuxChannel channel = client.openChannel();
+        MuxChannel accepted = server.acceptChannel(5, TimeUnit.SECONDS);
+        accepted.setListener(message -> {
+            listenerEntered.countDown();
+            try {
+                releaseListener.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        channel.send("block");
+        assertTrue(listenerEntered.await(5, TimeUnit.SECONDS));
+
+        // The reader thread is inside the listener; other threads must still be able to use the channel
+        Thread other = new Thread(() -> {
+            try {
+                accepted.send("reply");
+                accepted.setListener(message -> { });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        other.start();
+        other.join(5_000);
+        boolean blocked = other.isAlive();
+        releaseListener.countDown();
+        assertFalse(blocked, "channel was locked while the listener ran");
+        assertEquals("reply", channel.receive(5, TimeUnit.SECONDS));
+    }
+
+    private void connect(int quantum, CompressionSettings compression, int socketBufferSize) throws IOException {
+        try (ServerSocket serverSocket = new ServerSocket()) {
+            if (socketBufferSize > 0) {
+                serverSocket.setReceiveBufferSize(socketBufferSize);
+            }
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+            Socket clientSocket = new Socket();
+            if (socketBufferSize > 0) {
+                clientSocket.setSendBufferSize(socketBufferSize);
+            }
+            clientSocket.connect(serverSocket.getLocalSocketAddress());
+            Socket serverSide = serverSocket.accept();
+            client = MultiplexedConnection.open(clientSocket, true, quantum, compression);
+            server = MultiplexedConnection.open(serverSide, false, quantum, compression);
+        }
+    }
+
+    /**
+     * Accepts channels and replies to each message with an appended per-channel counter,
+     * like the responder of the separate-process mode.
+     */
+    private void startEchoResponder(int channelCount) {
+        Thread acceptor = new Thread(() -> {
+            try {
+                for (int c = 0; c < channelCount; c++) {
+                    MuxChannel channel = server.acceptChannel(5, TimeUnit.SECONDS);
+                    AtomicInteger counter = new AtomicInteger();
+                    channel.setListener(message -> {
+                        try {
+                            channel.send(message + " [" + counter.incrementAndGet() + "]");
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+}
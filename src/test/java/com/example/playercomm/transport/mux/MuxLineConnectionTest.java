@@ -0,0 +1,80 @@
+package com.example.playercomm.transport.mux;
+
+import com.example.playercomm.transport.compression.CompressionSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MuxLineConnectionTest {
+
+    private MuxLineConnection initiator;
+    private MuxLineConnection responder;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket()) {
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1);
+            Socket clientSocket = new Socket();
+            clientSocket.connect(serverSocket.getLocalSocketAddress());
+            Socket serverSide = serverSocket.accept();
+            CompletableFuture<MuxLineConnection> accepted = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return MuxLineConnection.accept(serverSide, CompressionSettings.DISABLED, 5, TimeUnit.SECONDS);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            initiator = MuxLineConnection.connect(clientSocket, CompressionSettings.DISABLED);
+            responder = accepted.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        initiator.close();
+        responder.close();
+    }
+
+    @Test
+    void testLinesRoundTrip() throws IOException {
+        initiator.writeLine("Hello 1");
+        assertEquals("Hello 1", responder.readLine());
+        responder.writeLine("Hello 1 [1]");
+        assertEquals("Hello 1 [1]", initiator.readLine());
+    }
+
+    @Test
+    void testShutdownHandsEndOfStreamToPeer() throws Exception {
+        initiator.writeLine("last");
+        CompletableFuture<Integer> discarded = CompletableFuture.supplyAsync(() -> {
+            try {
+                return initiator.shutdown(5, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals("last", responder.readLine());
+        responder.writeLine("unread");
+        assertNull(responder.readLine(), "peer should see end of stream after CLOSE");
+        assertEquals(0, responder.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(1, discarded.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testReadAfterLocalCloseThrows() {
+        initiator.close();
+        assertThrows(SocketException.class, initiator::readLine);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.playercomm.transport.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void testUnlimitedPlayersAlwaysPass() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.REJECT);
+        limiter.setSenderLimit("noisy", new RateLimit(1, 1));
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(limiter.acquire("quiet", "responder"));
+        }
+        assertEquals(0, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testSenderOverrideReplacesDefault() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.SHED);
+        limiter.setDefaultSenderLimit(new RateLimit(1, 1));
+        limiter.setSenderLimit("vip", new RateLimit(1, 3));
+
+        assertTrue(limiter.acquire("anyone", "x"));
+        assertFalse(limiter.acquire("anyone", "x"));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.acquire("vip", "x"));
+        }
+        assertFalse(limiter.acquire("vip", "x"));
+        assertEquals(2, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testReceiverLimitRefundsSenderPermit() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.REJECT);
+        limiter.setDefaultSenderLimit(new RateLimit(1, 2));
+        limiter.setReceiverLimit("busy", new RateLimit(1, 1));
+
+        assertTrue(limiter.acquire("sender", "busy"));
+        assertFalse(limiter.acquire("sender", "busy"));
+        // The permit taken for the rejected message was given back
+        assertTrue(limiter.acquire("sender", "other"));
+        assertFalse(limiter.acquire("sender", "other"));
+    }
+
+    @Test
+    void testDelayPolicyPacesTheSender() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.DELAY);
+        limiter.setDefaultSenderLimit(new RateLimit(200, 1));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 21; i++) {
+            assertTrue(limiter.acquire("sender", "receiver"));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // 20 waits of 5 ms each
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(95), "elapsed " + elapsed);
+        assertEquals(20, limiter.getDelayedCount());
+        assertEquals(0, limiter.getLimitedCount());
+    }
+
+    @Test
+    void testDelayGivesUpWhenInterrupted() {
+        RateLimiter limiter = new RateLimiter(RateLimitPolicy.DELAY);
+        limiter.setDefaultReceiverLimit(new RateLimit(0.01, 1));
+        assertTrue(limiter.acquire("sender", "receiver"));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertFalse(limiter.acquire("sender", "receiver"));
+            assertEquals(1, limiter.getLimitedCount());
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    void testFromSystemProperties() {
+        assertNull(RateLimiter.fromSystemProperties());
+
+        System.setProperty(RateLimiter.SENDER_PROPERTY, "100/10");
+        System.setProperty(RateLimiter.POLICY_PROPERTY, "shed");
+        try {
+            RateLimiter limiter = RateLimiter.fromSystemProperties();
+            assertEquals(RateLimitPolicy.SHED, limiter.getPolicy());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limiter.acquire("sender", "receiver"));
+            }
+            assertFalse(limiter.acquire("sender", "receiver"));
+        } finally {
+            System.clearProperty(RateLimiter.SENDER_PROPERTY);
+            System.clearProperty(RateLimiter.POLICY_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.playercomm.transport.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void testBurstThenDenied() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(1, 5));
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryAcquire());
+        }
+        assertFalse(bucket.tryAcquire());
+        assertEquals(0, bucket.getAvailablePermits());
+
+        long wait = bucket.nanosUntilPermit();
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(900) && wait <= TimeUnit.SECONDS.toNanos(1), "wait " + wait);
+    }
+
+    @Test
+    void testRefillsAtConfiguredRate() throws InterruptedException {
+        // 200 ms per token, so that a descheduled test thread does not see an extra refill
+        TokenBucket bucket = new TokenBucket(new RateLimit(5, 1));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        Thread.sleep(250);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void testFrequentPollingKeepsPartialTokens() {
+        // Polling far more often than one token per interval must not lose the fractions.
+        // Counting starts once the bucket is drained: a full bucket caps refills away during a stall,
+        // an empty one has the whole burst to absorb them. The poll that finds it empty leaves less than
+        // one token's worth of time banked, and it reads the clock between emptyBefore and emptyAfter.
+        TokenBucket bucket = new TokenBucket(new RateLimit(2_000, 1_000));
+        long emptyBefore;
+        long emptyAfter;
+        boolean drained;
+        do {
+            emptyBefore = System.nanoTime();
+            drained = !bucket.tryAcquire();
+            emptyAfter = System.nanoTime();
+        } while (!drained);
+
+        int granted = 0;
+        long end = emptyAfter + TimeUnit.MILLISECONDS.toNanos(200);
+        long before;
+        long after;
+        do {
+            before = System.nanoTime();
+            if (bucket.tryAcquire()) {
+                granted++;
+            }
+            after = System.nanoTime();
+        } while (after < end);
+
+        // Refills are whole tokens, so the lower bound rounds down
+        long minRefills = (long) ((before - emptyAfter) / 1e9 * 2_000);
+        double maxRefills = (after - emptyBefore) / 1e9 * 2_000 + 1;
+        assertTrue(granted >= minRefills && granted <= maxRefills,
+                "granted " + granted + ", expected " + minRefills + " to " + maxRefills);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedTheLimit() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(new RateLimit(10_000, 100));
+        LongAdder granted = new LongAdder();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(200);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    if (bucket.tryAcquire()) {
+                        granted.increment();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        assertTrue(granted.sum() <= 100 + 10_000 * seconds + 1, "granted " + granted.sum() + " in " + seconds + " s");
+    }
+
+    @Test
+    void testRefundIsCappedAtBurst() {
+        TokenBucket bucket = new TokenBucket(new RateLimit(1, 2));
+        bucket.refund();
+        assertEquals(2, bucket.getAvailablePermits());
+
+        assertTrue(bucket.tryAcquire());
+        bucket.refund();
+        assertEquals(2, bucket.getAvailablePermits());
+    }
+
+    @Test
+    void testRateLimitParsing() {
+        RateLimit limit = RateLimit.parse("1000/50");
+        assertEquals(1000.0, limit.getPermitsPerSecond());
+        assertEquals(50, limit.getBurst());
+        assertEquals(250, RateLimit.parse("250").getBurst());
+        assertEquals(1, RateLimit.parse("0.5").getBurst());
+        assertThrows(IllegalArgumentException.class, () -> RateLimit.parse("0"));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimit(10, TokenBucket.MAX_BURST + 1));
+    }
+}
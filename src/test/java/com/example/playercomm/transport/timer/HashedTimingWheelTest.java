@@ -0,0 +1,132 @@
+package com.example.playercomm.transport.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel(5, TimeUnit.MILLISECONDS, 64);
+
+    @AfterEach
+    void tearDown() {
+        wheel.close();
+    }
+
+    @Test
+    void testTimeoutFiresAfterDelayNeverEarly() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong firedAt = new AtomicLong();
+        long start = System.nanoTime();
+        WheelTimeout timeout = wheel.schedule(() -> {
+            firedAt.set(System.nanoTime());
+            fired.countDown();
+        }, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(firedAt.get() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(timeout.isExpired());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() throws InterruptedException {
+        AtomicInteger fired = new AtomicInteger();
+        WheelTimeout timeout = wheel.schedule(fired::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+
+        Thread.sleep(100);
+        assertEquals(0, fired.get());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void testDelaysLongerThanOneRevolution() throws InterruptedException {
+        // 64 buckets of 5 ms: one revolution is 320 ms
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(fired::countDown, 700, TimeUnit.MILLISECONDS);
+
+        assertFalse(fired.await(500, TimeUnit.MILLISECONDS));
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(700));
+    }
+
+    @Test
+    void testTensOfThousandsOfTimeouts() throws InterruptedException {
+        int count = 50_000;
+        AtomicInteger fired = new AtomicInteger();
+        List<WheelTimeout> timeouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timeouts.add(wheel.schedule(fired::incrementAndGet, 10 + i % 200, TimeUnit.MILLISECONDS));
+        }
+        int cancelled = 0;
+        for (int i = 1; i < count; i += 2) {
+            if (timeouts.get(i).cancel()) {
+                cancelled++;
+            }
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (wheel.getPendingCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, wheel.getPendingCount());
+        assertEquals(count - cancelled, fired.get());
+        assertEquals(count - cancelled, timeouts.stream().filter(WheelTimeout::isExpired).count());
+    }
+
+    @Test
+    void testCancelRacingExpiryCountedOnce() throws InterruptedException {
+        int count = 200_000;
+        AtomicInteger fired = new AtomicInteger();
+        List<WheelTimeout> timeouts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            timeouts.add(wheel.schedule(fired::incrementAndGet, i % 20, TimeUnit.MILLISECONDS));
+        }
+        // Cancel while the worker is expiring the same timeouts
+        AtomicInteger cancelled = new AtomicInteger();
+        Thread canceller = new Thread(() -> {
+            for (WheelTimeout timeout : timeouts) {
+                if (timeout.cancel()) {
+                    cancelled.incrementAndGet();
+                }
+            }
+        });
+        canceller.start();
+        canceller.join();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (fired.get() + cancelled.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, fired.get() + cancelled.get());
+        assertEquals(0, wheel.getPendingCount());
+    }
+
+    @Test
+    void testIdleTimerPostponedByActivity() throws InterruptedException {
+        CountDownLatch idle = new CountDownLatch(1);
+        IdleTimer timer = new IdleTimer(wheel, 100, TimeUnit.MILLISECONDS, false, idle::countDown);
+        timer.start();
+
+        for (int i = 0; i < 10; i++) {
+            Thread.sleep(30);
+            timer.touch();
+        }
+        assertEquals(1, idle.getCount());
+
+        assertTrue(idle.await(5, TimeUnit.SECONDS));
+        timer.stop();
+    }
+}
@@ -4,6 +4,15 @@
 # ==============================================
 # This script launches the Java Player Communication System
 # using Maven. All user input is handled by Main.java.
+#
+# Optional start-up tuning:
+#   PLAYERCOMM_WARMUP=10000 ./start.sh
+#       warm up the router and socket code before listening/connecting
+#   mvn -Pappcds package
+#       records a class-data-sharing archive (target/playercomm.jsa);
+#       when it exists the application is started from the jar with the archive
+#   JAVA_OPTS="-Dplayercomm.ready.file=/tmp/responder.ready" ./start.sh
+#       any other system properties
 # ----------------------------------------------
 
 # Optional: fail immediately if any command fails
@@ -15,8 +24,22 @@ echo "       Player Communication System"
 echo "=============================================="
 echo
 
-# Launch the application via Maven
-mvn exec:java -Dexec.mainClass="com.example.playercomm.Main"
+OPTS="${JAVA_OPTS:-}"
+if [ -n "$PLAYERCOMM_WARMUP" ]; then
+    OPTS="$OPTS -Dplayercomm.warmup=$PLAYERCOMM_WARMUP"
+fi
+
+ARCHIVE="target/playercomm.jsa"
+JAR=$(ls target/player-comm-*.jar 2>/dev/null | head -n 1)
+
+if [ -f "$ARCHIVE" ] && [ -n "$JAR" ]; then
+    # The archive is only valid for the jar it was recorded with; the JVM falls back to normal loading otherwise
+    JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+    "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" $OPTS -cp "$JAR" com.example.playercomm.Main
+else
+    # Launch the application via Maven
+    mvn exec:java -Dexec.mainClass="com.example.playercomm.Main" $OPTS
+fi
 
 echo
-echo "Program finished."
\ No newline at end of file
+echo "Program finished."